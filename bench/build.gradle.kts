@@ -0,0 +1,44 @@
+// JMH benchmarks for the engine hot paths. Builds the game sources from
+// ../src and ../res, so it has no dependency on how the game itself is built.
+//
+//   gradle jmh                            runs every benchmark
+//   gradle jmh -Pbench=Formation          runs the benchmarks matching a pattern
+//
+// Results are written to build/results/jmh/results.json.
+
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+sourceSets {
+    main {
+        java.setSrcDirs(listOf("../src"))
+        resources.setSrcDirs(listOf("../res"))
+    }
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.add("-Djava.awt.headless=true")
+    resultFormat.set("JSON")
+    if (project.hasProperty("bench"))
+        includes.add(project.property("bench").toString())
+}
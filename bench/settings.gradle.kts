@@ -0,0 +1 @@
+rootProject.name = "invaders-bench"
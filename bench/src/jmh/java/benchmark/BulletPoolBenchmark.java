@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import entity.BulletBuffer;
+import entity.BulletPool;
+import entity.Entity;
+
+/**
+ * Bullet slots: firing a volley, moving it and dropping it again, the whole
+ * life of a bullet minus collisions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BulletPoolBenchmark {
+
+    /** Number of bullets fired per volley. */
+    @Param({"16", "128", "512"})
+    public int bulletCount;
+
+    private final BulletBuffer bullets = new BulletBuffer();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.quietLogging();
+        BulletPool.setCapacity(Math.max(BulletPool.DEFAULT_CAPACITY, this.bulletCount));
+        BulletPool.reset(this.bullets, Fixtures.settings("5x4"));
+        this.bullets.reserve(this.bulletCount);
+    }
+
+    @Benchmark
+    public int fireMoveRemove() {
+        for (int i = 0; i < this.bulletCount; i++)
+            BulletPool.fire(this.bullets, i % Fixtures.WIDTH, Fixtures.HEIGHT - 40,
+                    -6, 3, 5, Entity.Team.PLAYER1, 1);
+        for (int i = 0; i < this.bullets.size(); i++)
+            this.bullets.move(i, this.bullets.getSpeed(i));
+        this.bullets.capturePositions();
+        for (int i = 0; i < this.bullets.size(); i++)
+            this.bullets.mark(i);
+        return this.bullets.removeMarked();
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import engine.gameplay.CollisionManager;
+import entity.Bullet;
+import entity.BulletBuffer;
+import entity.EnemyShip;
+import entity.EnemyShipFormation;
+import entity.Entity;
+
+/**
+ * Collision checking as GameScreen does it each tick: registering the enemy
+ * ships, then querying every bullet against them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    /** Formation size, as "WIDTHxHEIGHT". */
+    @Param({"5x4", "10x6", "16x10"})
+    public String formation;
+
+    /** Number of player bullets on screen. */
+    @Param({"16", "128", "512"})
+    public int bulletCount;
+
+    private EnemyShipFormation ships;
+    private final CollisionManager collisions =
+            new CollisionManager(Fixtures.WIDTH, Fixtures.HEIGHT);
+    private final BulletBuffer bullets = new BulletBuffer();
+    private final Bullet queriedBullet = new Bullet(0, 0, 3, 5, -6);
+    private int hits;
+
+    /** Counts collisions without stopping the query, so every pair is tested. */
+    private final CollisionManager.CollisionHandler handler = (Entity source, Entity target) -> {
+        this.hits++;
+        return false;
+    };
+
+    /**
+     * Builds the formation and scatters the bullets over the play area, the
+     * same way for every run.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.quietLogging();
+        this.ships = Fixtures.formation(this.formation, Fixtures.newScreen());
+        Random random = new Random(42);
+        for (int i = 0; i < this.bulletCount; i++)
+            this.bullets.add(random.nextInt(Fixtures.WIDTH), random.nextInt(Fixtures.HEIGHT),
+                    -6, 3, 5, Entity.Team.PLAYER1, 1);
+    }
+
+    @Benchmark
+    public int registerAndQuery() {
+        this.collisions.clear();
+        for (EnemyShip ship : this.ships)
+            this.collisions.register(ship);
+
+        this.hits = 0;
+        for (int i = 0; i < this.bullets.size(); i++)
+            this.collisions.query(this.bullets.load(i, this.queriedBullet),
+                    CollisionManager.LAYER_ENEMY, this.handler);
+        return this.hits;
+    }
+}
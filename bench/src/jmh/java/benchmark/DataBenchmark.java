@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import engine.GameSettings;
+import engine.GameSettings.StageData;
+import engine.gameplay.item.ItemManager;
+import entity.EnemyShip;
+import entity.Item;
+import entity.ItemPool;
+
+/**
+ * Game data: parsing the level file and rolling item drops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DataBenchmark {
+
+    /** Level file, relative to the bench directory Gradle runs from. */
+    @Param({"../res/game_data/level.csv"})
+    public String levelFile;
+
+    private Path levelPath;
+    private ItemManager itemManager;
+    private EnemyShip enemy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.quietLogging();
+        this.levelPath = Paths.get(this.levelFile);
+        this.itemManager = ItemManager.getInstance();
+        for (EnemyShip ship : Fixtures.formation("1x1", Fixtures.newScreen()))
+            this.enemy = ship;
+    }
+
+    @Benchmark
+    public List<StageData> parseStages() throws Exception {
+        return GameSettings.parseStages(this.levelPath);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Item obtainDrop() {
+        Item item = this.itemManager.obtainDrop(this.enemy);
+        // Gives the item back, so every drop is served from the pool.
+        ItemPool.getPool().release(item);
+        return item;
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.util.logging.Level;
+
+import engine.Core;
+import engine.GameSettings;
+import entity.EnemyShipFormation;
+import screen.Screen;
+
+/**
+ * Shared setup of the benchmarks: a screen to attach formations to and quiet
+ * logging, so measurements are not dominated by log output.
+ */
+final class Fixtures {
+
+    /** Play area width. */
+    static final int WIDTH = 448;
+    /** Play area height. */
+    static final int HEIGHT = 520;
+    /** Enemy base speed, as in the first level. */
+    static final int BASE_SPEED = 60;
+    /** Enemy shooting frequency, as in the first level. */
+    static final int SHOOTING_FREQUENCY = 2000;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Silences every log message below warnings.
+     */
+    static void quietLogging() {
+        Core.getLogger().setLevel(Level.WARNING);
+    }
+
+    /**
+     * Creates a screen of the play area size, never shown.
+     *
+     * @return Screen to attach formations to.
+     */
+    static Screen newScreen() {
+        return new Screen(WIDTH, HEIGHT, 60);
+    }
+
+    /**
+     * Creates the settings of a formation size.
+     *
+     * @param formation
+     *            Formation size, as "WIDTHxHEIGHT".
+     * @return Game settings.
+     */
+    static GameSettings settings(final String formation) {
+        int separator = formation.indexOf('x');
+        return new GameSettings(Integer.parseInt(formation.substring(0, separator)),
+                Integer.parseInt(formation.substring(separator + 1)),
+                BASE_SPEED, SHOOTING_FREQUENCY);
+    }
+
+    /**
+     * Creates a formation attached to a screen.
+     *
+     * @param formation
+     *            Formation size, as "WIDTHxHEIGHT".
+     * @param screen
+     *            Screen the formation moves in.
+     * @return New formation.
+     */
+    static EnemyShipFormation formation(final String formation, final Screen screen) {
+        EnemyShipFormation ships = new EnemyShipFormation(settings(formation));
+        ships.attach(screen);
+        return ships;
+    }
+}
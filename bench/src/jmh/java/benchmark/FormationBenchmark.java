@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import entity.EnemyShip;
+import entity.EnemyShipFormation;
+import screen.Screen;
+
+/**
+ * Enemy formation: one movement tick, walking every ship and destroying the
+ * whole formation ship by ship.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FormationBenchmark {
+
+    /** Formation size, as "WIDTHxHEIGHT". */
+    @Param({"5x4", "10x6", "16x10"})
+    public String formation;
+
+    private Screen screen;
+    private EnemyShipFormation ships;
+
+    @Setup(Level.Trial)
+    public void setUpScreen() {
+        Fixtures.quietLogging();
+        this.screen = Fixtures.newScreen();
+    }
+
+    /**
+     * Builds a new formation for each iteration, so the ships don't march
+     * off the screen over the whole trial.
+     */
+    @Setup(Level.Iteration)
+    public void setUpFormation() {
+        this.ships = Fixtures.formation(this.formation, this.screen);
+    }
+
+    @Benchmark
+    public void update() {
+        this.ships.update();
+    }
+
+    @Benchmark
+    public void iterate(final Blackhole blackhole) {
+        for (EnemyShip ship : this.ships)
+            blackhole.consume(ship);
+    }
+
+    @Benchmark
+    public boolean destroyAll(final Doomed doomed) {
+        for (EnemyShip ship : doomed.targets)
+            doomed.ships.destroy(ship);
+        return doomed.ships.isEmpty();
+    }
+
+    /**
+     * Formation emptied by every destroyAll call, so rebuilt before each
+     * one. Kept apart so the other benchmarks don't pay for the rebuild.
+     */
+    @State(Scope.Thread)
+    public static class Doomed {
+        private EnemyShipFormation ships;
+        /** Every ship of the formation, in iteration order. */
+        private EnemyShip[] targets;
+
+        @Setup(Level.Invocation)
+        public void setUp(final FormationBenchmark benchmark) {
+            this.ships = Fixtures.formation(benchmark.formation, benchmark.screen);
+            this.targets = new EnemyShip[this.ships.getShipCount()];
+            int i = 0;
+            for (EnemyShip ship : this.ships)
+                this.targets[i++] = ship;
+        }
+    }
+}
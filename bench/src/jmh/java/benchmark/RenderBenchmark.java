@@ -0,0 +1,70 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import engine.renderer.CommonRenderer;
+import engine.renderer.EntityRenderer;
+import entity.EnemyShip;
+import entity.EnemyShipFormation;
+
+/**
+ * Entity drawing: every ship of a formation drawn into an offscreen image
+ * the size of the play area.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    /** Formation size, as "WIDTHxHEIGHT". */
+    @Param({"5x4", "10x6", "16x10"})
+    public String formation;
+
+    private EnemyShip[] ships;
+    private EntityRenderer renderer;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.quietLogging();
+        EnemyShipFormation formationShips = Fixtures.formation(this.formation, Fixtures.newScreen());
+        this.ships = new EnemyShip[formationShips.getShipCount()];
+        int i = 0;
+        for (EnemyShip ship : formationShips)
+            this.ships[i++] = ship;
+
+        this.renderer = new EntityRenderer(new CommonRenderer());
+        this.image = new BufferedImage(Fixtures.WIDTH, Fixtures.HEIGHT,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        this.graphics = this.image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawFormation() {
+        for (EnemyShip ship : this.ships)
+            this.renderer.drawEntity(this.graphics, ship,
+                    ship.getPositionX(), ship.getPositionY());
+        return this.image;
+    }
+}
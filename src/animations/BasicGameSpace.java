@@ -1,50 +1,55 @@
 package animations;
 
 import java.util.Random;
+
+import engine.RandomService;
+
 /*
 * The basic background stars effect during the game
 * */
 public class BasicGameSpace {
 
-    public final Star[] stars;
-    private final Random rand = new Random();
-    private int[][] positions;
+    /** Stars reaching this height start over from the top. */
+    private static final int WRAP_Y = 525;
+
+    private final Random rand = RandomService.cosmetic();
+    /** Star positions in the x-axis. */
+    private final int[] starX;
+    /** Star positions in the y-axis. */
+    private final int[] starY;
+    /** Star speeds, also picks their glow size. */
+    private final int[] starSpeed;
     private int speed = 0;
-    private int numStars;
+    private final int numStars;
 
 
     public BasicGameSpace(int numStars) {
 
         this.numStars = numStars;
-        this.stars = new Star[this.numStars];
-        this.positions = new int[this.numStars][3];
+        this.starX = new int[this.numStars];
+        this.starY = new int[this.numStars];
+        this.starSpeed = new int[this.numStars];
 
         for (int i = 0; i < this.numStars; i++) {
-
-            stars[i] = new Star(rand.nextInt(10,448), rand.nextInt(-500, 5), (randomSpeed()) ? 2 : 1);
-            positions[i][0] = stars[i].x;
-            positions[i][1] = stars[i].y;
-            positions[i][2] = stars[i].speed;
+            starX[i] = rand.nextInt(10,448);
+            starY[i] = rand.nextInt(-500, 5);
+            starSpeed[i] = (randomSpeed()) ? 2 : 1;
         }
     }
 
     // Update star locations
     public void update() {
-        int i = 0;
-        for (Star star : stars) {
+        for (int i = 0; i < numStars; i++) {
             if(this.speed != 3){
-                star.y += star.speed;
+                starY[i] += starSpeed[i];
             }
             else{
-                star.y += 3;
+                starY[i] += 3;
             }
-            positions[i][1] = star.y;
 
-            if (star.y >= 525) {
-                star.y = 0;
-                positions[i][1] = 0;
+            if (starY[i] >= WRAP_Y) {
+                starY[i] = 0;
             }
-            i++;
         }
     }
 
@@ -59,10 +64,16 @@ public class BasicGameSpace {
 
     public boolean isLastLife(){ return this.speed == 3; }
 
+    public int[] getStarX(){
+        return this.starX;
+    }
 
+    public int[] getStarY(){
+        return this.starY;
+    }
 
-    public int[][] getStarLocations(){
-        return this.positions;
+    public int[] getStarSpeed(){
+        return this.starSpeed;
     }
 
     public int getNumStars(){
@@ -70,20 +81,8 @@ public class BasicGameSpace {
     }
 
     public boolean randomSpeed(){
-        double r = Math.random();
+        double r = rand.nextDouble();
 
         return (r < 0.85);
     }
-
-    // Star format
-    private static class Star {
-        int x, y, speed;
-
-        Star(int x, int y, int speed) {
-            this.x = x;
-            this.y = y;
-            this.speed = speed;
-        }
-
-    }
 }
@@ -3,11 +3,18 @@ package animations;
 import java.awt.*;
 import java.util.Random;
 
+import engine.RandomService;
+
 public class MenuSpace {
 
-    public final Star[] stars;
-    private final Random rand = new Random();
-    private int[][] positions;
+    /** Stars reaching this height start over from the top. */
+    private static final int WRAP_Y = 525;
+
+    private final Random rand = RandomService.cosmetic();
+    /** Star positions in the x-axis. */
+    private final int[] starX;
+    /** Star positions in the y-axis. */
+    private final int[] starY;
     private int numStars;
     private Color color;
     private int speed;
@@ -15,31 +22,25 @@ public class MenuSpace {
     public MenuSpace(int numStars) {
 
         this.numStars = numStars;
-        this.stars = new Star[this.numStars];
-        this.positions = new int[this.numStars][2];
+        this.starX = new int[this.numStars];
+        this.starY = new int[this.numStars];
         this.color = Color.YELLOW;
         this.speed = 1;
 
         for (int i = 0; i < this.numStars; i++) {
-
-            stars[i] = new Star(rand.nextInt(0,448), rand.nextInt(0, 520));
-            positions[i][0] = stars[i].x;
-            positions[i][1] = stars[i].y;
+            starX[i] = rand.nextInt(0,448);
+            starY[i] = rand.nextInt(0, 520);
         }
 
     }
 
     public void updateStars() {
-        int i = 0;
-        for (MenuSpace.Star star : stars) {
-            star.y += this.speed;
-            positions[i][1] = star.y;
-
-            if (star.y >= 525) {
-                star.y = 0;
-                positions[i][1] = 0;
+        for (int i = 0; i < numStars; i++) {
+            starY[i] += this.speed;
+
+            if (starY[i] >= WRAP_Y) {
+                starY[i] = 0;
             }
-            i++;
         }
     }
 
@@ -78,22 +79,15 @@ public class MenuSpace {
     }
 
 
-    public int[][] getStarLocations(){
-        return this.positions;
+    public int[] getStarX(){
+        return this.starX;
     }
 
-    public int getNumStars(){
-        return this.numStars;
+    public int[] getStarY(){
+        return this.starY;
     }
 
-    private static class Star {
-        int x, y;
-
-        Star(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-
+    public int getNumStars(){
+        return this.numStars;
     }
 }
-
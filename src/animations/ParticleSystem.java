@@ -0,0 +1,230 @@
+package animations;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import engine.RandomService;
+import engine.SpriteAtlas;
+
+/**
+ * Explosion particles, stored as parallel arrays with a fixed capacity so
+ * spawning, moving and drawing them never allocates. Each particle is drawn
+ * as a pre-rendered glow, picked by palette, size and a quantized alpha.
+ */
+public class ParticleSystem {
+
+    /** Particles spawned by one explosion. */
+    private static final int PARTICLES_PER_EXPLOSION = 40;
+    /** Lifetime of a particle, in animation steps. */
+    private static final int PARTICLE_LIFE = 60;
+    /** Number of alpha levels glows are rendered at. */
+    private static final int ALPHA_BUCKETS = 16;
+    /** Largest glow size. */
+    private static final int MAX_GLOW_SIZE = 23;
+    /** Gradient stops of a glow. */
+    private static final float[] GLOW_STOPS = {0.0f, 0.3f, 0.7f, 1.0f};
+
+    /** Palette flag of particles from enemy explosions. */
+    private static final byte ENEMY = 1;
+    /** Size flag of particles from final explosions. */
+    private static final byte BIG = 2;
+
+    /** Cosmetic randomness, never touches the gameplay stream. */
+    private final Random random = RandomService.cosmetic();
+
+    /** Maximum number of live particles. */
+    private final int capacity;
+    /** Number of live particles, they fill the first slots of the arrays. */
+    private int count;
+    private final float[] x;
+    private final float[] y;
+    private final float[] dx;
+    private final float[] dy;
+    /** Remaining animation steps of each particle. */
+    private final int[] life;
+    /** Palette and size flags of each particle. */
+    private final byte[] flags;
+
+    /** Glows by palette, size and alpha bucket, rendered on first use. */
+    private final BufferedImage[][][] glows = new BufferedImage[2][MAX_GLOW_SIZE + 1][ALPHA_BUCKETS];
+
+    /**
+     * Constructor, allocates room for every particle up front.
+     *
+     * @param capacity
+     *            Maximum number of live particles.
+     */
+    public ParticleSystem(final int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.dx = new float[capacity];
+        this.dy = new float[capacity];
+        this.life = new int[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Spawns an explosion's particles. Once the cap is reached the explosion
+     * gets only the slots that are left.
+     *
+     * @param startX
+     *            Position in the x-axis.
+     * @param startY
+     *            Position in the y-axis.
+     * @param enemy
+     *            If an enemy exploded.
+     * @param finalExplosion
+     *            If it is the big, final explosion.
+     * @return Number of particles spawned.
+     */
+    public int spawnExplosion(final double startX, final double startY,
+                              final boolean enemy, final boolean finalExplosion) {
+        byte flag = (byte) ((enemy ? ENEMY : 0) | (finalExplosion ? BIG : 0));
+        int spawned = Math.min(PARTICLES_PER_EXPLOSION, capacity - count);
+        for (int n = 0; n < spawned; n++) {
+            double angle = 2 * Math.PI * random.nextDouble();
+            double speed = 2 + random.nextDouble() * 2;
+            int i = count++;
+            x[i] = (float) startX;
+            y[i] = (float) startY;
+            dx[i] = (float) (Math.cos(angle) * speed);
+            dy[i] = (float) (Math.sin(angle) * speed);
+            life[i] = PARTICLE_LIFE;
+            flags[i] = flag;
+        }
+        return spawned;
+    }
+
+    /**
+     * Advances every particle by one step, dropping the ones that die.
+     */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            x[i] += dx[i];
+            y[i] += dy[i];
+
+            // gravity and damping
+            dy[i] += 0.1f;
+            dx[i] *= 0.98f;
+            dy[i] *= 0.98f;
+
+            if (--life[i] <= 0) {
+                // Move the last particle into the free slot, check it next.
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                dx[i] = dx[count];
+                dy[i] = dy[count];
+                life[i] = life[count];
+                flags[i] = flags[count];
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Draws every particle as a flickering glow.
+     *
+     * @param g
+     *            Graphics to draw on.
+     */
+    public void draw(final Graphics g) {
+        for (int i = 0; i < count; i++) {
+            int baseSize = (flags[i] & BIG) == 0
+                    ? random.nextInt(5) + 2
+                    : random.nextInt(6) + 18;
+
+            // Fades with the particle's age, plus some random flicker.
+            int alpha = Math.min(255, 255 * (life[i] + 1) / PARTICLE_LIFE);
+            int flickerAlpha = Math.max(0, alpha - random.nextInt(50));
+            int bucket = (flickerAlpha * (ALPHA_BUCKETS - 1) + 127) / 255;
+            if (bucket == 0)
+                continue;
+
+            int palette = flags[i] & ENEMY;
+            BufferedImage glow = glows[palette][baseSize][bucket];
+            if (glow == null) {
+                glow = bake(palette == ENEMY, baseSize, bucket * 255 / (ALPHA_BUCKETS - 1));
+                glows[palette][baseSize][bucket] = glow;
+            }
+
+            int offsetX = random.nextInt(3) - 1;
+            int offsetY = random.nextInt(3) - 1;
+            g.drawImage(glow, (int) (x[i] - baseSize / 2 + offsetX),
+                    (int) (y[i] - baseSize / 2 + offsetY), null);
+        }
+    }
+
+    /**
+     * Removes every particle.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Getter for the number of live particles.
+     *
+     * @return Live particle count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Getter for the maximum number of live particles.
+     *
+     * @return Particle cap.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Renders one glow: a circle filled with a radial gradient that is
+     * twice its size, as explosions have always been drawn.
+     *
+     * @param enemy
+     *            If the enemy palette is used.
+     * @param size
+     *            Glow diameter.
+     * @param alpha
+     *            Glow opacity.
+     * @return Glow image, the circle's bounding box at its origin.
+     */
+    private static BufferedImage bake(final boolean enemy, final int size, final int alpha) {
+        Color[] colors;
+        if (enemy) {
+            colors = new Color[]{
+                    new Color(255, 255, 250, alpha),
+                    new Color(255, 250, 180, alpha),
+                    new Color(255, 200, 220, alpha / 2),
+                    new Color(0, 0, 0, 0)
+            };
+        } else {
+            colors = new Color[]{
+                    new Color(255, 255, 180, alpha),
+                    new Color(255, 200, 0, alpha),
+                    new Color(255, 80, 0, alpha / 2),
+                    new Color(0, 0, 0, 0)
+            };
+        }
+
+        BufferedImage image = SpriteAtlas.createImage(size + 1, size + 1);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setPaint(new RadialGradientPaint(new Point(size / 2, size / 2), size, GLOW_STOPS, colors));
+        g2d.fillOval(0, 0, size, size);
+        g2d.dispose();
+        return image;
+    }
+}
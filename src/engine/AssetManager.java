@@ -1,5 +1,8 @@
 package engine;
 
+import engine.audio.SoundBuffer;
+import engine.diagnostics.AssetLoadEvent;
+import engine.diagnostics.Recorder;
 import engine.gameplay.achievement.Achievement;
 
 import javax.sound.sampled.*;
@@ -8,6 +11,13 @@ import java.awt.FontFormatException;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -18,7 +28,7 @@ public final class AssetManager {
     /**
      * 6개의 그래픽 소스 파일을 구분하기 위한 Enum
      */
-    private enum SourceCategory {
+    enum SourceCategory {
         PLAYER("graphics/player_graphics"),
         ENEMY("graphics/enemy_graphics"),
         BOSS("graphics/boss_graphics"),
@@ -29,6 +39,15 @@ public final class AssetManager {
         private final String filePath;
         SourceCategory(String path) { this.filePath = path; }
         public String getFilePath() { return this.filePath; }
+
+        /** Number of sprites in the source file. */
+        public int getSpriteCount() {
+            int count = 0;
+            for (SpriteType type : SpriteType.values())
+                if (type.getCategory() == this)
+                    count++;
+            return count;
+        }
     }
 
     /** Sprite types. */
@@ -96,59 +115,81 @@ public final class AssetManager {
     };
 
     private static AssetManager instance;
+    /**
+     * Sounds preloaded, each read from sound/<name>.wav. Looped music
+     * (title_sound, game_theme, special_ship_sound) is streamed by
+     * SoundManager.playLoop() instead.
+     */
+    private static final String[] SOUND_NAMES = {
+            "select", "hover", "count_down_sound", "shoot_enemies", "invader_killed",
+            "achievement", "shoot", "shooting", "explosion", "win", "lose" };
+    /** Most threads loading assets at once. */
+    private static final int LOADER_THREADS = 4;
     private static final Logger LOGGER = Core.getLogger();
     private static final FileManager fileManager = Core.getFileManager();;
 
-    Map<SpriteType, boolean[][]> spriteMap;
-    HashMap<String, Clip> soundMap;
-    private Font fontRegular;
-    private Font fontBig;
+    /** Sprite images, each filled in by the job of its category. */
+    private final Map<SpriteType, boolean[][]> spriteMap = new EnumMap<SpriteType, boolean[][]>(SpriteType.class);
+    /** Job reading the sprites of each category. */
+    private final Map<SourceCategory, FutureTask<Void>> spriteJobs =
+            new EnumMap<SourceCategory, FutureTask<Void>>(SourceCategory.class);
+    /** Job packing every sprite into one image, after the sprite jobs. */
+    private final FutureTask<SpriteAtlas> atlasJob;
+    /** Job reading the font, giving the regular and big sizes. */
+    private final FutureTask<Font[]> fontJob;
+    /** Job decoding each sound. */
+    private final Map<String, FutureTask<SoundBuffer>> soundJobs = new HashMap<String, FutureTask<SoundBuffer>>();
+    /** Every job, in the order they are started. */
+    private final List<FutureTask<?>> jobs = new ArrayList<FutureTask<?>>();
+    /** Jobs finished so far. */
+    private final AtomicInteger finishedJobs = new AtomicInteger();
+    /** Time loading started, for the log. */
+    private final long loadStart = System.nanoTime();
 
+    /**
+     * Constructor, starts loading every asset in the background.
+     *
+     * Assets are split into independent jobs: the font, the sprites of each
+     * source file, the sprite atlas, the audio output and each sound. Jobs
+     * are started on a small thread pool in that order; asking for an asset
+     * whose job has not run yet runs it right away on the calling thread, so
+     * nothing waits on the queue. Headless runs start no jobs and load only
+     * what is asked for.
+     */
     private AssetManager() {
         LOGGER.info("Started loading resources.");
 
-        try {
-            spriteMap = new LinkedHashMap<SpriteType, boolean[][]>();
-            for (SpriteType type : SpriteType.values()) {
-                spriteMap.put(type, new boolean[type.getWidth()][type.getHeight()]);
-            }
-            // Sprite graphics loading
-            this.loadSprite(spriteMap);
-            LOGGER.info("Finished loading the sprites.");
-
-            // Font loading
-            fontRegular = this.loadFont(14f);
-            fontBig = this.loadFont(24f);
-            LOGGER.info("Finished loading the fonts.");
-
-        } catch (IOException e) {
-            LOGGER.warning("Loading failed.");
-        } catch (FontFormatException e) {
-            LOGGER.warning("Font formating failed.");
+        for (SpriteType type : SpriteType.values())
+            spriteMap.put(type, new boolean[type.getWidth()][type.getHeight()]);
+
+        fontJob = newJob(this::loadFonts);
+        for (SourceCategory category : SourceCategory.values())
+            spriteJobs.put(category, newJob(() -> {
+                loadSprites(category);
+                return null;
+            }));
+        atlasJob = newJob(this::packSprites);
+        if (!Core.isHeadless()) {
+            // Headless runs play no sound. Opening the audio output can take
+            // a while, so it is done here rather than on the first sound.
+            newJob(SoundManager::startMixer);
+            for (String name : SOUND_NAMES)
+                soundJobs.put(name, newJob(() -> loadSound(name, "sound/" + name + ".wav")));
         }
 
-        try {
-            soundMap = new HashMap<String, Clip>();
-            // 모든 사운드 파일을 미리 로드
-            soundMap.put("title_sound", loadSound("sound/title_sound.wav"));
-            soundMap.put("game_theme", loadSound("sound/game_theme.wav"));
-            soundMap.put("select", loadSound("sound/select.wav"));
-            soundMap.put("hover", loadSound("sound/hover.wav"));
-            soundMap.put("count_down_sound", loadSound("sound/count_down_sound.wav"));
-            soundMap.put("shoot_enemies", loadSound("sound/shoot_enemies.wav"));
-            soundMap.put("invader_killed", loadSound("sound/invader_killed.wav"));
-            soundMap.put("achievement", loadSound("sound/achievement.wav"));
-            soundMap.put("shoot", loadSound("sound/shoot.wav"));
-            soundMap.put("shooting", loadSound("sound/shooting.wav"));
-            soundMap.put("explosion", loadSound("sound/explosion.wav"));
-            soundMap.put("special_ship_sound", loadSound("sound/special_ship_sound.wav"));
-            soundMap.put("win", loadSound("sound/win.wav"));
-            soundMap.put("lose", loadSound("sound/lose.wav"));
-
-            LOGGER.info("Finished loading the sounds.");
-        } catch (Exception e) {
-            LOGGER.warning("Sound loading failed.");
-        }
+        if (Core.isHeadless())
+            return;
+        ExecutorService loader = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(LOADER_THREADS, Runtime.getRuntime().availableProcessors())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "asset-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (FutureTask<?> job : jobs)
+            loader.execute(job);
+        // Threads end once the queued jobs are done.
+        loader.shutdown();
     }
 
     /**
@@ -162,6 +203,83 @@ public final class AssetManager {
         return instance;
     }
 
+    /**
+     * Creates a loading job and counts it towards the progress.
+     *
+     * @param loader
+     *            Loads the asset.
+     * @return Job, not started.
+     */
+    private <T> FutureTask<T> newJob(final Callable<T> loader) {
+        FutureTask<T> job = new FutureTask<T>(loader) {
+            @Override
+            protected void done() {
+                if (finishedJobs.incrementAndGet() == jobs.size())
+                    LOGGER.info("Finished loading " + jobs.size() + " assets in "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart) + " ms.");
+            }
+        };
+        jobs.add(job);
+        return job;
+    }
+
+    /**
+     * Gives the result of a job, running it on the calling thread if no
+     * loader thread has started it yet.
+     *
+     * @param job
+     *            Job to wait for.
+     * @return Loaded asset, null if loading failed.
+     */
+    private static <T> T await(final FutureTask<T> job) {
+        // Does nothing if the job already ran or is running.
+        job.run();
+        try {
+            return job.get();
+        } catch (ExecutionException e) {
+            LOGGER.warning("Loading failed: " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Checks if every asset finished loading.
+     *
+     * @return True once nothing is left to load.
+     */
+    public boolean isLoaded() {
+        return finishedJobs.get() == jobs.size();
+    }
+
+    /**
+     * Getter for the loading progress.
+     *
+     * @return Fraction of the loading jobs finished, 0 to 1.
+     */
+    public float getLoadProgress() {
+        return jobs.isEmpty() ? 1f : (float) finishedJobs.get() / jobs.size();
+    }
+
+    /**
+     * Reads the font once and derives both sizes from it.
+     *
+     * @return Regular and big fonts, null if the font can't be read.
+     */
+    private Font[] loadFonts() {
+        try {
+            Font font = loadFont(14f);
+            return new Font[] { font, font.deriveFont(24f) };
+        } catch (IOException e) {
+            LOGGER.warning("Loading failed.");
+        } catch (FontFormatException e) {
+            LOGGER.warning("Font formating failed.");
+        }
+        return null;
+    }
+
     /**
      * Loads a font of a given size.
      *
@@ -175,12 +293,17 @@ public final class AssetManager {
      */
     public Font loadFont(final float size) throws IOException,
             FontFormatException {
+        AssetLoadEvent event = beginLoad();
         InputStream inputStream = null;
         Font font;
 
         try {
-            // Font loading.
-            inputStream = FileManager.class.getClassLoader().getResourceAsStream("font/font.ttf");
+            // Font loading, from the asset pack if there is one.
+            AssetPack pack = AssetPack.getInstance();
+            if (pack != null)
+                inputStream = pack.openStream("font/font.ttf");
+            if (inputStream == null)
+                inputStream = FileManager.class.getClassLoader().getResourceAsStream("font/font.ttf");
             font = Font.createFont(Font.TRUETYPE_FONT, inputStream).deriveFont(
                     size);
         } finally {
@@ -188,120 +311,227 @@ public final class AssetManager {
                 inputStream.close();
         }
 
+        commitLoad(event, "font", "font/font.ttf");
         return font;
     }
 
     /**
-     * Loads sprites from disk.
+     * Loads the sprites of one source file into spriteMap, from the asset
+     * pack if there is one and else from the text file.
      *
+     * @param category
+     *            Source file to read.
+     */
+    private void loadSprites(final SourceCategory category) {
+        AssetLoadEvent event = beginLoad();
+        int loaded = 0;
+        String resource = category.getFilePath();
+        AssetPack pack = AssetPack.getInstance();
+        if (pack != null) {
+            resource = "pack:" + resource;
+            for (SpriteType type : SpriteType.values()) {
+                if (type.getCategory() == category && pack.readSprite(type, spriteMap.get(type)))
+                    loaded++;
+            }
+        }
+        // Falls back to the text file if the pack lacks any of the sprites.
+        if (pack == null || loaded < category.getSpriteCount()) {
+            resource = category.getFilePath();
+            try (InputStream stream = AssetManager.class.getClassLoader().getResourceAsStream(category.getFilePath())) {
+                if (stream == null)
+                    throw new FileNotFoundException(category.getFilePath());
+                loaded = readSprites(new BufferedInputStream(stream), category, spriteMap);
+            } catch (IOException e) {
+                LOGGER.warning("Loading failed: " + category.getFilePath() + " (" + e.getMessage() + ")");
+            }
+        }
+        commitLoad(event, "sprites", resource + ", " + loaded + " sprites");
+    }
+
+    /**
+     * Reads the sprites of one text source file: the pixels of each sprite
+     * as '0' and '1', in declaration order, anything else ignored.
+     *
+     * @param stream
+     *            Source file, read but not closed.
+     * @param category
+     *            Source file read.
      * @param spriteMap
-     *            Mapping of sprite type and empty boolean matrix that will
-     *            contain the image.
+     *            Sprite images to fill, sized like the sprites.
+     * @return Number of sprites read.
      * @throws IOException
      *             In case of loading problems.
      */
-    public void loadSprite(final Map<SpriteType, boolean[][]> spriteMap) throws IOException {
-        Map<SourceCategory, InputStream> streamMap = new EnumMap<>(SourceCategory.class);
-        for (SourceCategory category: SourceCategory.values()) {
-            streamMap.put(category, AssetManager.class.getClassLoader().getResourceAsStream(category.getFilePath()));
+    static int readSprites(final InputStream stream, final SourceCategory category,
+            final Map<SpriteType, boolean[][]> spriteMap) throws IOException {
+        int loaded = 0;
+        char c;
+        for (SpriteType type : SpriteType.values()) {
+            if (type.getCategory() != category)
+                continue;
+            boolean[][] data = spriteMap.get(type);
+            for (int i = 0; i < data.length; i++)
+                for (int j = 0; j < data[i].length; j++) {
+                    do {
+                        c = (char) stream.read();
+                    } while (c != '0' && c != '1');
+
+                    data[i][j] = (c == '1');
+                }
+            LOGGER.fine("Sprite " + type + " loaded.");
+            loaded++;
         }
+        return loaded;
+    }
+
+    /**
+     * Packs every sprite into the atlas, loading the ones still missing.
+     *
+     * @return Sprite atlas.
+     */
+    private SpriteAtlas packSprites() {
+        for (FutureTask<Void> job : spriteJobs.values())
+            await(job);
+        return new SpriteAtlas(spriteMap);
+    }
 
+    /**
+     * 지정된 리소스 경로에서 오디오 파일을 읽어와 믹서 형식의 PCM으로 디코딩합니다.
+     *
+     * @param name 사운드 이름
+     * @param resourcePath 리소스 폴더 내의 사운드 파일 경로 (예: "sound/shoot.wav")
+     * @return 메모리에 디코딩된 SoundBuffer 객체, 실패하면 null
+     */
+    private SoundBuffer loadSound(String name, String resourcePath) {
+        AssetLoadEvent event = beginLoad();
+        SoundBuffer buffer = null;
         try {
-            char c;
-            for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet()) {
-                SpriteType type = sprite.getKey();
-                boolean[][] data = sprite.getValue();
-                InputStream selectedStream = streamMap.get(type.getCategory());
-                for (int i = 0; i < sprite.getValue().length; i++)
-                    for (int j = 0; j < sprite.getValue()[i].length; j++) {
-                        do {
-                            c = (char) selectedStream.read();
-                        } while (c != '0' && c != '1');
-
-                        data[i][j] = (c == '1');
-                    }
-                LOGGER.fine("Sprite " + sprite.getKey() + " loaded.");
+            AudioInputStream audioStream = openAudioStream(resourcePath);
+            if (audioStream == null) {
+                throw new FileNotFoundException("Audio resource not found: " + resourcePath);
             }
-        } finally {
-            for (InputStream stream: streamMap.values()) {
-                if (stream != null)
-                    stream.close();
+            try {
+                buffer = SoundBuffer.decode(name, audioStream);
+            } finally {
+                audioStream.close();
             }
+        } catch (UnsupportedAudioFileException | IOException e) {
+            LOGGER.warning("Sound loading failed: " + name + " (" + e.getMessage() + ")");
         }
+
+        commitLoad(event, "sound", resourcePath);
+        return buffer;
     }
 
     /**
-     * 지정된 리소스 경로에서 오디오 파일을 읽어와 재생 준비가 완료된 Clip 객체로 반환합니다.
+     * Begins the flight recorder event of an asset load.
      *
-     * @param resourcePath 리소스 폴더 내의 사운드 파일 경로 (예: "sound/shoot.wav")
-     * @return 메모리에 로드된 Clip 객체
-     * @throws UnsupportedAudioFileException 오디오 파일 형식이 지원되지 않는 경우
-     * @throws IOException 파일 입출력 오류가 발생한 경우
-     * @throws LineUnavailableException 오디오 라인을 열 수 없는 경우
+     * @return Begun event, null if the flight recorder is not running.
      */
-    private Clip loadSound(String resourcePath) throws UnsupportedAudioFileException, IOException, LineUnavailableException {
-        AudioInputStream audioStream = openAudioStream(resourcePath);
-        if (audioStream == null) {
-            throw new FileNotFoundException("Audio resource not found: " + resourcePath);
-        }
-
-        audioStream = toPcmSigned(audioStream);
+    private static AssetLoadEvent beginLoad() {
+        if (!Recorder.isRecording())
+            return null;
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        return event;
+    }
 
-        DataLine.Info info = new DataLine.Info(Clip.class, audioStream.getFormat());
-        Clip clip = (Clip) AudioSystem.getLine(info);
-        clip.open(audioStream);
+    /**
+     * Commits the flight recorder event of a finished asset load.
+     *
+     * @param event
+     *            Event begun when loading started, may be null.
+     * @param kind
+     *            Kind of asset loaded.
+     * @param resource
+     *            Resource read.
+     */
+    private static void commitLoad(final AssetLoadEvent event, final String kind, final String resource) {
+        if (event != null && event.shouldCommit()) {
+            event.kind = kind;
+            event.resource = resource;
+            event.commit();
+        }
+    }
 
-        return clip;
+    /**
+     * Checks if a resource exists where openAudioStream looks for it.
+     *
+     * @param resourcePath
+     *            Resource path, like "sound/win.wav".
+     * @return True if it is in the asset pack, the classpath or a file.
+     */
+    static boolean hasResource(String resourcePath) {
+        AssetPack pack = AssetPack.getInstance();
+        if (pack != null && pack.contains(resourcePath))
+            return true;
+        return AssetManager.class.getClassLoader().getResource(resourcePath) != null
+                || new File(resourcePath).isFile();
     }
 
-    /** Opens an audio stream from classpath resources or absolute/relative file path. */
-    private static AudioInputStream openAudioStream(String resourcePath)
+    /** Opens an audio stream from the asset pack, classpath resources or absolute/relative file path. */
+    static AudioInputStream openAudioStream(String resourcePath)
             throws UnsupportedAudioFileException, IOException {
+        AssetPack pack = AssetPack.getInstance();
+        InputStream packed = pack != null ? pack.openStream(resourcePath) : null;
+        if (packed != null) {
+            return AudioSystem.getAudioInputStream(packed);
+        }
         InputStream in = SoundManager.class.getClassLoader().getResourceAsStream(resourcePath);
         if (in != null) {
-            return AudioSystem.getAudioInputStream(in);
+            // AudioSystem needs mark/reset to detect the file type.
+            return AudioSystem.getAudioInputStream(new BufferedInputStream(in));
         }
         // Fallback to file system path for developer/local runs
-        try (FileInputStream fis = new FileInputStream(resourcePath)) {
-            return AudioSystem.getAudioInputStream(fis);
-        } catch (FileNotFoundException e) {
+        File file = new File(resourcePath);
+        if (!file.isFile()) {
             LOGGER.fine("Audio resource not found: " + resourcePath);
             return null;
         }
+        return AudioSystem.getAudioInputStream(file);
     }
 
-    /** Ensures the audio stream is PCM_SIGNED for Clip compatibility on all JVMs. */
-    public static AudioInputStream toPcmSigned(AudioInputStream source) throws UnsupportedAudioFileException, IOException {
-        AudioFormat format = source.getFormat();
-        if (format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED) {
-            return source;
-        }
-
-        AudioFormat targetFormat = new AudioFormat(
-                AudioFormat.Encoding.PCM_SIGNED,
-                format.getSampleRate(),
-                16,
-                format.getChannels(),
-                format.getChannels() * 2,
-                format.getSampleRate(),
-                false
-        );
-        return AudioSystem.getAudioInputStream(targetFormat, source);
-    }
-
-    public Clip getSound(String soundName) {
-        return soundMap.get(soundName);
+    /**
+     * Getter for a sound, loading it now if it is not yet.
+     *
+     * @param soundName
+     *            Name of the sound.
+     * @return Decoded sound, null if unknown or not loaded.
+     */
+    public SoundBuffer getSound(String soundName) {
+        FutureTask<SoundBuffer> job = soundJobs.get(soundName);
+        return job != null ? await(job) : null;
     }
 
+    /**
+     * Getter for the image of a sprite, loading its source file now if it is
+     * not yet.
+     *
+     * @param type
+     *            Sprite type.
+     * @return Sprite pixels, true where drawn.
+     */
     public boolean[][] getSprite(SpriteType type) {
+        await(spriteJobs.get(type.getCategory()));
         return spriteMap.get(type);
     }
 
+    /**
+     * Getter for the sprite atlas, shared by every renderer.
+     *
+     * @return Atlas holding every sprite.
+     */
+    public SpriteAtlas getSpriteAtlas() {
+        return await(atlasJob);
+    }
+
     public Font getFontRegular() {
-        return fontRegular;
+        Font[] fonts = await(fontJob);
+        return fonts != null ? fonts[0] : null;
     }
 
     public Font getFontBig() {
-        return fontBig;
+        Font[] fonts = await(fontJob);
+        return fonts != null ? fonts[1] : null;
     }
 }
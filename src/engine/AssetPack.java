@@ -0,0 +1,360 @@
+package engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.InvalidMarkException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import engine.AssetManager.SpriteType;
+
+/**
+ * Reads the asset pack written by {@link AssetPacker}: one indexed binary
+ * file holding the sprites, the font, the static game data and the sounds.
+ *
+ * The file is memory-mapped and only its index is read when opened; each
+ * entry is decoded when it is asked for. Sprites are stored as rows of bits
+ * with no padding between rows, one bit per pixel where the text files take
+ * a character, so reading one is a few byte reads instead of parsing text.
+ *
+ * Layout, big endian: magic, version, entry count, then for each entry its
+ * name (UTF-8, after its length), kind, offset from the end of the index and
+ * length, the res file it was made from (same encoding) with that file's
+ * size and modification time, then the entry data.
+ *
+ * An entry whose res file changed since packing is stale: it is not used, so
+ * callers read the file itself, and a warning says to run the packer again.
+ */
+public final class AssetPack {
+
+    /** First bytes of a pack, "IVPK". */
+    static final int MAGIC = 0x4956504B;
+    /** Version of the layout. */
+    static final int VERSION = 2;
+    /** Entry kind of a sprite: its rows of bits back to back, sized by its type. */
+    static final byte KIND_SPRITE = 1;
+    /** Entry kind of a resource file copied as is. */
+    static final byte KIND_FILE = 2;
+
+    /** Directory the entries are packed from, checked for changed files. */
+    static final Path SOURCE_ROOT = Paths.get("res");
+    /** Pack read when -Dinvaders.pack is not set. */
+    static final Path DEFAULT_PATH = SOURCE_ROOT.resolve("assets.pack");
+
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** Changed source files warned about already. */
+    private static final Set<Path> STALE_SOURCES = ConcurrentHashMap.newKeySet();
+
+    /** Shared pack, null if there is none. */
+    private static AssetPack instance;
+    /** If opening the shared pack was tried already. */
+    private static boolean opened;
+
+    /** Mapped file. */
+    private final ByteBuffer data;
+    /** Entries by name. */
+    private final Map<String, Entry> index;
+
+    /**
+     * Constructor, maps the file and reads its index.
+     *
+     * @param path
+     *            Pack file.
+     * @throws IOException
+     *             If the file can't be read or is not a pack.
+     */
+    public AssetPack(final Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (mapped.getInt() != MAGIC)
+                throw new IOException("Not an asset pack: " + path);
+            int version = mapped.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported asset pack version " + version + ": " + path);
+
+            int count = mapped.getInt();
+            Map<String, Entry> entries = new HashMap<String, Entry>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String name = readString(mapped);
+                byte kind = mapped.get();
+                int offset = mapped.getInt();
+                int length = mapped.getInt();
+                entries.put(name, new Entry(kind, offset, length, readString(mapped),
+                        mapped.getLong(), mapped.getLong()));
+            }
+            this.data = mapped.slice();
+            for (Entry entry : entries.values()) {
+                if (entry.offset < 0 || entry.length < 0 || entry.offset + entry.length > this.data.limit())
+                    throw new IOException("Asset pack entry out of bounds: " + path);
+            }
+            this.index = Collections.unmodifiableMap(entries);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated asset pack: " + path);
+        }
+    }
+
+    /**
+     * Returns the shared pack, opening it on first call.
+     *
+     * @return Pack, null if there is none and assets are read from their
+     *         own files.
+     */
+    public static synchronized AssetPack getInstance() {
+        if (!opened) {
+            opened = true;
+            String property = System.getProperty("invaders.pack");
+            Path path = property != null ? Paths.get(property) : DEFAULT_PATH;
+            if (Files.isRegularFile(path)) {
+                try {
+                    instance = new AssetPack(path);
+                    LOGGER.info("Using asset pack " + path + " (" + instance.index.size() + " entries).");
+                } catch (IOException e) {
+                    LOGGER.warning("Ignoring asset pack: " + e.getMessage());
+                }
+            } else if (property != null) {
+                LOGGER.warning("Asset pack not found: " + path);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks if the pack holds an entry.
+     *
+     * @param name
+     *            Entry name, the resource path for files.
+     * @return True if the entry exists.
+     */
+    public boolean contains(final String name) {
+        return this.index.containsKey(name);
+    }
+
+    /**
+     * Decodes a sprite.
+     *
+     * @param type
+     *            Sprite to read.
+     * @param into
+     *            Pixels to fill, sized like the sprite.
+     * @return False if the pack has no matching sprite.
+     */
+    public boolean readSprite(final SpriteType type, final boolean[][] into) {
+        Entry entry = this.index.get(spriteName(type));
+        if (entry == null || entry.kind != KIND_SPRITE || entry.isStale())
+            return false;
+        int width = into.length;
+        int height = width > 0 ? into[0].length : 0;
+        if (entry.length != spriteBytes(width, height)) {
+            LOGGER.warning("Asset pack sprite " + type + " has " + entry.length + " bytes, expected "
+                    + spriteBytes(width, height) + ".");
+            return false;
+        }
+
+        int bit = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, bit++)
+                into[x][y] = (this.data.get(entry.offset + (bit >> 3)) & (0x80 >>> (bit & 7))) != 0;
+        }
+        return true;
+    }
+
+    /**
+     * Opens a file stored in the pack.
+     *
+     * @param name
+     *            Resource path of the file, like "font/font.ttf".
+     * @return Stream over the mapped bytes, null if the pack has no such
+     *         file.
+     */
+    public InputStream openStream(final String name) {
+        Entry entry = this.index.get(name);
+        if (entry == null || entry.kind != KIND_FILE || entry.isStale())
+            return null;
+        return new BufferStream(this.data.slice(entry.offset, entry.length));
+    }
+
+    /**
+     * Reads a text file stored in the pack.
+     *
+     * @param name
+     *            Resource path of the file.
+     * @return File contents as UTF-8, null if the pack has no such file.
+     */
+    public String readText(final String name) {
+        Entry entry = this.index.get(name);
+        if (entry == null || entry.kind != KIND_FILE || entry.isStale())
+            return null;
+        byte[] bytes = new byte[entry.length];
+        this.data.get(entry.offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Name of the entry of a sprite.
+     *
+     * @param type
+     *            Sprite type.
+     * @return Entry name.
+     */
+    static String spriteName(final SpriteType type) {
+        return "sprite/" + type.name();
+    }
+
+    /**
+     * Bytes of a sprite entry, one bit per pixel, first pixel in the high
+     * bit.
+     *
+     * @param width
+     *            Pixels in a row.
+     * @param height
+     *            Rows.
+     * @return Entry size.
+     */
+    static int spriteBytes(final int width, final int height) {
+        return (width * height + 7) >> 3;
+    }
+
+    /**
+     * Reads a string of the index, UTF-8 after its length.
+     */
+    private static String readString(final ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Where an entry is and what it was made from.
+     */
+    private static final class Entry {
+        /** Kind of the entry. */
+        private final byte kind;
+        /** Start of the entry after the index. */
+        private final int offset;
+        /** Bytes of the entry. */
+        private final int length;
+        /** File the entry was made from, relative to SOURCE_ROOT. */
+        private final String source;
+        /** Size of the source file when packed. */
+        private final long sourceSize;
+        /** Modification time of the source file when packed, in ms. */
+        private final long sourceModified;
+        /** If the source file changed since, null until checked. */
+        private volatile Boolean stale;
+
+        private Entry(final byte kind, final int offset, final int length, final String source,
+                final long sourceSize, final long sourceModified) {
+            this.kind = kind;
+            this.offset = offset;
+            this.length = length;
+            this.source = source;
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+        }
+
+        /**
+         * Checks once if the source file changed since packing. A source
+         * file that is not there, like in a build shipping only the pack,
+         * counts as unchanged.
+         *
+         * @return True if the entry must not be used.
+         */
+        private boolean isStale() {
+            Boolean checked = this.stale;
+            if (checked == null) {
+                Path path = SOURCE_ROOT.resolve(this.source);
+                boolean changed = false;
+                try {
+                    changed = Files.isRegularFile(path) && (Files.size(path) != this.sourceSize
+                            || Files.getLastModifiedTime(path).toMillis() != this.sourceModified);
+                } catch (IOException e) {
+                    changed = true;
+                }
+                if (changed && STALE_SOURCES.add(path))
+                    LOGGER.warning("Asset pack is older than " + path
+                            + ", reading the file instead. Run AssetPacker again.");
+                checked = changed;
+                this.stale = checked;
+            }
+            return checked;
+        }
+    }
+
+    /**
+     * Stream over a slice of the mapped file, with mark and reset for the
+     * audio and font readers.
+     */
+    private static final class BufferStream extends InputStream {
+        /** Bytes left to read. */
+        private final ByteBuffer buffer;
+
+        private BufferStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0)
+                return 0;
+            if (!this.buffer.hasRemaining())
+                return -1;
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) {
+            int skipped = (int) Math.max(0, Math.min(count, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(final int limit) {
+            this.buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            try {
+                this.buffer.reset();
+            } catch (InvalidMarkException e) {
+                throw new IOException("Stream not marked");
+            }
+        }
+    }
+}
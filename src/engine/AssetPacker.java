@@ -0,0 +1,186 @@
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import engine.AssetManager.SourceCategory;
+import engine.AssetManager.SpriteType;
+
+/**
+ * Offline tool writing the asset pack read by {@link AssetPack}.
+ *
+ * Sprites are parsed from the text graphics files once here and stored as
+ * rows of bits, one bit per pixel; the font, the level and item data and
+ * every sound are copied as is. Run it again whenever a file under res
+ * changes:
+ *
+ * <pre>
+ * java -cp &lt;classes&gt; engine.AssetPacker [res directory] [pack file]
+ * </pre>
+ */
+public final class AssetPacker {
+
+    /** Files copied into the pack besides the sounds, relative to res. */
+    private static final String[] FILES = {
+            "font/font.ttf", "game_data/level.csv", "game_data/item_db.csv" };
+
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** Entry names, in the order written. */
+    private final List<String> names = new ArrayList<String>();
+    /** Entry kinds. */
+    private final List<Byte> kinds = new ArrayList<Byte>();
+    /** Entry data, back to back. */
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    /** End of each entry in data. */
+    private final List<Integer> ends = new ArrayList<Integer>();
+    /** File each entry was made from, relative to res. */
+    private final List<String> sources = new ArrayList<String>();
+    /** Size of each source file. */
+    private final List<Long> sourceSizes = new ArrayList<Long>();
+    /** Modification time of each source file, in ms. */
+    private final List<Long> sourceTimes = new ArrayList<Long>();
+
+    /**
+     * Packs the assets.
+     *
+     * @param args
+     *            Resource directory, "res" by default, and pack file, the
+     *            one the game reads by default if missing.
+     * @throws IOException
+     *             If a resource can't be read or the pack can't be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        Path res = Paths.get(args.length > 0 ? args[0] : "res");
+        Path out = args.length > 1 ? Paths.get(args[1]) : AssetPack.DEFAULT_PATH;
+
+        AssetPacker packer = new AssetPacker();
+        long textBytes = 0;
+        long spriteBytes = 0;
+        for (SourceCategory category : SourceCategory.values()) {
+            Path file = res.resolve(category.getFilePath());
+            textBytes += Files.size(file);
+            spriteBytes += packer.addSprites(res, category);
+        }
+        for (String name : FILES)
+            packer.addFile(res, name);
+        try (DirectoryStream<Path> sounds = Files.newDirectoryStream(res.resolve("sound"), "*.wav")) {
+            List<Path> sorted = new ArrayList<Path>();
+            for (Path sound : sounds)
+                sorted.add(sound);
+            sorted.sort(null);
+            for (Path sound : sorted)
+                packer.addFile(res, "sound/" + sound.getFileName());
+        }
+
+        if (out.getParent() != null)
+            Files.createDirectories(out.getParent());
+        try (OutputStream stream = Files.newOutputStream(out)) {
+            packer.write(stream);
+        }
+        LOGGER.info("Packed " + packer.names.size() + " assets into " + out + " (" + Files.size(out)
+                + " bytes). Sprites: " + textBytes + " bytes of text, " + spriteBytes + " bytes packed.");
+    }
+
+    /**
+     * Adds the sprites of one text graphics file.
+     *
+     * @return Bytes added.
+     */
+    private int addSprites(final Path res, final SourceCategory category) throws IOException {
+        Path file = res.resolve(category.getFilePath());
+        Map<SpriteType, boolean[][]> sprites = new EnumMap<SpriteType, boolean[][]>(SpriteType.class);
+        for (SpriteType type : SpriteType.values())
+            if (type.getCategory() == category)
+                sprites.put(type, new boolean[type.getWidth()][type.getHeight()]);
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+            AssetManager.readSprites(stream, category, sprites);
+        }
+
+        int size = 0;
+        for (Map.Entry<SpriteType, boolean[][]> sprite : sprites.entrySet()) {
+            boolean[][] pixels = sprite.getValue();
+            int width = pixels.length;
+            int height = width > 0 ? pixels[0].length : 0;
+            byte[] bytes = new byte[AssetPack.spriteBytes(width, height)];
+            int bit = 0;
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < width; x++, bit++)
+                    if (pixels[x][y])
+                        bytes[bit >> 3] |= (byte) (0x80 >>> (bit & 7));
+            add(AssetPack.spriteName(sprite.getKey()), AssetPack.KIND_SPRITE, bytes, res,
+                    category.getFilePath());
+            size += bytes.length;
+        }
+        return size;
+    }
+
+    /**
+     * Adds a file as is, named by its path relative to res.
+     */
+    private void addFile(final Path res, final String name) throws IOException {
+        add(name, AssetPack.KIND_FILE, Files.readAllBytes(res.resolve(name)), res, name);
+    }
+
+    /**
+     * Appends an entry, with the size and time of its source file so the
+     * game can tell when the file changed.
+     */
+    private void add(final String name, final byte kind, final byte[] bytes, final Path res,
+            final String source) throws IOException {
+        Path file = res.resolve(source);
+        this.names.add(name);
+        this.kinds.add(kind);
+        this.data.write(bytes, 0, bytes.length);
+        this.ends.add(this.data.size());
+        this.sources.add(source);
+        this.sourceSizes.add(Files.size(file));
+        this.sourceTimes.add(Files.getLastModifiedTime(file).toMillis());
+    }
+
+    /**
+     * Writes the header, the index and the data.
+     */
+    private void write(final OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(AssetPack.MAGIC);
+        out.writeInt(AssetPack.VERSION);
+        out.writeInt(this.names.size());
+        int start = 0;
+        for (int i = 0; i < this.names.size(); i++) {
+            writeString(out, this.names.get(i));
+            out.writeByte(this.kinds.get(i));
+            out.writeInt(start);
+            out.writeInt(this.ends.get(i) - start);
+            writeString(out, this.sources.get(i));
+            out.writeLong(this.sourceSizes.get(i));
+            out.writeLong(this.sourceTimes.get(i));
+            start = this.ends.get(i);
+        }
+        this.data.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Writes a string of the index, UTF-8 after its length.
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
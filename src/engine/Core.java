@@ -1,16 +1,22 @@
 package engine;
 
+import java.awt.event.KeyEvent;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
-import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import engine.gameplay.achievement.AchievementManager;
 import engine.hitbox.HitboxManager;
+import engine.utils.AsyncLogHandler;
 import engine.utils.Cooldown;
+import engine.utils.GameClock;
 import engine.utils.MinimalFormatter;
 import screen.*;
 import entity.Ship;
@@ -27,18 +33,39 @@ public final class Core {
     private static final int WIDTH = 448;
     private static final int HEIGHT = 520;
     private static final int FPS = 60;
+    /** Simulation tick rates the game screen can run at. */
+    private static final int[] SUPPORTED_TICK_RATES = {60, 120, 240};
 
     /** Lives per player (used to compute team pool in shared mode). */
     private static final int MAX_LIVES = 3;
     private static final int EXTRA_LIFE_FREQUENCY = 3;
+    /**
+     * Longest headless run in seconds of game time, unless
+     * -Dinvaders.headless.maxTicks sets it in ticks.
+     */
+    private static final int HEADLESS_MAX_SECONDS = 30 * 60;
 
     /** Frame to draw the screen on. */
     private static Frame frame;
     private static Screen currentScreen;
     private static List<GameSettings> gameSettings;
     private static final Logger LOGGER = Logger.getLogger(Core.class.getSimpleName());
-    private static Handler fileHandler;
+    /** Category loggers, kept here so their levels are not lost. */
+    private static final ConcurrentHashMap<String, Logger> CATEGORY_LOGGERS = new ConcurrentHashMap<String, Logger>();
+    /** Most log records waiting to be written. */
+    private static final int LOG_BUFFER_SIZE = 4096;
+    /** Default most records of one message per second. */
+    private static final int LOG_RATE_LIMIT = 20;
+    private static FileHandler fileHandler;
     private static ConsoleHandler consoleHandler;
+    /** Writes log records off the game thread. */
+    private static AsyncLogHandler logHandler;
+    /** Simulation ticks per second of the game screen. */
+    private static int tickRate = FPS;
+    /** If the game runs without a window, sound or keyboard. */
+    private static boolean headless;
+    /** Records the current play session, null when not recording. */
+    private static InputRecorder recorder;
 
     /**
      * Test implementation.
@@ -53,13 +80,28 @@ public final class Core {
             fileHandler.setFormatter(new MinimalFormatter());
             consoleHandler = new ConsoleHandler();
             consoleHandler.setFormatter(new MinimalFormatter());
-            LOGGER.addHandler(fileHandler);
-            LOGGER.addHandler(consoleHandler);
-            LOGGER.setLevel(Level.ALL);
+            logHandler = new AsyncLogHandler(LOG_BUFFER_SIZE,
+                    Integer.getInteger("invaders.log.rate", LOG_RATE_LIMIT),
+                    fileHandler, consoleHandler);
+            LOGGER.addHandler(logHandler);
+            LOGGER.setLevel(parseLevel(System.getProperty("invaders.log.level"), Level.INFO));
         } catch (Exception e) {
             e.printStackTrace();
         }
 
+        tickRate = parseTickRate(System.getProperty("invaders.tps"));
+        RandomService.seed(RandomService.parseSeed(System.getProperty("invaders.seed")));
+        LOGGER.info("Random seed: " + RandomService.getSeed());
+
+        if (Boolean.getBoolean("invaders.headless")) {
+            headlessSystem(Boolean.getBoolean("invaders.coop"));
+            if (logHandler != null)
+                logHandler.close();
+            System.exit(0);
+        }
+
+        // Assets load in the background while the window opens.
+        AssetManager.getInstance();
         frame = new Frame(WIDTH, HEIGHT);
         InputManager input = InputManager.getInstance();
         frame.addKeyListener(input); // Register an instance to allow the window to receive keyboard event information
@@ -75,7 +117,10 @@ public final class Core {
         GameState gameState = null;
         boolean coopSelected = false; // false = 1-player mode, true = 2-player mode
 
-        int returnCode = 1;
+        currentScreen = new LoadingScreen(width, height, FPS);
+        LOGGER.info("Starting " + WIDTH + "x" + HEIGHT + " loading screen at " + FPS + " fps.");
+        int returnCode = frame.setScreen(currentScreen);
+        LOGGER.info("Closing loading screen.");
 
         Ship.ShipType shipTypeP1 = Ship.ShipType.NORMAL; // Player 1 Ship Type
         Ship.ShipType shipTypeP2 = Ship.ShipType.NORMAL; // Player 2 Ship Type
@@ -140,8 +185,8 @@ public final class Core {
 
         } while (returnCode != 0);
 
-        fileHandler.flush();
-        fileHandler.close();
+        if (logHandler != null)
+            logHandler.close();
         System.exit(0);
     }
 
@@ -152,6 +197,57 @@ public final class Core {
 
     }
 
+    /**
+     * Parses the configured simulation tick rate, falling back to the frame
+     * rate when the value is missing or not supported.
+     *
+     * @param value
+     *              Requested tick rate, may be null.
+     * @return Tick rate to run the game screen at.
+     */
+    private static int parseTickRate(final String value) {
+        if (value == null)
+            return FPS;
+        try {
+            int requested = Integer.parseInt(value.trim());
+            for (int supported : SUPPORTED_TICK_RATES)
+                if (supported == requested)
+                    return requested;
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below.
+        }
+        LOGGER.warning("Unsupported tick rate '" + value + "', using " + FPS + " tps.");
+        return FPS;
+    }
+
+    /**
+     * Controls access to the simulation tick rate.
+     *
+     * @return Simulation ticks per second of the game screen.
+     */
+    public static int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Checks if the game runs headless: no window, no sound, scripted input
+     * and simulation ticks run as fast as possible.
+     *
+     * @return True in headless mode.
+     */
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Controls access to the display frame rate.
+     *
+     * @return Frames per second drawn on screen.
+     */
+    public static int getFrameRate() {
+        return FPS;
+    }
+
     /**
      * Controls access to the logger.
      *
@@ -161,6 +257,44 @@ public final class Core {
         return LOGGER;
     }
 
+    /**
+     * Controls access to the logger of one category, like "formation" or
+     * "items". Its records go to the application logger; its level is set
+     * with -Dinvaders.log.CATEGORY=LEVEL and otherwise follows the
+     * application logger.
+     *
+     * @param category
+     *             Category name.
+     * @return Category logger.
+     */
+    public static Logger getLogger(final String category) {
+        return CATEGORY_LOGGERS.computeIfAbsent(category, name -> {
+            Logger logger = Logger.getLogger(LOGGER.getName() + "." + name);
+            logger.setLevel(parseLevel(System.getProperty("invaders.log." + name), null));
+            return logger;
+        });
+    }
+
+    /**
+     * Parses a logging level.
+     *
+     * @param value
+     *             Level name or number, may be null.
+     * @param fallback
+     *             Level used when the value is missing or invalid.
+     * @return Parsed level.
+     */
+    private static Level parseLevel(final String value, final Level fallback) {
+        if (value == null)
+            return fallback;
+        try {
+            return Level.parse(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid log level " + value + ", using " + fallback);
+            return fallback;
+        }
+    }
+
     /**
      * Controls access to the draw manager.
      *
@@ -329,6 +463,17 @@ public final class Core {
      * @return Next return code and initial coop and ship type
      */
     public static SystemData gamePlaySystem(int width, int height, boolean coopSelected, Ship.ShipType shipTypeP1, Ship.ShipType shipTypeP2) throws IOException {
+        InputRecording replay = loadReplay();
+        if (replay != null) {
+            width = replay.getWidth();
+            height = replay.getHeight();
+            coopSelected = replay.isCoop();
+            shipTypeP1 = replay.getShipTypeP1();
+            shipTypeP2 = replay.getShipTypeP2();
+        }
+        InputSource live = InputManager.getInstance().getInputSource();
+        beginSession(replay, live, width, height, coopSelected, shipTypeP1, shipTypeP2);
+
         SystemData systemData = new SystemData(0, coopSelected, shipTypeP1, shipTypeP2);
         GameState gameState = new GameState(1, MAX_LIVES, coopSelected, 0);
         AchievementManager achievementManager = new AchievementManager(); // 1p, 2p achievement manager
@@ -338,10 +483,10 @@ public final class Core {
             boolean bonusLife = gameState.getLevel() % EXTRA_LIFE_FREQUENCY == 0
                     && gameState.getLivesRemaining() < teamCap;
 
-            currentScreen = new GameScreen(gameState, gameSettings.get(gameState.getLevel() - 1), bonusLife, width, height, FPS,
+            currentScreen = new GameScreen(gameState, gameSettings.get(gameState.getLevel() - 1), bonusLife, width, height, tickRate,
                     shipTypeP1, shipTypeP2, achievementManager);
 
-            LOGGER.info("Starting " + WIDTH + "x" + HEIGHT + " game screen at " + FPS + " fps.");
+            LOGGER.info("Starting " + WIDTH + "x" + HEIGHT + " game screen at " + tickRate + " tps.");
             systemData.returnCode = frame.setScreen(currentScreen);
             LOGGER.info("Closing game screen.");
             if (systemData.returnCode == 1) {
@@ -355,6 +500,7 @@ public final class Core {
             }
 
         } while (gameState.teamAlive() && gameState.getLevel() <= gameSettings.size());
+        endSession(live);
 
         if (systemData.returnCode == 1) {
             systemData.shipTypeP1 = Ship.ShipType.NORMAL;
@@ -374,6 +520,185 @@ public final class Core {
         return systemData;
     }
 
+    /**
+     * Plays every level without a window, the players driven by
+     * {@link ScriptedInput}, and reports how fast the simulation ran. The
+     * run stops early at the tick limit.
+     *
+     * @param coopSelected
+     *                     2 player mode or not
+     */
+    public static void headlessSystem(final boolean coopSelected) {
+        headless = true;
+        GameClock.useSimulated();
+        if (!Boolean.getBoolean("invaders.headless.verbose"))
+            LOGGER.setLevel(Level.WARNING);
+
+        int width = WIDTH;
+        int height = HEIGHT;
+        boolean coop = coopSelected;
+        Ship.ShipType shipTypeP1 = Ship.ShipType.NORMAL;
+        Ship.ShipType shipTypeP2 = Ship.ShipType.NORMAL;
+        InputRecording replay = loadReplay();
+        if (replay != null) {
+            width = replay.getWidth();
+            height = replay.getHeight();
+            coop = replay.isCoop();
+            shipTypeP1 = replay.getShipTypeP1();
+            shipTypeP2 = replay.getShipTypeP2();
+        }
+        InputSource previous = InputManager.getInstance().getInputSource();
+        InputSource scripted = new ScriptedInput(InputManager.getInstance(), tickRate);
+        beginSession(replay, scripted, width, height, coop, shipTypeP1, shipTypeP2);
+
+        gameSettings = GameSettings.getGameSettings();
+        GameState gameState = new GameState(1, MAX_LIVES, coop, 0);
+        AchievementManager achievementManager = new AchievementManager();
+        long maxTicks = Long.getLong("invaders.headless.maxTicks", (long) HEADLESS_MAX_SECONDS * tickRate);
+        long totalTicks = 0;
+        boolean cutShort = false;
+        long start = System.nanoTime();
+
+        do {
+            int teamCap = gameState.isCoop() ? (MAX_LIVES * GameState.NUM_PLAYERS) : MAX_LIVES;
+            boolean bonusLife = gameState.getLevel() % EXTRA_LIFE_FREQUENCY == 0
+                    && gameState.getLivesRemaining() < teamCap;
+
+            GameScreen screen = new GameScreen(gameState, gameSettings.get(gameState.getLevel() - 1), bonusLife,
+                    width, height, tickRate, shipTypeP1, shipTypeP2, achievementManager);
+            currentScreen = screen;
+            screen.initialize();
+            screen.setTickLimit(maxTicks - totalTicks);
+            screen.run();
+            totalTicks += screen.getTicks();
+
+            gameState = screen.getGameState();
+            // Scripted players can get stuck, so a run ends at the tick limit.
+            cutShort = totalTicks >= maxTicks;
+            if (!cutShort && gameState.teamAlive())
+                gameState.nextLevel();
+        } while (!cutShort && gameState.teamAlive() && gameState.getLevel() <= gameSettings.size());
+        endSession(previous);
+
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        System.out.println("Headless run: " + totalTicks + " ticks at " + tickRate + " tps in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms ("
+                + totalTicks * TimeUnit.SECONDS.toNanos(1) / elapsed + " ticks/s), reached level "
+                + gameState.getLevel() + " with a score of " + gameState.getScore()
+                + ", seed " + RandomService.getSeed()
+                + (cutShort ? ", stopped at the tick limit." : "."));
+    }
+
+    /**
+     * Loads the recording named by the invaders.replay property.
+     *
+     * @return Recording to replay, null if none is set or it cannot be read.
+     */
+    private static InputRecording loadReplay() {
+        String path = System.getProperty("invaders.replay");
+        if (path == null)
+            return null;
+        try {
+            InputRecording replay = InputRecording.load(Paths.get(path));
+            tickRate = replay.getTickRate();
+            return replay;
+        } catch (IOException e) {
+            LOGGER.warning("Unable to load replay '" + path + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prepares the input of a play session: plays a recording back,
+     * records the session when the invaders.record property names a file,
+     * or else plays it with the live input. Replays and recordings restart
+     * the gameplay random stream from the run seed and measure time in
+     * ticks, so the session repeats exactly.
+     *
+     * @param replay
+     *                     Recording to play back, may be null.
+     * @param live
+     *                     Input source playing the session when it is not
+     *                     replayed, null for the keyboard.
+     * @param width
+     *                     Game screen width.
+     * @param height
+     *                     Game screen height.
+     * @param coopSelected
+     *                     2 player mode or not
+     * @param shipTypeP1
+     *                     Ship type of player 1
+     * @param shipTypeP2
+     *                     Ship type of player 2
+     */
+    private static void beginSession(final InputRecording replay, final InputSource live,
+                                     final int width, final int height, final boolean coopSelected,
+                                     final Ship.ShipType shipTypeP1, final Ship.ShipType shipTypeP2) {
+        InputManager input = InputManager.getInstance();
+        if (replay != null) {
+            RandomService.seed(replay.getSeed());
+            GameClock.useSimulated();
+            input.setInputSource(new InputReplay(replay));
+            LOGGER.info("Replaying session with seed " + replay.getSeed() + ".");
+            return;
+        }
+        if (System.getProperty("invaders.record") == null) {
+            input.setInputSource(live);
+            return;
+        }
+
+        RandomService.seed(RandomService.getSeed());
+        GameClock.useSimulated();
+        recorder = new InputRecorder(new InputRecording(RandomService.getSeed(), tickRate, width, height,
+                coopSelected, shipTypeP1, shipTypeP2, recordedKeys(input)), live);
+        input.setInputSource(recorder);
+        LOGGER.info("Recording session with seed " + RandomService.getSeed() + ".");
+    }
+
+    /**
+     * Ends the input of a play session, saving its recording if there is
+     * one.
+     *
+     * @param live
+     *                     Input source to go back to, null for the keyboard.
+     */
+    private static void endSession(final InputSource live) {
+        if (recorder != null) {
+            String path = System.getProperty("invaders.record");
+            try {
+                InputRecording recording = recorder.finish();
+                recording.save(Paths.get(path));
+                LOGGER.info("Recorded " + recorder.getTicks() + " ticks in "
+                        + recording.getLength() + " bytes to " + path + ".");
+            } catch (IOException e) {
+                LOGGER.warning("Unable to save recording '" + path + "': " + e.getMessage());
+            }
+            recorder = null;
+        }
+        InputManager.getInstance().setInputSource(live);
+        if (!headless)
+            GameClock.useSystem();
+    }
+
+    /**
+     * Lists the keys the game screen reads: both players' controls, the
+     * fire keys, pause and back to menu.
+     *
+     * @param input
+     *                     Input manager holding the key configuration.
+     * @return Key codes, without duplicates.
+     */
+    private static int[] recordedKeys(final InputManager input) {
+        int[] candidates = new int[10];
+        System.arraycopy(input.getPlayer1Keys(), 0, candidates, 0, 3);
+        System.arraycopy(input.getPlayer2Keys(), 0, candidates, 3, 3);
+        candidates[6] = KeyEvent.VK_SPACE;
+        candidates[7] = KeyEvent.VK_ENTER;
+        candidates[8] = KeyEvent.VK_ESCAPE;
+        candidates[9] = KeyEvent.VK_BACK_SPACE;
+        return Arrays.stream(candidates).distinct().toArray();
+    }
+
     /**
      * Activate setting screen system.
      *
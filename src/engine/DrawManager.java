@@ -1,17 +1,19 @@
 package engine;
 
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 
-import animations.BasicGameSpace;
-import animations.Explosion;
-import animations.MenuSpace;
 import engine.renderer.*;
 import screen.Screen;
 
@@ -31,12 +33,18 @@ public final class DrawManager {
     private static FileManager fileManager;
     /** Application logger. */
     private final Logger LOGGER;
-    /** Graphics context. */
-    private static Graphics graphics;
-    /** Buffer Graphics. */
-    private static Graphics backBufferGraphics;
-    /** Buffer image. */
+    /** Page flipping strategy of the frame, null if it could not be created. */
+    private static BufferStrategy bufferStrategy;
+    /** Buffer Graphics, kept for the lifetime of the buffer image. */
+    private static Graphics2D backBufferGraphics;
+    /** Buffer image, reused every frame. */
     private static BufferedImage backBuffer;
+    /** Rendering hints of a fresh buffer graphics, restored every frame. */
+    private static RenderingHints defaultHints;
+    /** Identity transform restored every frame. */
+    private static final AffineTransform IDENTITY = new AffineTransform();
+    /** Default stroke restored every frame. */
+    private static final BasicStroke DEFAULT_STROKE = new BasicStroke();
     /** Normal-sized font. */
     private static Font fontRegular;
     /** Normal-sized font properties. */
@@ -59,16 +67,8 @@ public final class DrawManager {
     private ShipSelectionMenuRenderer shipSelectionMenuRenderer;
     private GameScreenRenderer gameScreenRenderer;
     private ScoreScreenRenderer scoreScreenRenderer;
+    private LoadingScreenRenderer loadingScreenRenderer;
 
-    private final List<Explosion> explosions = new ArrayList<>();
-
-    /**
-     * Stars background animations for both game and main menu
-     * Star density specified as argument.
-     */
-    BasicGameSpace basicGameSpace = new BasicGameSpace(100);
-    MenuSpace menuSpace = new MenuSpace(50);
-    int explosion_size = 2;
 
     /**
      * Private constructor.
@@ -89,6 +89,7 @@ public final class DrawManager {
         this.shipSelectionMenuRenderer = new ShipSelectionMenuRenderer(this.commonRenderer);
         this.gameScreenRenderer = new GameScreenRenderer(this.commonRenderer);
         this.scoreScreenRenderer = new ScoreScreenRenderer(this.commonRenderer);
+        this.loadingScreenRenderer = new LoadingScreenRenderer(this.commonRenderer);
 
         fontRegular = this.assetManager.getFontRegular();
         fontBig = this.assetManager.getFontBig();
@@ -156,6 +157,10 @@ public final class DrawManager {
         return this.scoreScreenRenderer;
     }
 
+    public LoadingScreenRenderer getLoadingScreenRenderer() {
+        return this.loadingScreenRenderer;
+    }
+
     /**
      * Sets the frame to draw the image on.
      *
@@ -164,39 +169,89 @@ public final class DrawManager {
      */
     public void setFrame(final Frame currentFrame) {
         frame = currentFrame;
+        try {
+            frame.createBufferStrategy(2);
+            bufferStrategy = frame.getBufferStrategy();
+        } catch (IllegalStateException e) {
+            LOGGER.warning("Page flipping unavailable, drawing directly on the frame.");
+            bufferStrategy = null;
+        }
     }
 
     /**
-     * First part of the drawing process. Initialises buffers, draws the
-     * background and prepares the images.
+     * First part of the drawing process. Clears the back buffer in place,
+     * draws the background and resets the drawing state left by the last
+     * frame.
      *
      * @param screen
      *               Screen to draw in.
      */
     public void initDrawing(final Screen screen) {
-        backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(), BufferedImage.TYPE_INT_RGB);
-
-        graphics = frame.getGraphics();
-        backBufferGraphics = backBuffer.getGraphics();
+        if (backBuffer == null || backBuffer.getWidth() != screen.getWidth()
+                || backBuffer.getHeight() != screen.getHeight())
+            createBackBuffer(screen.getWidth(), screen.getHeight());
+
+        // Renderers change paint, hints and composite freely, start clean.
+        backBufferGraphics.setTransform(IDENTITY);
+        backBufferGraphics.setClip(null);
+        backBufferGraphics.setPaintMode();
+        backBufferGraphics.setComposite(AlphaComposite.SrcOver);
+        backBufferGraphics.setStroke(DEFAULT_STROKE);
+        backBufferGraphics.setRenderingHints(defaultHints);
+        backBufferGraphics.setFont(fontRegular);
 
         backBufferGraphics.setColor(Color.BLACK);
         backBufferGraphics.fillRect(0, 0, screen.getWidth(), screen.getHeight());
 
-        fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-        fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
-
         // drawBorders(screen);
         // drawGrid(screen);
     }
 
     /**
-     * Draws the completed drawing on screen.
+     * Draws the completed drawing on screen, flipping pages when the frame
+     * has a buffer strategy.
      *
      * @param screen
      *               Screen to draw on.
      */
     public void completeDrawing(final Screen screen) {
-        graphics.drawImage(backBuffer, frame.getInsets().left, frame.getInsets().top, frame);
+        Insets insets = frame.getInsets();
+        if (bufferStrategy == null) {
+            Graphics graphics = frame.getGraphics();
+            graphics.drawImage(backBuffer, insets.left, insets.top, frame);
+            graphics.dispose();
+            return;
+        }
+
+        do {
+            do {
+                Graphics graphics = bufferStrategy.getDrawGraphics();
+                graphics.drawImage(backBuffer, insets.left, insets.top, null);
+                graphics.dispose();
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+    }
+
+    /**
+     * Creates the back buffer and its graphics, reused until the screen size
+     * changes.
+     *
+     * @param width
+     *               Buffer width.
+     * @param height
+     *               Buffer height.
+     */
+    private void createBackBuffer(final int width, final int height) {
+        if (backBufferGraphics != null)
+            backBufferGraphics.dispose();
+
+        backBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        backBufferGraphics = backBuffer.createGraphics();
+        defaultHints = (RenderingHints) backBufferGraphics.getRenderingHints().clone();
+
+        fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
+        fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
     }
 
 
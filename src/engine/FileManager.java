@@ -11,6 +11,8 @@ import java.util.Map;
 import java.util.logging.Logger;
 
 import engine.AssetManager.SpriteType;
+import engine.diagnostics.FileIoEvent;
+import engine.diagnostics.Recorder;
 import engine.gameplay.achievement.Achievement;
 
 /**
@@ -75,6 +77,7 @@ public final class FileManager {
      *             In case of loading problems.
      */
     public List<Score> loadHighScores(String mode) throws IOException {
+        FileIoEvent event = beginIo();
         List<Score> highScores = new ArrayList<>();
         InputStream inputStream = null;
         BufferedReader bufferedReader = null;
@@ -105,6 +108,7 @@ public final class FileManager {
         }
 
         Collections.sort(highScores);
+        commitIo(event, "load", "game_data/" + mode + "_scores.csv", highScores.size());
         return highScores;
     }
 
@@ -120,6 +124,7 @@ public final class FileManager {
      *             In case of loading problems.
      */
     public void saveHighScores(final List<Score> highScores, String mode) throws IOException {
+        FileIoEvent event = beginIo();
         OutputStream outputStream = null;
         BufferedWriter bufferedWriter = null;
 
@@ -147,6 +152,7 @@ public final class FileManager {
             if (bufferedWriter != null)
                 bufferedWriter.close();
         }
+        commitIo(event, "save", "game_data/" + mode + "_scores.csv", highScores.size());
     }
 
     /**
@@ -171,6 +177,7 @@ public final class FileManager {
      * @throws IOException In case of loading problems.
      */
     public List<Boolean> searchAchievementsByName(String userName) throws IOException {
+        FileIoEvent event = beginIo();
         List<Boolean> achievementList = new ArrayList<>();
 
         try {
@@ -216,6 +223,7 @@ public final class FileManager {
             }
         }
 
+        commitIo(event, "load", "game_data/achievement.csv", achievementList.size());
         return achievementList;
     }
 
@@ -227,6 +235,7 @@ public final class FileManager {
      * @param unlockedAchievement  A list of booleans representing which achievements have been unlocked.
      */
     public void unlockAchievement(String userName, List<Boolean> unlockedAchievement, String mode) {
+        FileIoEvent event = beginIo();
         List<String[]> records = new ArrayList<>();
 
         // Extract only numeric part from mode string (e.g., "1P" → "1", "2P" → "2")
@@ -292,6 +301,7 @@ public final class FileManager {
         } catch (IOException e) {
             Logger.getLogger(getClass().getName()).info("No achievements to save or error occurred.");
         }
+        commitIo(event, "save", "game_data/achievement.csv", records.size());
     }
 
     /**
@@ -303,6 +313,7 @@ public final class FileManager {
      * [2025-10-09] Added in commit: feat: add method to retrieve achievement completer
      */
     public List<String> getAchievementCompleter(Achievement achievement) {
+        FileIoEvent event = beginIo();
         List<String> completer = new ArrayList<>();
         try {
             String achievementPath = getFilePath("game_data/achievement.csv");
@@ -324,6 +335,7 @@ public final class FileManager {
 
                 if (idx == -1) {
                     LOGGER.warning("Achievement not found: " + achievement.getName());
+                    commitIo(event, "load", "game_data/achievement.csv", 0);
                     return completer;
                 }
 
@@ -349,6 +361,41 @@ public final class FileManager {
             completer.add("2:DEF");
         }
 
+        commitIo(event, "load", "game_data/achievement.csv", completer.size());
         return completer;
     }
+
+    /**
+     * Begins the flight recorder event of a file operation.
+     *
+     * @return begun event, null if the flight recorder is not running.
+     */
+    private static FileIoEvent beginIo() {
+        if (!Recorder.isRecording())
+            return null;
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the flight recorder event of a finished file operation.
+     *
+     * @param event
+     *      event begun when the operation started, may be null.
+     * @param operation
+     *      "load" or "save".
+     * @param fileName
+     *      file read or written, relative to res.
+     * @param records
+     *      number of records read or written.
+     */
+    private static void commitIo(FileIoEvent event, String operation, String fileName, int records) {
+        if (event != null && event.shouldCommit()) {
+            event.operation = operation;
+            event.path = fileName;
+            event.records = records;
+            event.commit();
+        }
+    }
 }
\ No newline at end of file
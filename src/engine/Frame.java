@@ -34,6 +34,8 @@ public class Frame extends JFrame {
 		setSize(width, height);
 		setResizable(false);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
+		// Frames are presented by DrawManager, ignore OS paint requests.
+		setIgnoreRepaint(true);
 
 		setLocationRelativeTo(null);
 		setVisible(true);
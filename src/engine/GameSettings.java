@@ -80,7 +80,17 @@ public class GameSettings {
 	}
 
 	public static List<StageData> parseStages(Path path) throws Exception {
-		String raw = Files.readString(path);
+		return parseStages(Files.readString(path));
+	}
+
+	/**
+	 * Parses the stages of a level file already read.
+	 *
+	 * @param raw
+	 *            Contents of the level file.
+	 * @return Stages, in file order.
+	 */
+	public static List<StageData> parseStages(String raw) {
 		raw = raw.replace("\uFEFF", "");
 		raw = raw.replaceAll("(?m)^\\s*//.*$", "");
 
@@ -134,7 +144,11 @@ public class GameSettings {
 		GameSettings setting;
 
 		try {
-			stageDataList = parseStages(Paths.get("res", "game_data/level.csv"));
+			// The asset pack holds a copy of the level file if there is one.
+			AssetPack pack = AssetPack.getInstance();
+			String packed = pack != null ? pack.readText("game_data/level.csv") : null;
+			stageDataList = packed != null ? parseStages(packed)
+					: parseStages(Paths.get("res", "game_data/level.csv"));
 			for(StageData s : stageDataList) {
 				setting = s.settings;
 				setting.changeDataList = new ArrayList<>();
@@ -3,6 +3,7 @@ package engine;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.logging.Level;
 
 import engine.gameplay.item.ItemEffect;
 import engine.gameplay.item.ItemEffect.ItemEffectType;
@@ -18,7 +19,7 @@ import engine.utils.Cooldown;
  */
 public class GameState {
 
-    private static final java.util.logging.Logger logger = Core.getLogger();
+    private static final java.util.logging.Logger logger = Core.getLogger("state");
 
     // 2P mode: number of players used for shared lives in co-op
 	public static final int NUM_PLAYERS = 2; // adjust later if needed
@@ -168,7 +169,9 @@ public class GameState {
         Integer multiplier = getEffectValue(p, ItemEffect.ItemEffectType.SCOREBOOST);
         if (multiplier != null) {
             realDelta = delta * multiplier;
-            logger.info("[GameState] Player " + (p + 1) + " ScoreBoost active (x" + multiplier + "). Score changed from " + delta + " to " + realDelta);
+            if (logger.isLoggable(Level.FINE))
+                logger.log(Level.FINE, "[GameState] Player {0} ScoreBoost active (x{1}). Score changed from {2} to {3}",
+                        new Object[] {p + 1, multiplier, delta, realDelta});
         }
 		score[p] += realDelta;
 	}
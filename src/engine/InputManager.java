@@ -30,6 +30,8 @@ public final class InputManager implements KeyListener, MouseListener, MouseMoti
 
 	/** Singleton instance of the class. */
 	private static InputManager instance;
+	/** Source of key states replacing the keyboard, null to use the keyboard. */
+	private static InputSource inputSource;
     /** Last character typed. */
     private static char lastCharTyped;
     /** Flag to check if a character was typed. */
@@ -106,9 +108,53 @@ public final class InputManager implements KeyListener, MouseListener, MouseMoti
 	 * @return Key state.
 	 */
 	public boolean isKeyDown(final int keyCode) {
+		if (inputSource != null)
+			return inputSource.isKeyDown(keyCode);
 		return keys[keyCode];
 	}
 
+	/**
+	 * Returns true if the provided key is pressed on the keyboard, whatever
+	 * the input source.
+	 *
+	 * @param keyCode
+	 *            Key number to check.
+	 * @return Keyboard key state.
+	 */
+	public boolean isKeyboardKeyDown(final int keyCode) {
+		return keyCode >= 0 && keyCode < NUM_KEYS && keys[keyCode];
+	}
+
+	/**
+	 * Replaces the keyboard with another source of key states.
+	 *
+	 * @param source
+	 *            New source, null to go back to the keyboard.
+	 */
+	public void setInputSource(final InputSource source) {
+		inputSource = source;
+	}
+
+	/**
+	 * Getter for the source replacing the keyboard.
+	 *
+	 * @return Input source, null if the keyboard is used.
+	 */
+	public InputSource getInputSource() {
+		return inputSource;
+	}
+
+	/**
+	 * Lets the input source know a simulation tick starts.
+	 *
+	 * @param tick
+	 *            Number of the tick about to run.
+	 */
+	public void beginTick(final long tick) {
+		if (inputSource != null)
+			inputSource.beginTick(tick);
+	}
+
     // === PLAYER 1 CONTROLS (Existing functionality) ===
     // Player 1 uses WASD + Spacebar configuration
 
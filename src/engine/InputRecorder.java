@@ -0,0 +1,104 @@
+package engine;
+
+/**
+ * Records the tracked keys of every tick into an {@link InputRecording},
+ * reading them from another input source or the keyboard. The game sees the
+ * same key states that are recorded.
+ */
+public final class InputRecorder implements InputSource {
+
+    /** Recording being written. */
+    private final InputRecording recording;
+    /** Source of the live key states, null for the keyboard. */
+    private final InputSource live;
+    /** Key states of the current tick, one bit per tracked key. */
+    private int state;
+    /** Ticks started so far. */
+    private long tick;
+    /** Tick of the last recorded change. */
+    private long lastChange;
+    /** If the recording has been ended. */
+    private boolean finished;
+
+    /**
+     * Constructor, records into an empty recording.
+     *
+     * @param recording
+     *            Recording to write.
+     * @param live
+     *            Source of the live key states, null for the keyboard.
+     */
+    public InputRecorder(final InputRecording recording, final InputSource live) {
+        this.recording = recording;
+        this.live = live;
+    }
+
+    @Override
+    public void beginTick(final long screenTick) {
+        if (this.live != null)
+            this.live.beginTick(screenTick);
+        if (this.finished)
+            return;
+
+        int newState = 0;
+        for (int i = 0; i < InputRecording.MAX_KEYS; i++) {
+            int keyCode = keyCode(i);
+            if (keyCode < 0)
+                break;
+            if (liveKeyDown(keyCode))
+                newState |= 1 << i;
+        }
+        if (newState != this.state) {
+            this.recording.append(this.tick - this.lastChange, newState ^ this.state);
+            this.lastChange = this.tick;
+            this.state = newState;
+        }
+        this.tick++;
+    }
+
+    @Override
+    public boolean isKeyDown(final int keyCode) {
+        int index = this.recording.indexOf(keyCode);
+        if (index < 0)
+            return liveKeyDown(keyCode);
+        return (this.state & (1 << index)) != 0;
+    }
+
+    /**
+     * Ends the recording after the last tick started.
+     *
+     * @return Finished recording.
+     */
+    public InputRecording finish() {
+        if (!this.finished) {
+            this.recording.append(this.tick - this.lastChange, 0);
+            this.finished = true;
+        }
+        return this.recording;
+    }
+
+    /**
+     * Getter for the ticks recorded so far.
+     *
+     * @return Tick count.
+     */
+    public long getTicks() {
+        return this.tick;
+    }
+
+    /**
+     * Gets a tracked key.
+     */
+    private int keyCode(final int index) {
+        return index < this.recording.getKeyCount() ? this.recording.getKeyCode(index) : -1;
+    }
+
+    /**
+     * Reads a key from the live source.
+     */
+    private boolean liveKeyDown(final int keyCode) {
+        if (this.live != null)
+            return this.live.isKeyDown(keyCode);
+        return InputManager.getInstance().isKeyboardKeyDown(keyCode);
+    }
+}
@@ -0,0 +1,270 @@
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import entity.Ship;
+
+/**
+ * Key states of a play session, tick by tick, plus what is needed to start
+ * the session over: random seed, tick rate, screen size, play mode and ship
+ * types.
+ *
+ * Only changes are stored. Each change is the number of ticks since the
+ * previous one followed by the bits of the keys that flipped, both as
+ * variable length integers, so a tick without changes costs nothing. A change
+ * flipping no key marks the end of the session.
+ *
+ * File layout, big-endian: magic, version, header fields, key codes, then
+ * the length and bytes of the changes.
+ */
+public final class InputRecording {
+
+    /** File magic, "INVR". */
+    private static final int MAGIC = 0x494E5652;
+    /** File format version. */
+    private static final byte VERSION = 1;
+    /** Most keys a recording can track, one bit each. */
+    public static final int MAX_KEYS = Integer.SIZE;
+
+    private final long seed;
+    private final int tickRate;
+    private final int width;
+    private final int height;
+    private final boolean coop;
+    private final Ship.ShipType shipTypeP1;
+    private final Ship.ShipType shipTypeP2;
+    /** Tracked keys, the bit of each key is its index. */
+    private final int[] keyCodes;
+
+    /** Encoded changes. */
+    private byte[] changes;
+    /** Number of bytes used in changes. */
+    private int length;
+
+    /**
+     * Constructor, starts an empty recording.
+     *
+     * @param seed
+     *            Random seed of the session.
+     * @param tickRate
+     *            Simulation ticks per second.
+     * @param width
+     *            Screen width.
+     * @param height
+     *            Screen height.
+     * @param coop
+     *            If the session is in 2 player mode.
+     * @param shipTypeP1
+     *            Ship type of player 1.
+     * @param shipTypeP2
+     *            Ship type of player 2.
+     * @param keyCodes
+     *            Keys to track, at most MAX_KEYS.
+     */
+    public InputRecording(final long seed, final int tickRate, final int width, final int height,
+                          final boolean coop, final Ship.ShipType shipTypeP1, final Ship.ShipType shipTypeP2,
+                          final int[] keyCodes) {
+        if (keyCodes.length > MAX_KEYS)
+            throw new IllegalArgumentException("Cannot track more than " + MAX_KEYS + " keys");
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.width = width;
+        this.height = height;
+        this.coop = coop;
+        this.shipTypeP1 = shipTypeP1 == null ? Ship.ShipType.NORMAL : shipTypeP1;
+        this.shipTypeP2 = shipTypeP2 == null ? Ship.ShipType.NORMAL : shipTypeP2;
+        this.keyCodes = keyCodes.clone();
+        this.changes = new byte[256];
+    }
+
+    /**
+     * Appends a change.
+     *
+     * @param ticks
+     *            Ticks since the previous change.
+     * @param flipped
+     *            Bits of the keys that flipped, 0 to end the session.
+     */
+    void append(final long ticks, final int flipped) {
+        writeVarLong(ticks);
+        writeVarLong(flipped & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads a variable length integer.
+     *
+     * @param position
+     *            Cursor, advanced past the value.
+     * @return Value read, -1 past the end of the changes.
+     */
+    long read(final int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (position[0] < this.length) {
+            byte b = this.changes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+            shift += 7;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the bit of a key.
+     *
+     * @param keyCode
+     *            Key number.
+     * @return Key bit index, -1 if the key is not tracked.
+     */
+    int indexOf(final int keyCode) {
+        for (int i = 0; i < this.keyCodes.length; i++)
+            if (this.keyCodes[i] == keyCode)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Saves the recording.
+     *
+     * @param path
+     *            File to write.
+     * @throws IOException
+     *             If the file cannot be written.
+     */
+    public void save(final Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(this.seed);
+            out.writeShort(this.tickRate);
+            out.writeShort(this.width);
+            out.writeShort(this.height);
+            out.writeBoolean(this.coop);
+            out.writeByte(this.shipTypeP1.ordinal());
+            out.writeByte(this.shipTypeP2.ordinal());
+            out.writeByte(this.keyCodes.length);
+            for (int keyCode : this.keyCodes)
+                out.writeShort(keyCode);
+            out.writeInt(this.length);
+            out.write(this.changes, 0, this.length);
+        }
+    }
+
+    /**
+     * Loads a recording.
+     *
+     * @param path
+     *            File to read.
+     * @return Recording read.
+     * @throws IOException
+     *             If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(final Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(path + " is not an input recording");
+            byte version = in.readByte();
+            if (version != VERSION)
+                throw new IOException("Unsupported input recording version " + version);
+
+            long seed = in.readLong();
+            int tickRate = in.readUnsignedShort();
+            int width = in.readUnsignedShort();
+            int height = in.readUnsignedShort();
+            boolean coop = in.readBoolean();
+            Ship.ShipType[] types = Ship.ShipType.values();
+            Ship.ShipType shipTypeP1 = types[in.readUnsignedByte() % types.length];
+            Ship.ShipType shipTypeP2 = types[in.readUnsignedByte() % types.length];
+            int[] keyCodes = new int[in.readUnsignedByte()];
+            for (int i = 0; i < keyCodes.length; i++)
+                keyCodes[i] = in.readUnsignedShort();
+
+            InputRecording recording = new InputRecording(seed, tickRate, width, height, coop,
+                    shipTypeP1, shipTypeP2, keyCodes);
+            recording.length = in.readInt();
+            recording.changes = new byte[recording.length];
+            in.readFully(recording.changes);
+            return recording;
+        }
+    }
+
+    /**
+     * Appends a variable length integer, 7 bits per byte.
+     */
+    private void writeVarLong(long value) {
+        do {
+            if (this.length == this.changes.length)
+                this.changes = Arrays.copyOf(this.changes, this.changes.length * 2);
+            byte b = (byte) (value & 0x7F);
+            value >>>= 7;
+            this.changes[this.length++] = value == 0 ? b : (byte) (b | 0x80);
+        } while (value != 0);
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public int getTickRate() {
+        return this.tickRate;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public boolean isCoop() {
+        return this.coop;
+    }
+
+    public Ship.ShipType getShipTypeP1() {
+        return this.shipTypeP1;
+    }
+
+    public Ship.ShipType getShipTypeP2() {
+        return this.shipTypeP2;
+    }
+
+    /**
+     * Getter for the number of tracked keys.
+     *
+     * @return Tracked key count.
+     */
+    public int getKeyCount() {
+        return this.keyCodes.length;
+    }
+
+    /**
+     * Gets a tracked key.
+     *
+     * @param index
+     *            Bit of the key.
+     * @return Key number.
+     */
+    public int getKeyCode(final int index) {
+        return this.keyCodes[index];
+    }
+
+    /**
+     * Getter for the size of the encoded changes.
+     *
+     * @return Bytes used by the changes.
+     */
+    public int getLength() {
+        return this.length;
+    }
+}
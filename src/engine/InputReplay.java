@@ -0,0 +1,87 @@
+package engine;
+
+/**
+ * Plays an {@link InputRecording} back, tick by tick, in place of the
+ * keyboard. Keys the recording does not track are never pressed, and every
+ * key is released once the recording ends.
+ */
+public final class InputReplay implements InputSource {
+
+    /** Recording being played. */
+    private final InputRecording recording;
+    /** Read position in the encoded changes. */
+    private final int[] position = new int[1];
+    /** Key states of the current tick, one bit per tracked key. */
+    private int state;
+    /** Ticks started so far. */
+    private long tick;
+    /** Tick of the next change, -1 once the recording ended. */
+    private long nextChange;
+    /** Bits flipped by the next change. */
+    private int nextFlipped;
+
+    /**
+     * Constructor, starts from the first tick.
+     *
+     * @param recording
+     *            Recording to play.
+     */
+    public InputReplay(final InputRecording recording) {
+        this.recording = recording;
+        readChange(0);
+    }
+
+    @Override
+    public void beginTick(final long screenTick) {
+        while (this.nextChange == this.tick) {
+            if (this.nextFlipped == 0) {
+                // End of the session.
+                this.state = 0;
+                this.nextChange = -1;
+                break;
+            }
+            this.state ^= this.nextFlipped;
+            readChange(this.tick);
+        }
+        this.tick++;
+    }
+
+    @Override
+    public boolean isKeyDown(final int keyCode) {
+        int index = this.recording.indexOf(keyCode);
+        return index >= 0 && (this.state & (1 << index)) != 0;
+    }
+
+    /**
+     * Checks if every recorded tick has been played.
+     *
+     * @return True once the recording ended.
+     */
+    public boolean isFinished() {
+        return this.nextChange < 0;
+    }
+
+    /**
+     * Getter for the ticks played so far.
+     *
+     * @return Tick count.
+     */
+    public long getTicks() {
+        return this.tick;
+    }
+
+    /**
+     * Reads the change following the given tick.
+     */
+    private void readChange(final long from) {
+        long ticks = this.recording.read(this.position);
+        long flipped = this.recording.read(this.position);
+        if (ticks < 0 || flipped < 0) {
+            this.nextChange = -1;
+            this.state = 0;
+            return;
+        }
+        this.nextChange = from + ticks;
+        this.nextFlipped = (int) flipped;
+    }
+}
@@ -0,0 +1,24 @@
+package engine;
+
+/**
+ * Supplies key states in place of the keyboard, for runs without a window.
+ */
+public interface InputSource {
+
+    /**
+     * Called at the start of every simulation tick, before any key is read.
+     *
+     * @param tick
+     *            Number of the tick about to run.
+     */
+    void beginTick(long tick);
+
+    /**
+     * Returns true if the provided key is pressed on the current tick.
+     *
+     * @param keyCode
+     *            Key number to check.
+     * @return Key state.
+     */
+    boolean isKeyDown(int keyCode);
+}
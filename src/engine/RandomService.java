@@ -0,0 +1,94 @@
+package engine;
+
+import java.util.Random;
+
+/**
+ * Every source of randomness in the game, split into two streams seeded
+ * from one run seed. The gameplay stream drives everything that changes the
+ * simulation and is only used by the game thread, so a run repeats exactly
+ * given the same seed and inputs. The cosmetic stream drives effects that
+ * are only drawn, and can be drawn from any thread without disturbing the
+ * gameplay stream.
+ */
+public final class RandomService {
+
+    /** Mixes the run seed into the cosmetic seed, keeps the streams apart. */
+    private static final long COSMETIC_SALT = 0x9E3779B97F4A7C15L;
+
+    /** Seed of the current run. */
+    private static long seed;
+    /** Gameplay stream. */
+    private static final Random gameplay = new Random();
+    /** Cosmetic stream. */
+    private static final Random cosmetic = new Random();
+
+    static {
+        seed(System.nanoTime());
+    }
+
+    /**
+     * Constructor, not called.
+     */
+    private RandomService() {
+
+    }
+
+    /**
+     * Restarts both streams from a seed.
+     *
+     * @param newSeed
+     *            Seed of the run.
+     */
+    public static synchronized void seed(final long newSeed) {
+        seed = newSeed;
+        gameplay.setSeed(newSeed);
+        cosmetic.setSeed(newSeed ^ COSMETIC_SALT);
+    }
+
+    /**
+     * Getter for the seed of the current run.
+     *
+     * @return Run seed.
+     */
+    public static synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the gameplay stream. Only the game thread may use it.
+     *
+     * @return Random generator for the simulation.
+     */
+    public static Random gameplay() {
+        return gameplay;
+    }
+
+    /**
+     * Gets the cosmetic stream, for effects that do not change the
+     * simulation.
+     *
+     * @return Random generator for visual effects.
+     */
+    public static Random cosmetic() {
+        return cosmetic;
+    }
+
+    /**
+     * Parses a seed, falling back to a time based one when the value is
+     * missing or not a number.
+     *
+     * @param value
+     *            Requested seed, may be null.
+     * @return Seed to run with.
+     */
+    public static long parseSeed(final String value) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                Core.getLogger().warning("Invalid seed '" + value + "', using a random one.");
+            }
+        }
+        return System.nanoTime();
+    }
+}
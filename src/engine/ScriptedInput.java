@@ -0,0 +1,70 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+
+import screen.Screen;
+
+/**
+ * Synthetic input for headless runs: every player sweeps left and right
+ * while holding fire. Key states depend only on the tick number, so runs are
+ * repeatable.
+ */
+public final class ScriptedInput implements InputSource {
+
+    /** Ticks spent moving in one direction at the base tick rate. */
+    private static final int SWEEP_TICKS = 90;
+    /** Number of recognised keys. */
+    private static final int NUM_KEYS = 256;
+
+    /** Keys pressed on the current tick. */
+    private final boolean[] keys = new boolean[NUM_KEYS];
+    /** Ticks spent moving in one direction at the run's tick rate. */
+    private final long sweepTicks;
+    /** Left, right and shoot keys of player 1. */
+    private final int[] player1Keys;
+    /** Left, right and shoot keys of player 2. */
+    private final int[] player2Keys;
+
+    /**
+     * Constructor, plays with the configured keys of both players.
+     *
+     * @param inputManager
+     *            Input manager holding the key configuration.
+     * @param tickRate
+     *            Simulation ticks per second, so a sweep covers the same
+     *            distance at any tick rate.
+     */
+    public ScriptedInput(final InputManager inputManager, final int tickRate) {
+        this.sweepTicks = Math.max(1, (long) SWEEP_TICKS * tickRate / Screen.BASE_TICK_RATE);
+        this.player1Keys = inputManager.getPlayer1Keys();
+        this.player2Keys = inputManager.getPlayer2Keys();
+    }
+
+    @Override
+    public void beginTick(final long tick) {
+        Arrays.fill(this.keys, false);
+        boolean right = (tick / this.sweepTicks) % 2 == 0;
+        press(this.player1Keys[right ? 1 : 0]);
+        press(this.player1Keys[2]);
+        // Player 2 sweeps the other way.
+        press(this.player2Keys[right ? 0 : 1]);
+        press(this.player2Keys[2]);
+        // GameScreen fires on these keys directly.
+        press(KeyEvent.VK_SPACE);
+        press(KeyEvent.VK_ENTER);
+    }
+
+    @Override
+    public boolean isKeyDown(final int keyCode) {
+        return keyCode >= 0 && keyCode < NUM_KEYS && this.keys[keyCode];
+    }
+
+    /**
+     * Marks a key as pressed on this tick.
+     */
+    private void press(final int keyCode) {
+        if (keyCode >= 0 && keyCode < NUM_KEYS)
+            this.keys[keyCode] = true;
+    }
+}
@@ -1,29 +1,63 @@
 package engine;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
+import engine.audio.AudioMixer;
+import engine.audio.MusicStream;
+import engine.audio.SoundBuffer;
+import engine.diagnostics.Recorder;
+import engine.diagnostics.SoundPlayEvent;
+
 /**
  * Minimal sound manager for short SFX.
+ *
+ * Sounds are mixed by an {@link AudioMixer} on its own thread; the methods
+ * here only queue commands for it, so they never wait on the audio device
+ * and the same sound can overlap itself. Looped music is streamed from its
+ * file by a {@link MusicStream}.
  */
 public final class  SoundManager {
 
+    /** Most sounds playing at once. */
+    private static final int VOICES = 16;
+    /** Priority of sounds not listed in PRIORITIES. */
+    private static final int DEFAULT_PRIORITY = 1;
+    /** Frames a new loop takes to fade in over the previous one. */
+    private static final int CROSSFADE_FRAMES = (int) (SoundBuffer.SAMPLE_RATE / 2);
+    /** Frames a stopped loop takes to fade out. */
+    private static final int FADE_OUT_FRAMES = (int) (SoundBuffer.SAMPLE_RATE / 4);
+    /** Priority of sounds when every voice is busy, higher is kept longer. */
+    private static final Map<String, Integer> PRIORITIES = new HashMap<String, Integer>();
+
+    static {
+        // Frequent effects give way first; music doesn't use voices.
+        PRIORITIES.put("shoot", 0);
+        PRIORITIES.put("shooting", 0);
+        PRIORITIES.put("shoot_enemies", 0);
+        PRIORITIES.put("hover", 0);
+        PRIORITIES.put("invader_killed", 1);
+        PRIORITIES.put("explosion", 2);
+        PRIORITIES.put("select", 3);
+        PRIORITIES.put("count_down_sound", 3);
+        PRIORITIES.put("achievement", 4);
+        PRIORITIES.put("win", 4);
+        PRIORITIES.put("lose", 4);
+    }
+
     private static Logger LOGGER = null;
     private static SoundManager instance;
 
-    private static Clip currentLoopClip = null;
+    /** Mixer playing every sound, null until started or if there is no audio output. */
+    private static volatile AudioMixer mixer = null;
+    /** If starting the mixer was tried already. */
+    private static boolean mixerStarted = false;
+
+    /** Name of the looped sound playing, null if none. */
+    private static String currentLoop = null;
+    /** If each looped sound asked for has a file, checked once per name. */
+    private static final Map<String, Boolean> loopFound = new HashMap<String, Boolean>();
 
     private SoundManager() {
         LOGGER = Core.getLogger();
@@ -41,94 +75,106 @@ public final class  SoundManager {
     }
 
     /**
-     * 클립을 가져오고 볼륨을 설정하며 재생 위치를 처음으로 되돌립니다.
+     * Opens the audio output and starts the mixer thread, once. Called by
+     * {@link AssetManager} while loading, so playing a sound never waits on
+     * the audio device.
      *
-     * @param soundName 사운드 파일 이름
-     * @return 재생 준비가 완료된 Clip 객체
+     * @return True if the mixer is running.
      */
-    private static Clip prepareClip(String soundName) {
-        // 1. AssetManager에서 미리 로드된 Clip을 가져옵니다.
-        Clip clip = Core.getAssetManager().getSound(soundName);
-
-        if (clip == null) {
-            LOGGER.warning("Sound not found in AssetManager: " + soundName);
-            return null;
-        }
-
-        // 2. 혹시 재생 중이라면 멈추고, 재생 위치를 처음(0)으로 되돌립니다.
-        if (clip.isRunning()) {
-            clip.stop();
-        }
-        clip.setFramePosition(0);
-
-        // 3. Core에 저장된 현재 볼륨 설정을 클립에 적용합니다.
-        if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-            FloatControl gain = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-            float volumeDb = calculateVolumeDecibels(Core.getVolumeLevel());
-            gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), volumeDb)));
+    public static synchronized boolean startMixer() {
+        if (!mixerStarted) {
+            mixerStarted = true;
+            getInstance();
+            AudioMixer started = new AudioMixer(VOICES);
+            if (started.start()) {
+                started.setMasterGain(calculateGain(Core.getVolumeLevel()));
+                mixer = started;
+            }
         }
+        return mixer != null;
+    }
 
-        return clip;
+    /**
+     * 사운드를 가져옵니다.
+     *
+     * @param soundName 사운드 파일 이름
+     * @return 미리 로드된 사운드, 없으면 null
+     */
+    private static SoundBuffer findSound(String soundName) {
+        SoundBuffer buffer = Core.getAssetManager().getSound(soundName);
+        if (buffer == null)
+            LOGGER.warning("Sound not found in AssetManager: " + soundName);
+        return buffer;
     }
 
     /**
      * Plays a short WAV from resources folder.
-     * Uses a new Clip per invocation for simplicity; suitable for very short SFX.
+     * Each call takes its own voice, so repeated sounds overlap instead of
+     * restarting.
      */
     public static void playOnce(String soundName) {
-        try {
-            Clip clip = prepareClip(soundName);
-
-            if (clip != null) {
-                clip.start();
-            } else {
-                LOGGER.warning("Sound not found in AssetManager: " + soundName);
-            }
+        if (Core.isHeadless()) return;
+        getInstance();
+        SoundPlayEvent event = null;
+        if (Recorder.isRecording()) {
+            event = new SoundPlayEvent();
+            event.begin();
+        }
+        boolean played = false;
+        AudioMixer audio = mixer;
+        SoundBuffer buffer = findSound(soundName);
+        if (audio != null && buffer != null) {
+            Integer priority = PRIORITIES.get(soundName);
+            audio.play(buffer, priority != null ? priority : DEFAULT_PRIORITY, 1f, false);
+            played = true;
+        }
 
-        } catch (Exception e) {
-            LOGGER.info("Unable to play sound '" + soundName + "': " + e.getMessage());
+        if (event != null && event.shouldCommit()) {
+            event.sound = soundName;
+            event.played = played;
+            event.commit();
         }
     }
 
     /**
      * Plays a .wav in a loop until {@link #loopStop()} is called.
+     * The file is streamed rather than loaded, and crossfades with the loop
+     * playing before. Does nothing if the file doesn't exist.
      */
     public static void playLoop(String soundName) {
-        // 모든 기존 루프 사운드 중지
-        stopAllMusic();
-        try {
-            Clip clip = prepareClip(soundName);
-
-            if (clip != null) {
-                // 무한 반복 설정 후 재생합니다.
-                clip.loop(Clip.LOOP_CONTINUOUSLY);
-                clip.start();
-
-                // 현재 재생 중인 클립을 추적
-                 currentLoopClip = clip;
-
-            } else {
-                LOGGER.warning("Looping sound not found in AssetManager: " + soundName);
-            }
-        } catch (Exception e) {
-            LOGGER.info("Unable to loop sound '" + soundName + "': " + e.getMessage());
+        if (Core.isHeadless()) return;
+        // 같은 루프가 이미 재생 중이면 이어서 재생
+        if (soundName.equals(currentLoop)) return;
+        getInstance();
+        AudioMixer audio = mixer;
+        if (audio == null) return;
+
+        String resourcePath = "sound/" + soundName + ".wav";
+        // A missing track leaves the current loop playing.
+        Boolean found = loopFound.get(soundName);
+        if (found == null) {
+            found = AssetManager.hasResource(resourcePath);
+            loopFound.put(soundName, found);
+            if (!found)
+                LOGGER.warning("Music not found: " + soundName);
         }
+        if (!found) return;
+        MusicStream stream = new MusicStream(soundName,
+                () -> AssetManager.openAudioStream(resourcePath), true);
+        audio.playMusic(stream, CROSSFADE_FRAMES);
+        // 현재 재생 중인 루프를 추적
+        currentLoop = soundName;
     }
 
     /**
-     * Stops and releases the current looped clip, if any.
+     * Fades out the current looped sound, if any.
      */
     public static void loopStop() {
-        if (currentLoopClip != null) {
-            try {
-                currentLoopClip.stop();
-                currentLoopClip.setFramePosition(0);
-//                currentLoopClip.close();
-            } catch (Exception e) {
-                LOGGER.fine("Error stopping looped sound: " + e.getMessage());
-            } finally {
-                currentLoopClip = null;
-            }
+        if (currentLoop != null) {
+            AudioMixer audio = mixer;
+            if (audio != null)
+                audio.playMusic(null, FADE_OUT_FRAMES);
+            currentLoop = null;
         }
     }
 
@@ -145,13 +191,23 @@ public final class  SoundManager {
      * This should be called when the volume slider is changed.
      */
     public static void updateVolume() {
-        float volumeDb = calculateVolumeDecibels(Core.getVolumeLevel());
-        
-        // Update looped sound volume.
-        if (currentLoopClip != null && currentLoopClip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-            FloatControl gain = (FloatControl) currentLoopClip.getControl(FloatControl.Type.MASTER_GAIN);
-            gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), volumeDb)));
+        AudioMixer audio = mixer;
+        if (audio != null)
+            audio.setMasterGain(calculateGain(Core.getVolumeLevel()));
+    }
+
+    /**
+     * Calculates the linear gain of a volume level, matching
+     * {@link #calculateVolumeDecibels(int)}.
+     *
+     * @param volumeLevel Volume level from 0 to 100
+     * @return Gain from 0 to 1
+     */
+    public static float calculateGain(int volumeLevel) {
+        if (volumeLevel <= 0) {
+            return 0f;
         }
+        return (float) Math.pow(10.0, calculateVolumeDecibels(volumeLevel) / 20.0);
     }
 
     /**
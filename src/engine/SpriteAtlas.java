@@ -0,0 +1,149 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import engine.AssetManager.SpriteType;
+
+/**
+ * Every sprite packed into a single image, drawn white at twice its pixel
+ * size like entities show it. Renderers copy sub-regions of it instead of
+ * drawing sprite pixels one by one.
+ */
+public final class SpriteAtlas {
+
+    /** Width of the atlas image. */
+    private static final int ATLAS_WIDTH = 256;
+    /** Size of a sprite pixel in the atlas. */
+    private static final int PIXEL_SIZE = 2;
+    /** Empty space around each sprite, keeps scaled copies from bleeding. */
+    private static final int PADDING = 1;
+
+    /** Atlas image. */
+    private final BufferedImage image;
+    /** Position in the x-axis of each sprite, indexed by sprite type ordinal. */
+    private final int[] regionX;
+    /** Position in the y-axis of each sprite, indexed by sprite type ordinal. */
+    private final int[] regionY;
+    /** If each sprite is in the atlas, indexed by sprite type ordinal. */
+    private final boolean[] packed;
+
+    /**
+     * Packs the loaded sprites into a new atlas, tallest first on shelves.
+     *
+     * @param spriteMap
+     *            Loaded sprite pixels by type.
+     */
+    SpriteAtlas(final Map<SpriteType, boolean[][]> spriteMap) {
+        SpriteType[] types = SpriteType.values();
+        this.regionX = new int[types.length];
+        this.regionY = new int[types.length];
+        this.packed = new boolean[types.length];
+
+        SpriteType[] order = spriteMap.keySet().toArray(new SpriteType[0]);
+        Arrays.sort(order, Comparator.comparingInt(SpriteType::getHeight).reversed());
+
+        int shelfX = PADDING;
+        int shelfY = PADDING;
+        int shelfHeight = 0;
+        for (SpriteType type : order) {
+            int width = type.getWidth() * PIXEL_SIZE;
+            int height = type.getHeight() * PIXEL_SIZE;
+            if (shelfX + width + PADDING > ATLAS_WIDTH) {
+                shelfX = PADDING;
+                shelfY += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            this.regionX[type.ordinal()] = shelfX;
+            this.regionY[type.ordinal()] = shelfY;
+            this.packed[type.ordinal()] = true;
+            shelfX += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        int atlasHeight = shelfY + shelfHeight + PADDING;
+
+        this.image = createImage(ATLAS_WIDTH, atlasHeight);
+        Graphics2D g = this.image.createGraphics();
+        g.setColor(Color.WHITE);
+        for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet()) {
+            int originX = this.regionX[sprite.getKey().ordinal()];
+            int originY = this.regionY[sprite.getKey().ordinal()];
+            boolean[][] pixels = sprite.getValue();
+            for (int i = 0; i < pixels.length; i++)
+                for (int j = 0; j < pixels[i].length; j++)
+                    if (pixels[i][j])
+                        g.fillRect(originX + i * PIXEL_SIZE, originY + j * PIXEL_SIZE,
+                                PIXEL_SIZE, PIXEL_SIZE);
+        }
+        g.dispose();
+    }
+
+    /**
+     * Creates a translucent image, compatible with the screen when there is
+     * one.
+     *
+     * @param width
+     *            Image width.
+     * @param height
+     *            Image height.
+     * @return New transparent image.
+     */
+    public static BufferedImage createImage(final int width, final int height) {
+        if (GraphicsEnvironment.isHeadless())
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Draws a sprite from the atlas in white, scaled to the given size.
+     *
+     * @param g
+     *            Graphics to draw on.
+     * @param type
+     *            Sprite type.
+     * @param positionX
+     *            Coordinates for the left side of the sprite.
+     * @param positionY
+     *            Coordinates for the upper side of the sprite.
+     * @param width
+     *            Width to draw the sprite at.
+     * @param height
+     *            Height to draw the sprite at.
+     */
+    public void draw(final Graphics g, final SpriteType type, final int positionX, final int positionY,
+                     final int width, final int height) {
+        int sourceX = this.regionX[type.ordinal()];
+        int sourceY = this.regionY[type.ordinal()];
+        g.drawImage(this.image, positionX, positionY, positionX + width, positionY + height,
+                sourceX, sourceY,
+                sourceX + type.getWidth() * PIXEL_SIZE, sourceY + type.getHeight() * PIXEL_SIZE, null);
+    }
+
+    /**
+     * Checks if a sprite was packed into the atlas.
+     *
+     * @param type
+     *            Sprite type.
+     * @return True if the atlas can draw the sprite.
+     */
+    public boolean contains(final SpriteType type) {
+        return this.packed[type.ordinal()];
+    }
+
+    /**
+     * Getter for the atlas image.
+     *
+     * @return Image holding every sprite.
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+}
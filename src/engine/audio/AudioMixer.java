@@ -0,0 +1,422 @@
+package engine.audio;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import engine.Core;
+
+/**
+ * Mixes sounds in software into one long-lived output line.
+ *
+ * Game code only queues commands, which never block; a dedicated audio thread
+ * takes every queued command before mixing each period, so the sounds
+ * started in one frame also start together. A fixed number of voices play at
+ * once: when all are busy, a new sound takes the voice of the lowest priority
+ * sound, the oldest one first, or is dropped if every playing sound matters
+ * more.
+ *
+ * Music plays apart from the voices, streamed by a {@link MusicStream} that
+ * one decoder thread fills. A new track fades in while the previous one fades
+ * out.
+ */
+public final class AudioMixer {
+
+    /** Frames mixed at a time, about 12 ms. */
+    private static final int PERIOD_FRAMES = 512;
+    /** Periods the output line buffers, the latency of a new sound. */
+    private static final int LINE_PERIODS = 4;
+    /** Fixed point unit of the gains used while mixing. */
+    private static final int GAIN_ONE = 1 << 16;
+
+    /** Logger of the audio category. */
+    private static final Logger LOGGER = Core.getLogger("audio");
+
+    /** Voices, playing or free. */
+    private final Voice[] voices;
+    /** Commands queued by the game, taken by the audio thread. */
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<Command>();
+    /** Gain applied to every voice, 0 to 1. */
+    private volatile float masterGain = 1f;
+
+    /** Output line, open while the mixer runs. */
+    private SourceDataLine line;
+    /** Mixes and writes to the line. */
+    private Thread thread;
+    /** Decodes the music streams, running with the audio thread. */
+    private MusicDecoder decoder;
+    /** If the audio thread keeps going. */
+    private volatile boolean running;
+    /** Order in which voices started, to steal the oldest. */
+    private long startSequence;
+
+    /** Sum of the voices for one period, audio thread only. */
+    private final int[] accumulator = new int[PERIOD_FRAMES * SoundBuffer.CHANNELS];
+    /** Music samples read for one period, audio thread only. */
+    private final short[] musicSamples = new short[PERIOD_FRAMES * SoundBuffer.CHANNELS];
+
+    /** Music playing or fading in, audio thread only. */
+    private final MusicSlot music = new MusicSlot();
+    /** Music fading out, audio thread only. */
+    private final MusicSlot fading = new MusicSlot();
+
+    /**
+     * Constructor.
+     *
+     * @param voiceCount
+     *            Most sounds playing at once.
+     */
+    public AudioMixer(final int voiceCount) {
+        this.voices = new Voice[voiceCount];
+        for (int i = 0; i < voiceCount; i++)
+            this.voices[i] = new Voice();
+    }
+
+    /**
+     * Opens the output line and starts the audio thread.
+     *
+     * @return False if no output line is available.
+     */
+    public synchronized boolean start() {
+        if (this.running)
+            return true;
+        try {
+            this.line = AudioSystem.getSourceDataLine(SoundBuffer.FORMAT);
+            this.line.open(SoundBuffer.FORMAT, PERIOD_FRAMES * LINE_PERIODS * SoundBuffer.FORMAT.getFrameSize());
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            LOGGER.warning("No audio output available: " + e.getMessage());
+            this.line = null;
+            return false;
+        }
+        this.running = true;
+        this.decoder = new MusicDecoder();
+        this.thread = new Thread(this::run, "audio-mixer");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+        return true;
+    }
+
+    /**
+     * Stops the audio thread and closes the output line.
+     */
+    public synchronized void close() {
+        if (!this.running)
+            return;
+        this.running = false;
+        try {
+            this.thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks if the mixer is running.
+     *
+     * @return True if the audio thread is playing.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Queues a sound to start on the next period.
+     *
+     * @param buffer
+     *            Sound to play.
+     * @param priority
+     *            Priority when stealing voices, higher is kept longer.
+     * @param gain
+     *            Gain of the sound, 0 to 1.
+     * @param loop
+     *            If the sound restarts until stopped.
+     */
+    public void play(final SoundBuffer buffer, final int priority, final float gain, final boolean loop) {
+        if (buffer != null && this.running)
+            this.commands.offer(new Command(Kind.PLAY, buffer, null, priority, gain, loop, 0));
+    }
+
+    /**
+     * Queues stopping every voice playing a sound.
+     *
+     * @param buffer
+     *            Sound to stop, null to stop every voice.
+     */
+    public void stop(final SoundBuffer buffer) {
+        if (this.running)
+            this.commands.offer(new Command(Kind.STOP, buffer, null, 0, 0f, false, 0));
+    }
+
+    /**
+     * Queues a change of music. The music playing fades out while the new
+     * one fades in; the mixer closes each stream when done with it.
+     *
+     * @param stream
+     *            Music to play, null to only fade out the current one.
+     * @param fadeFrames
+     *            Length of the fades, 0 to switch at once.
+     */
+    public void playMusic(final MusicStream stream, final int fadeFrames) {
+        if (this.running) {
+            if (stream != null)
+                this.decoder.add(stream);
+            this.commands.offer(new Command(Kind.MUSIC, null, stream, 0, 1f, false, fadeFrames));
+        } else if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Sets the gain applied to every voice, taken into account on the next
+     * period.
+     *
+     * @param gain
+     *            Gain, 0 to 1.
+     */
+    public void setMasterGain(final float gain) {
+        this.masterGain = Math.max(0f, Math.min(1f, gain));
+    }
+
+    /**
+     * Body of the audio thread.
+     */
+    private void run() {
+        byte[] out = new byte[PERIOD_FRAMES * SoundBuffer.FORMAT.getFrameSize()];
+        this.line.start();
+        try {
+            while (this.running) {
+                mix(out, PERIOD_FRAMES);
+                // Blocks until the line has room, which paces the thread.
+                this.line.write(out, 0, out.length);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warning("Audio thread stopped: " + e);
+            this.running = false;
+        } finally {
+            Command command;
+            while ((command = this.commands.poll()) != null) {
+                if (command.music != null)
+                    command.music.close();
+            }
+            this.music.release();
+            this.fading.release();
+            this.decoder.close();
+            this.line.stop();
+            this.line.close();
+            this.line = null;
+        }
+    }
+
+    /**
+     * Takes the queued commands, then mixes one period of the playing voices.
+     *
+     * @param out
+     *            Little endian 16 bit stereo output.
+     * @param frames
+     *            Frames to mix, at most PERIOD_FRAMES.
+     */
+    void mix(final byte[] out, final int frames) {
+        Command command;
+        while ((command = this.commands.poll()) != null)
+            apply(command);
+
+        int[] sum = this.accumulator;
+        int length = frames * SoundBuffer.CHANNELS;
+        Arrays.fill(sum, 0, length, 0);
+
+        int master = (int) (this.masterGain * GAIN_ONE);
+        for (Voice voice : this.voices) {
+            if (voice.buffer == null)
+                continue;
+            int gain = (int) ((long) voice.gain * master / GAIN_ONE);
+            short[] samples = voice.buffer.getSamples();
+            int i = 0;
+            while (i < length) {
+                if (voice.position >= samples.length) {
+                    if (!voice.loop || samples.length == 0) {
+                        voice.buffer = null;
+                        break;
+                    }
+                    voice.position = 0;
+                }
+                int count = Math.min(length - i, samples.length - voice.position);
+                for (int k = 0; k < count; k++)
+                    sum[i + k] += (samples[voice.position + k] * gain) >> 16;
+                i += count;
+                voice.position += count;
+            }
+        }
+
+        mixMusic(this.fading, sum, length);
+        mixMusic(this.music, sum, length);
+
+        for (int i = 0; i < length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+            out[i * 2] = (byte) sample;
+            out[i * 2 + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * Adds one period of a music slot to the sum, moving its fade along.
+     */
+    private void mixMusic(final MusicSlot slot, final int[] sum, final int length) {
+        if (slot.stream == null)
+            return;
+        int count = slot.stream.read(this.musicSamples, length);
+        float master = this.masterGain;
+        for (int i = 0; i < count; i += SoundBuffer.CHANNELS) {
+            float gain = slot.gain * master;
+            sum[i] += (int) (this.musicSamples[i] * gain);
+            sum[i + 1] += (int) (this.musicSamples[i + 1] * gain);
+            slot.gain = Math.max(0f, Math.min(1f, slot.gain + slot.step));
+        }
+        if (slot.stream.isFinished() || (slot.step < 0f && slot.gain == 0f))
+            slot.release();
+    }
+
+    /**
+     * Carries out one command, audio thread only.
+     */
+    private void apply(final Command command) {
+        if (command.kind == Kind.MUSIC) {
+            // Only one track fades out at a time, an older one stops at once.
+            this.fading.release();
+            if (command.fadeFrames > 0 && this.music.stream != null) {
+                this.fading.stream = this.music.stream;
+                this.fading.gain = this.music.gain;
+                this.fading.step = -1f / command.fadeFrames;
+            } else {
+                this.music.release();
+            }
+            this.music.stream = command.music;
+            this.music.gain = command.fadeFrames > 0 ? 0f : 1f;
+            this.music.step = command.fadeFrames > 0 ? 1f / command.fadeFrames : 0f;
+            return;
+        }
+        if (command.kind == Kind.STOP) {
+            for (Voice voice : this.voices) {
+                if (command.buffer == null || voice.buffer == command.buffer)
+                    voice.buffer = null;
+            }
+            return;
+        }
+
+        Voice target = null;
+        for (Voice voice : this.voices) {
+            if (voice.buffer == null) {
+                target = voice;
+                break;
+            }
+            if (target == null || voice.priority < target.priority
+                    || (voice.priority == target.priority && voice.started < target.started))
+                target = voice;
+        }
+        if (target.buffer != null) {
+            if (target.priority > command.priority) {
+                if (LOGGER.isLoggable(Level.FINE))
+                    LOGGER.log(Level.FINE, "Dropped sound {0}, every voice busy", command.buffer.getName());
+                return;
+            }
+            if (LOGGER.isLoggable(Level.FINE))
+                LOGGER.log(Level.FINE, "Sound {0} took the voice of {1}",
+                        new Object[] {command.buffer.getName(), target.buffer.getName()});
+        }
+
+        target.buffer = command.buffer;
+        target.position = 0;
+        target.priority = command.priority;
+        target.gain = (int) (Math.max(0f, Math.min(1f, command.gain)) * GAIN_ONE);
+        target.loop = command.loop;
+        target.started = this.startSequence++;
+    }
+
+    /**
+     * Sound being played, audio thread only.
+     */
+    private static final class Voice {
+        /** Sound played, null when the voice is free. */
+        private SoundBuffer buffer;
+        /** Next sample to mix. */
+        private int position;
+        /** Priority when stealing voices. */
+        private int priority;
+        /** Fixed point gain. */
+        private int gain;
+        /** If the sound restarts when it ends. */
+        private boolean loop;
+        /** Start order. */
+        private long started;
+    }
+
+    /**
+     * Music stream being played, audio thread only.
+     */
+    private static final class MusicSlot {
+        /** Music played, null when the slot is free. */
+        private MusicStream stream;
+        /** Current gain, 0 to 1. */
+        private float gain;
+        /** Change of the gain per frame, negative when fading out. */
+        private float step;
+
+        /**
+         * Closes the stream and frees the slot.
+         */
+        private void release() {
+            if (this.stream != null)
+                this.stream.close();
+            this.stream = null;
+        }
+    }
+
+    /**
+     * Kind of command.
+     */
+    private enum Kind {
+        /** Start a sound on a voice. */
+        PLAY,
+        /** Stop the voices playing a sound. */
+        STOP,
+        /** Change the music. */
+        MUSIC
+    }
+
+    /**
+     * Command queued by the game.
+     */
+    private static final class Command {
+        /** What to do. */
+        private final Kind kind;
+        /** Sound to play or stop. */
+        private final SoundBuffer buffer;
+        /** Music to play. */
+        private final MusicStream music;
+        /** Priority of the sound. */
+        private final int priority;
+        /** Gain of the sound. */
+        private final float gain;
+        /** If the sound loops. */
+        private final boolean loop;
+        /** Length of the music fades. */
+        private final int fadeFrames;
+
+        private Command(final Kind kind, final SoundBuffer buffer, final MusicStream music, final int priority,
+                final float gain, final boolean loop, final int fadeFrames) {
+            this.kind = kind;
+            this.buffer = buffer;
+            this.music = music;
+            this.priority = priority;
+            this.gain = gain;
+            this.loop = loop;
+            this.fadeFrames = fadeFrames;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package engine.audio;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One long-lived thread decoding every {@link MusicStream} the mixer plays,
+ * a chunk of each in turn, so a track fading out keeps playing while the
+ * next one fades in. Started with the mixer; adding a stream only queues it.
+ */
+final class MusicDecoder {
+
+    /** Pause of the thread when no stream has room to fill. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Streams queued by add(), taken by the decoder thread. */
+    private final Queue<MusicStream> added = new ConcurrentLinkedQueue<MusicStream>();
+    /** Streams being decoded, decoder thread only. */
+    private final List<MusicStream> active = new ArrayList<MusicStream>();
+    /** Decodes the streams. */
+    private final Thread thread;
+    /** If the decoder thread keeps going. */
+    private volatile boolean running = true;
+
+    /**
+     * Constructor, starts the decoder thread.
+     */
+    MusicDecoder() {
+        this.thread = new Thread(this::run, "music-decoder");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a stream to decode, never waits.
+     *
+     * @param stream
+     *            Music to decode until it ends or is closed.
+     */
+    void add(final MusicStream stream) {
+        this.added.offer(stream);
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Stops the decoder thread, which lets go of every stream.
+     */
+    void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Body of the decoder thread.
+     */
+    private void run() {
+        MusicStream stream;
+        while (this.running) {
+            while ((stream = this.added.poll()) != null)
+                this.active.add(stream);
+
+            boolean worked = false;
+            for (Iterator<MusicStream> it = this.active.iterator(); it.hasNext();) {
+                stream = it.next();
+                if (stream.decodeStep())
+                    worked = true;
+                if (stream.isEnded())
+                    it.remove();
+            }
+            if (!worked)
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+
+        for (MusicStream left : this.active)
+            left.finish();
+        this.active.clear();
+        while ((stream = this.added.poll()) != null)
+            stream.finish();
+    }
+}
@@ -0,0 +1,272 @@
+package engine.audio;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import engine.Core;
+
+/**
+ * Music decoded while it plays instead of held in memory.
+ *
+ * The mixer's {@link MusicDecoder} thread reads the resource a chunk at a
+ * time and keeps a small ring buffer ahead of the mixer, which only copies
+ * out of it. When a looped track ends, it is reopened and carries on filling
+ * the same ring, so the loop point has no gap. Creating a stream does no I/O
+ * and starts no thread.
+ */
+public final class MusicStream {
+
+    /** Frames of the ring buffer, about 0.37 s. */
+    private static final int RING_FRAMES = 16384;
+    /** Most source frames decoded at a time. */
+    private static final int CHUNK_FRAMES = 2048;
+
+    /** Logger of the audio category. */
+    private static final Logger LOGGER = Core.getLogger("audio");
+
+    /**
+     * Opens the resource a stream decodes, once per loop.
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Opens the resource from the start.
+         *
+         * @return New audio stream, null if the resource doesn't exist.
+         * @throws IOException
+         *             If the resource can't be read.
+         * @throws UnsupportedAudioFileException
+         *             If the resource is not audio.
+         */
+        AudioInputStream open() throws IOException, UnsupportedAudioFileException;
+    }
+
+    /** Name of the music, for logging. */
+    private final String name;
+    /** Resource decoded. */
+    private final Source source;
+    /** If the track restarts when it ends. */
+    private final boolean loop;
+
+    /** Decoded stereo samples, indexed by position & mask. */
+    private final short[] ring = new short[RING_FRAMES * SoundBuffer.CHANNELS];
+    /** Sample count of the ring minus one. */
+    private final int mask = ring.length - 1;
+    /** Samples written so far, only advanced by the decoder. */
+    private volatile long written;
+    /** Samples read so far, only advanced by the mixer. */
+    private volatile long read;
+
+    /** If the decoder reached the end for good. */
+    private volatile boolean ended;
+    /** If the stream was closed. */
+    private volatile boolean closed;
+
+    /** Pass of the track being decoded, null between passes. Decoder only. */
+    private AudioInputStream current;
+    /** Converts to the mixer's format, kept across loops for a seamless join. */
+    private PcmConverter converter;
+    /** Source bytes of one chunk. */
+    private byte[] bytes;
+    /** Samples of the last chunk, copied to the ring as it has room. */
+    private short[] converted;
+    /** Samples of converted already copied, and in total. */
+    private int pending;
+    private int pendingLength;
+    /** If the track is on its first pass, and if this pass gave any frame. */
+    private boolean first = true;
+    private boolean any;
+
+    /**
+     * Constructor. Decoding starts once the mixer plays the stream.
+     *
+     * @param name
+     *            Name of the music.
+     * @param source
+     *            Resource to decode.
+     * @param loop
+     *            If the track restarts until the stream is closed.
+     */
+    public MusicStream(final String name, final Source source, final boolean loop) {
+        this.name = name;
+        this.source = source;
+        this.loop = loop;
+    }
+
+    /**
+     * Getter for the name of the music.
+     *
+     * @return Name of the music.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Copies decoded samples out of the ring, never waits. Mixer thread only.
+     *
+     * @param out
+     *            Interleaved stereo output.
+     * @param length
+     *            Most samples to copy.
+     * @return Samples copied, fewer than length if the decoder is behind.
+     */
+    int read(final short[] out, final int length) {
+        long from = this.read;
+        int count = (int) Math.min(length, this.written - from);
+        for (int i = 0; i < count; i++)
+            out[i] = this.ring[(int) (from + i) & this.mask];
+        this.read = from + count;
+        return count;
+    }
+
+    /**
+     * Checks if every sample was played and no more will come.
+     *
+     * @return True once a track that doesn't loop, or failed to open, is
+     *         over.
+     */
+    boolean isFinished() {
+        return this.ended && this.read == this.written;
+    }
+
+    /**
+     * Stops decoding. The mixer keeps no reference after closing.
+     */
+    public void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Checks if the decoder is done with the stream.
+     *
+     * @return True once nothing more will be decoded.
+     */
+    boolean isEnded() {
+        return this.ended;
+    }
+
+    /**
+     * Decodes one chunk, or copies the rest of the last one, if the ring has
+     * room. Decoder thread only.
+     *
+     * @return True if any work was done.
+     */
+    boolean decodeStep() {
+        if (this.ended)
+            return false;
+        if (this.closed) {
+            finish();
+            return false;
+        }
+        try {
+            if (this.pending < this.pendingLength)
+                return flush();
+            if (this.current == null && !open()) {
+                finish();
+                return false;
+            }
+
+            int frameSize = this.converter.getFrameSize();
+            int length = readFully(this.current, this.bytes);
+            if (length < frameSize) {
+                closeCurrent();
+                // An empty pass would reopen forever.
+                if (!this.loop || !this.any)
+                    finish();
+                this.first = false;
+                return true;
+            }
+            this.any = true;
+            this.pendingLength = this.converter.convert(this.bytes, length - length % frameSize, this.converted, 0);
+            this.pending = 0;
+            flush();
+            return true;
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            LOGGER.warning("Music stopped decoding: " + this.name + " (" + e.getMessage() + ")");
+            finish();
+            return false;
+        }
+    }
+
+    /**
+     * Stops decoding for good and lets go of the resource. Decoder thread
+     * only.
+     */
+    void finish() {
+        closeCurrent();
+        this.ended = true;
+    }
+
+    /**
+     * Opens the next pass of the track.
+     *
+     * @return False if the resource doesn't exist.
+     */
+    private boolean open() throws IOException, UnsupportedAudioFileException {
+        AudioInputStream opened = this.source.open();
+        if (opened == null) {
+            if (this.first)
+                LOGGER.warning("Music not found: " + this.name);
+            return false;
+        }
+        this.current = PcmConverter.toPcm16(opened);
+        if (this.converter == null) {
+            this.converter = new PcmConverter(this.current.getFormat());
+            int chunkFrames = Math.min(CHUNK_FRAMES, this.converter.maxInput(this.ring.length / 2));
+            this.bytes = new byte[chunkFrames * this.converter.getFrameSize()];
+            this.converted = new short[this.converter.maxOutput(chunkFrames)];
+        }
+        this.any = false;
+        return true;
+    }
+
+    /**
+     * Copies as much of the last chunk as the ring has room for.
+     *
+     * @return True if any sample was copied.
+     */
+    private boolean flush() {
+        long to = this.written;
+        int room = (int) (this.ring.length - (to - this.read));
+        int count = Math.min(room, this.pendingLength - this.pending);
+        for (int i = 0; i < count; i++)
+            this.ring[(int) (to + i) & this.mask] = this.converted[this.pending + i];
+        this.pending += count;
+        this.written = to + count;
+        return count > 0;
+    }
+
+    /**
+     * Closes the pass being decoded, if any.
+     */
+    private void closeCurrent() {
+        if (this.current == null)
+            return;
+        try {
+            this.current.close();
+        } catch (IOException e) {
+            LOGGER.fine("Closing music failed: " + this.name + " (" + e.getMessage() + ")");
+        }
+        this.current = null;
+    }
+
+    /**
+     * Reads until the buffer is full or the stream ends.
+     *
+     * @return Bytes read.
+     */
+    private static int readFully(final AudioInputStream stream, final byte[] bytes) throws IOException {
+        int total = 0;
+        while (total < bytes.length) {
+            int count = stream.read(bytes, total, bytes.length - total);
+            if (count <= 0)
+                break;
+            total += count;
+        }
+        return total;
+    }
+}
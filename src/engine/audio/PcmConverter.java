@@ -0,0 +1,144 @@
+package engine.audio;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * Converts 16 bit little endian PCM of any channel count and sample rate to
+ * the mixer's stereo samples, one chunk at a time. Resampling is linear and
+ * keeps its position between chunks, so a stream converted in pieces sounds
+ * the same as one converted whole.
+ */
+final class PcmConverter {
+
+    /** Channels of the source. */
+    private final int channels;
+    /** Source frames per output frame. */
+    private final double step;
+    /** If the source is already at the mixer's rate. */
+    private final boolean passthrough;
+
+    /** Last source frame read, the left end of the interpolation. */
+    private int previousLeft;
+    private int previousRight;
+    /** If a source frame was read yet. */
+    private boolean primed;
+    /** Position of the next output frame after the previous source frame. */
+    private double position;
+
+    /**
+     * Constructor.
+     *
+     * @param format
+     *            Format of the source, as given by {@link #toPcm16}.
+     */
+    PcmConverter(final AudioFormat format) {
+        this.channels = format.getChannels();
+        float rate = format.getSampleRate();
+        this.passthrough = rate == SoundBuffer.SAMPLE_RATE || rate <= 0;
+        this.step = this.passthrough ? 1.0 : rate / SoundBuffer.SAMPLE_RATE;
+    }
+
+    /**
+     * Opens a conversion of a stream to 16 bit signed little endian samples,
+     * keeping its channels and sample rate.
+     *
+     * @param source
+     *            Stream to convert.
+     * @return The stream itself if it is in that format already.
+     * @throws IOException
+     *             If the Java sound system can't convert the stream.
+     */
+    static AudioInputStream toPcm16(final AudioInputStream source) throws IOException {
+        AudioFormat format = source.getFormat();
+        int channels = format.getChannels();
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                channels, channels * 2, format.getSampleRate(), false);
+        if (format.matches(pcm))
+            return source;
+        if (!AudioSystem.isConversionSupported(pcm, format))
+            throw new IOException("Unsupported audio format " + format);
+        return AudioSystem.getAudioInputStream(pcm, source);
+    }
+
+    /**
+     * Getter for the bytes of one source frame.
+     *
+     * @return Frame size of the source.
+     */
+    int getFrameSize() {
+        return this.channels * 2;
+    }
+
+    /**
+     * Most samples convert() writes for a number of source frames.
+     *
+     * @param frames
+     *            Source frames.
+     * @return Output samples, both channels.
+     */
+    int maxOutput(final int frames) {
+        return ((int) Math.ceil(frames / this.step) + 1) * SoundBuffer.CHANNELS;
+    }
+
+    /**
+     * Most source frames whose output fits a number of samples.
+     *
+     * @param samples
+     *            Room for output samples, both channels.
+     * @return Source frames, at least one.
+     */
+    int maxInput(final int samples) {
+        return Math.max(1, (int) ((samples / SoundBuffer.CHANNELS - 1) * this.step) - 1);
+    }
+
+    /**
+     * Converts whole source frames.
+     *
+     * @param in
+     *            16 bit little endian source frames.
+     * @param length
+     *            Bytes to convert, a multiple of the frame size.
+     * @param out
+     *            Interleaved stereo output.
+     * @param offset
+     *            First output sample to write, with room for
+     *            maxOutput(frames) samples after it.
+     * @return Number of samples written.
+     */
+    int convert(final byte[] in, final int length, final short[] out, final int offset) {
+        int frameSize = getFrameSize();
+        int written = offset;
+        for (int i = 0; i + frameSize <= length; i += frameSize) {
+            int left = (short) ((in[i] & 0xFF) | (in[i + 1] << 8));
+            int right = left;
+            if (this.channels > 1)
+                right = (short) ((in[i + 2] & 0xFF) | (in[i + 3] << 8));
+
+            if (this.passthrough) {
+                out[written++] = (short) left;
+                out[written++] = (short) right;
+                continue;
+            }
+            if (!this.primed) {
+                this.previousLeft = left;
+                this.previousRight = right;
+                this.primed = true;
+                continue;
+            }
+            // Output frames falling between the previous frame and this one.
+            while (this.position < 1.0) {
+                out[written++] = (short) Math.round(this.previousLeft + (left - this.previousLeft) * this.position);
+                out[written++] = (short) Math.round(this.previousRight + (right - this.previousRight) * this.position);
+                this.position += this.step;
+            }
+            this.position -= 1.0;
+            this.previousLeft = left;
+            this.previousRight = right;
+        }
+        return written - offset;
+    }
+}
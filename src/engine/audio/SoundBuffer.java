@@ -0,0 +1,98 @@
+package engine.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+/**
+ * Decoded sound kept in memory in the mixer's format: 16 bit signed samples,
+ * two interleaved channels at the mixer's sample rate.
+ */
+public final class SoundBuffer {
+
+    /** Sample rate of every buffer and of the mixer output. */
+    public static final float SAMPLE_RATE = 44100f;
+    /** Channels of every buffer and of the mixer output. */
+    public static final int CHANNELS = 2;
+    /** Format of every buffer and of the mixer output. */
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    /** Name of the sound, for logging. */
+    private final String name;
+    /** Interleaved samples, left then right. */
+    private final short[] samples;
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            Name of the sound.
+     * @param samples
+     *            Interleaved stereo samples at SAMPLE_RATE.
+     */
+    public SoundBuffer(final String name, final short[] samples) {
+        this.name = name;
+        this.samples = samples;
+    }
+
+    /**
+     * Decodes a whole audio stream, converting and resampling it to the
+     * mixer's format. Files with any PCM layout the Java sound system reads
+     * are accepted; 8 bit and unsigned samples, mono and other sample rates
+     * are converted here so mixing needs no format checks.
+     *
+     * @param name
+     *            Name of the sound.
+     * @param source
+     *            Stream to decode, read to the end but not closed.
+     * @return Decoded sound.
+     * @throws IOException
+     *             If the stream can't be read or converted.
+     */
+    public static SoundBuffer decode(final String name, final AudioInputStream source) throws IOException {
+        AudioInputStream stream = PcmConverter.toPcm16(source);
+        PcmConverter converter = new PcmConverter(stream.getFormat());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = stream.read(chunk)) > 0)
+            bytes.write(chunk, 0, read);
+        byte[] data = bytes.toByteArray();
+
+        int frames = data.length / converter.getFrameSize();
+        short[] samples = new short[converter.maxOutput(frames)];
+        int length = converter.convert(data, frames * converter.getFrameSize(), samples, 0);
+        return new SoundBuffer(name, Arrays.copyOf(samples, length));
+    }
+
+    /**
+     * Getter for the name of the sound.
+     *
+     * @return Name of the sound.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Getter for the samples, shared and never to be modified.
+     *
+     * @return Interleaved stereo samples.
+     */
+    short[] getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Getter for the length of the sound in frames.
+     *
+     * @return Number of stereo frames.
+     */
+    public int getFrames() {
+        return this.samples.length / CHANNELS;
+    }
+}
@@ -0,0 +1,23 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading of sprites, a font or a sound by the asset manager.
+ */
+@Name("invaders.AssetLoad")
+@Label("Asset Load")
+@Category({"Invaders", "I/O"})
+@Description("Asset read from resources")
+public final class AssetLoadEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Resource")
+    public String resource;
+}
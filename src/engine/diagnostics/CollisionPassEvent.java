@@ -0,0 +1,30 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One collision pass of the game screen: registering the ships and querying
+ * every bullet against them.
+ */
+@Name("invaders.CollisionPass")
+@Label("Collision Pass")
+@Category({"Invaders", "Gameplay"})
+@Description("Bullet collision checking of one tick")
+@StackTrace(false)
+public final class CollisionPassEvent extends Event {
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Hits")
+    @Description("Bullets that hit something and were removed")
+    public int hits;
+}
@@ -0,0 +1,27 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A game data file read or written by the file manager.
+ */
+@Name("invaders.FileIO")
+@Label("Game Data I/O")
+@Category({"Invaders", "I/O"})
+@Description("Load or save of a game data file")
+public final class FileIoEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Records")
+    @Description("Lines read or written")
+    public int records;
+}
@@ -0,0 +1,66 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One game tick, with the time spent in each of its phases. Spans the whole
+ * tick, so it lines up with GC and I/O events in the same recording.
+ */
+@Name("invaders.Frame")
+@Label("Frame")
+@Category({"Invaders", "Gameplay"})
+@Description("Game tick with per-phase durations")
+@StackTrace(false)
+public final class FrameEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Input")
+    @Timespan(Timespan.NANOSECONDS)
+    public long input;
+
+    @Label("Movement")
+    @Timespan(Timespan.NANOSECONDS)
+    public long movement;
+
+    @Label("Formation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long formation;
+
+    @Label("Collisions")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisions;
+
+    @Label("Bullets")
+    @Timespan(Timespan.NANOSECONDS)
+    public long bullets;
+
+    @Label("Items")
+    @Timespan(Timespan.NANOSECONDS)
+    public long items;
+
+    @Label("Effects")
+    @Timespan(Timespan.NANOSECONDS)
+    public long effects;
+
+    @Label("Last Draw")
+    @Description("Time the render thread took for its last frame")
+    @Timespan(Timespan.NANOSECONDS)
+    public long draw;
+
+    @Label("Enemy Count")
+    public int enemyCount;
+
+    @Label("Bullet Count")
+    public int bulletCount;
+
+    @Label("Item Count")
+    public int itemCount;
+}
@@ -0,0 +1,27 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A pool that had nothing free and had to allocate.
+ */
+@Name("invaders.PoolMiss")
+@Label("Pool Miss")
+@Category({"Invaders", "Memory"})
+@Description("Pool acquisition that allocated a new object")
+public final class PoolMissEvent extends Event {
+
+    @Label("Pool")
+    public String pool;
+
+    @Label("Outstanding")
+    @Description("Objects in use, the new one included")
+    public int outstanding;
+
+    @Label("Capacity")
+    public int capacity;
+}
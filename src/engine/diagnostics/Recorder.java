@@ -0,0 +1,28 @@
+package engine.diagnostics;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Checks if the flight recorder is running before any event is created.
+ * The first event object sets the flight recorder up, which takes the better
+ * part of a second, so event code stays untouched until a recording exists,
+ * whether started from the command line or later with jcmd.
+ */
+public final class Recorder {
+
+    /**
+     * Constructor, not called.
+     */
+    private Recorder() {
+
+    }
+
+    /**
+     * Checks if events can be recorded.
+     *
+     * @return True once the flight recorder has been started.
+     */
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+}
@@ -0,0 +1,25 @@
+package engine.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A one-shot sound started by the sound manager, spanning the time the
+ * caller was held up starting it.
+ */
+@Name("invaders.SoundPlay")
+@Label("Sound Play")
+@Category({"Invaders", "Audio"})
+@Description("One-shot sound effect started")
+public final class SoundPlayEvent extends Event {
+
+    @Label("Sound")
+    public String sound;
+
+    @Label("Played")
+    @Description("False if the sound was missing or could not start")
+    public boolean played;
+}
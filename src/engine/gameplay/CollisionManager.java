@@ -1,4 +1,259 @@
 package engine.gameplay;
 
-public class CollisionManager {
+import java.util.Arrays;
+
+import entity.Entity;
+import entity.Entity.Team;
+
+/**
+ * Finds colliding entities with a uniform grid. Targets are registered into
+ * every cell their bounds touch, then each moving entity only tests the
+ * targets sharing its cells, so the cost follows how crowded the area around
+ * it is rather than how many entities exist.
+ *
+ * Every target is on a collision layer derived from its team; queries name
+ * the layers they are interested in.
+ */
+public final class CollisionManager {
+
+    /** Layer of both players' entities. */
+    public static final int LAYER_PLAYER = 1;
+    /** Layer of enemy entities. */
+    public static final int LAYER_ENEMY = 1 << 1;
+    /** Layer of entities belonging to no one. */
+    public static final int LAYER_NEUTRAL = 1 << 2;
+
+    /** Side of a grid cell, a bit bigger than an enemy ship. */
+    private static final int CELL_SIZE = 32;
+    /** Initial number of registered targets, grows when needed. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Narrow-phase callback, called for each pair whose bounds overlap.
+     */
+    public interface CollisionHandler {
+        /**
+         * Handles a collision.
+         *
+         * @param source
+         *            Entity the query was made for.
+         * @param target
+         *            Registered entity it overlaps.
+         * @return True to stop looking for more targets for this source.
+         */
+        boolean onCollision(Entity source, Entity target);
+    }
+
+    /** Number of grid columns. */
+    private final int columns;
+    /** Number of grid rows. */
+    private final int rows;
+    /** First entry of each cell, -1 if empty. */
+    private final int[] cellHead;
+
+    /** Registered targets. */
+    private Entity[] bodies = new Entity[INITIAL_CAPACITY];
+    /** Layer of each registered target. */
+    private int[] bodyLayers = new int[INITIAL_CAPACITY];
+    /** Last query that tested each target, avoids testing it twice. */
+    private int[] bodyStamps = new int[INITIAL_CAPACITY];
+    /** Number of registered targets. */
+    private int bodyCount;
+
+    /** Target of each cell entry. */
+    private int[] entryBodies = new int[INITIAL_CAPACITY * 2];
+    /** Next entry in the same cell, -1 at the end. */
+    private int[] entryNext = new int[INITIAL_CAPACITY * 2];
+    /** Number of cell entries. */
+    private int entryCount;
+
+    /** Number of the current query. */
+    private int stamp;
+
+    /**
+     * Constructor, sizes the grid to the play area.
+     *
+     * @param width
+     *            Width of the play area.
+     * @param height
+     *            Height of the play area.
+     */
+    public CollisionManager(final int width, final int height) {
+        this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+        this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+        this.cellHead = new int[this.columns * this.rows];
+        clear();
+    }
+
+    /**
+     * Gets the collision layer of a team.
+     *
+     * @param team
+     *            Entity team.
+     * @return Collision layer bit.
+     */
+    public static int layerOf(final Team team) {
+        switch (team) {
+            case PLAYER1:
+            case PLAYER2:
+                return LAYER_PLAYER;
+            case ENEMY:
+                return LAYER_ENEMY;
+            default:
+                return LAYER_NEUTRAL;
+        }
+    }
+
+    /**
+     * Gets the layers a team's attacks can hit.
+     *
+     * @param team
+     *            Attacking team.
+     * @return Collision layer bits of its opponents.
+     */
+    public static int hostileLayers(final Team team) {
+        switch (team) {
+            case PLAYER1:
+            case PLAYER2:
+                return LAYER_ENEMY;
+            case ENEMY:
+                return LAYER_PLAYER;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Removes every registered target, call before registering the targets of
+     * a new tick.
+     */
+    public void clear() {
+        Arrays.fill(this.cellHead, -1);
+        Arrays.fill(this.bodies, 0, this.bodyCount, null);
+        this.bodyCount = 0;
+        this.entryCount = 0;
+    }
+
+    /**
+     * Registers a target at its current position, on its team's layer.
+     *
+     * @param entity
+     *            Target to register.
+     */
+    public void register(final Entity entity) {
+        if (this.bodyCount == this.bodies.length) {
+            int capacity = this.bodies.length * 2;
+            this.bodies = Arrays.copyOf(this.bodies, capacity);
+            this.bodyLayers = Arrays.copyOf(this.bodyLayers, capacity);
+            this.bodyStamps = Arrays.copyOf(this.bodyStamps, capacity);
+        }
+        int body = this.bodyCount++;
+        this.bodies[body] = entity;
+        this.bodyLayers[body] = layerOf(entity.getTeam());
+        this.bodyStamps[body] = this.stamp;
+
+        int fromColumn = column(entity.getPositionX());
+        int toColumn = column(entity.getPositionX() + Math.max(0, entity.getWidth() - 1));
+        int fromRow = row(entity.getPositionY());
+        int toRow = row(entity.getPositionY() + Math.max(0, entity.getHeight() - 1));
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                if (this.entryCount == this.entryBodies.length) {
+                    int capacity = this.entryBodies.length * 2;
+                    this.entryBodies = Arrays.copyOf(this.entryBodies, capacity);
+                    this.entryNext = Arrays.copyOf(this.entryNext, capacity);
+                }
+                int cell = r * this.columns + c;
+                int entry = this.entryCount++;
+                this.entryBodies[entry] = body;
+                this.entryNext[entry] = this.cellHead[cell];
+                this.cellHead[cell] = entry;
+            }
+        }
+    }
+
+    /**
+     * Calls the handler for every registered target on the given layers that
+     * collides with the source, until the handler asks to stop.
+     *
+     * @param source
+     *            Entity to test, usually a bullet or an item.
+     * @param layers
+     *            Collision layer bits of the targets to test.
+     * @param handler
+     *            Narrow-phase callback.
+     * @return True if the handler stopped the query.
+     */
+    public boolean query(final Entity source, final int layers, final CollisionHandler handler) {
+        if (layers == 0)
+            return false;
+        int current = ++this.stamp;
+
+        int fromColumn = column(source.getPositionX());
+        int toColumn = column(source.getPositionX() + Math.max(0, source.getWidth() - 1));
+        int fromRow = row(source.getPositionY());
+        int toRow = row(source.getPositionY() + Math.max(0, source.getHeight() - 1));
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                for (int entry = this.cellHead[r * this.columns + c]; entry != -1; entry = this.entryNext[entry]) {
+                    int body = this.entryBodies[entry];
+                    if (this.bodyStamps[body] == current || (this.bodyLayers[body] & layers) == 0)
+                        continue;
+                    this.bodyStamps[body] = current;
+
+                    Entity target = this.bodies[body];
+                    if (target != source && overlaps(source, target)
+                            && handler.onCollision(source, target))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if two entities are colliding.
+     *
+     * @param a
+     *            First entity, the bullet.
+     * @param b
+     *            Second entity, the ship.
+     * @return Result of the collision test.
+     */
+    public static boolean overlaps(final Entity a, final Entity b) {
+        int centerAX = a.getPositionX() + a.getWidth() / 2;
+        int centerAY = a.getPositionY() + a.getHeight() / 2;
+        int centerBX = b.getPositionX() + b.getWidth() / 2;
+        int centerBY = b.getPositionY() + b.getHeight() / 2;
+        int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
+        int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
+        int distanceX = Math.abs(centerAX - centerBX);
+        int distanceY = Math.abs(centerAY - centerBY);
+        return distanceX < maxDistanceX && distanceY < maxDistanceY;
+    }
+
+    /**
+     * Getter for the number of registered targets.
+     *
+     * @return Registered target count.
+     */
+    public int getBodyCount() {
+        return this.bodyCount;
+    }
+
+    /**
+     * Gets the grid column of a position, entities off the play area share
+     * the border cells.
+     */
+    private int column(final int positionX) {
+        return Math.max(0, Math.min(this.columns - 1, Math.floorDiv(positionX, CELL_SIZE)));
+    }
+
+    /**
+     * Gets the grid row of a position, entities off the play area share the
+     * border cells.
+     */
+    private int row(final int positionY) {
+        return Math.max(0, Math.min(this.rows - 1, Math.floorDiv(positionY, CELL_SIZE)));
+    }
 }
@@ -1,8 +1,11 @@
 package engine.gameplay.item;
 
+import engine.AssetPack;
 import engine.Core;
+import engine.gameplay.item.ItemManager.DropTier;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -12,19 +15,60 @@ import java.util.logging.Logger;
  *
  * Supports both legacy CSV format (5 columns) and new format with cost (6 columns):
  * type,spriteType,dropTier,effectValue,effectDuration[,cost]
+ *
+ * The file is read once; the registry is immutable afterwards and shared by
+ * every user through getInstance().
  */
-public class ItemDB {
+public final class ItemDB {
     /** Path to the item database CSV file. */
-    private static final String FILE_PATH = "res/item_db.csv";
+    private static final String FILE_PATH = "res/game_data/item_db.csv";
+    /** Same file on the classpath, used when FILE_PATH doesn't exist. */
+    private static final String RESOURCE_PATH = "game_data/item_db.csv";
+
+    /** Shared registry, created on first use. */
+    private static volatile ItemDB instance;
+
     /** Map of item type name to its corresponding ItemData. */
-    private final Map<String, ItemData> itemMap = new HashMap<>();
+    private final Map<String, ItemData> itemMap;
+    /** Items of each drop tier, indexed by tier ordinal. */
+    private final List<List<ItemData>> tierItems;
 
     /**
      * Constructor.
      * Automatically loads the CSV file into memory.
      */
-    public ItemDB() {
-        loadItemDB();
+    private ItemDB() {
+        Map<String, ItemData> items = new LinkedHashMap<>();
+        loadItemDB(items);
+        this.itemMap = Collections.unmodifiableMap(items);
+
+        List<List<ItemData>> tiers = new ArrayList<>();
+        for (DropTier tier : DropTier.values()) {
+            List<ItemData> inTier = new ArrayList<>();
+            for (ItemData data : items.values()) {
+                if (data.getTier() == tier)
+                    inTier.add(data);
+            }
+            tiers.add(List.copyOf(inTier));
+        }
+        this.tierItems = List.copyOf(tiers);
+    }
+
+    /**
+     * Returns the shared registry, loading the CSV file on first call.
+     *
+     * @return Item registry.
+     */
+    public static ItemDB getInstance() {
+        ItemDB db = instance;
+        if (db == null) {
+            synchronized (ItemDB.class) {
+                db = instance;
+                if (db == null)
+                    instance = db = new ItemDB();
+            }
+        }
+        return db;
     }
 
     /**
@@ -32,11 +76,13 @@ public class ItemDB {
      * The CSV format is expected as:
      * type, spriteType, dropTier, effectValue, effectDuration, cost
      *
+     * @param itemMap
+     *            Map filled with the items read.
      */
-    private void loadItemDB() {
+    private static void loadItemDB(final Map<String, ItemData> itemMap) {
         Logger logger = Core.getLogger();
 
-        try (BufferedReader br = new BufferedReader(new FileReader(FILE_PATH))) {
+        try (BufferedReader br = openItemDB()) {
             String line;
             boolean header = true;
 
@@ -99,6 +145,24 @@ public class ItemDB {
         }
     }
 
+    /**
+     * Opens the CSV file, from the asset pack, the working directory or else
+     * the classpath.
+     */
+    private static BufferedReader openItemDB() throws FileNotFoundException {
+        AssetPack pack = AssetPack.getInstance();
+        InputStream packed = pack != null ? pack.openStream(RESOURCE_PATH) : null;
+        if (packed != null)
+            return new BufferedReader(new InputStreamReader(packed, StandardCharsets.UTF_8));
+        File file = new File(FILE_PATH);
+        if (file.isFile())
+            return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+        InputStream in = ItemDB.class.getClassLoader().getResourceAsStream(RESOURCE_PATH);
+        if (in == null)
+            throw new FileNotFoundException("not in working directory or classpath");
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
     /**
      * Return the ItemData object for the given item type.
      *
@@ -118,4 +182,15 @@ public class ItemDB {
     public Collection<ItemData> getAllItems() {
         return itemMap.values();
     }
+
+    /**
+     * Return the items dropped in a tier, without copying.
+     *
+     * @param tier
+     *            drop tier.
+     * @return Unmodifiable list of the items in the tier.
+     */
+    public List<ItemData> getItems(final DropTier tier) {
+        return tierItems.get(tier.ordinal());
+    }
 }
@@ -1,26 +1,47 @@
 package engine.gameplay.item;
 
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import engine.AssetManager.SpriteType;
+import engine.Core;
+import engine.GameState;
+import engine.gameplay.item.ItemManager.DropTier;
+
 /**
  * Represents the data for an item, including its type, sprite, tier, effect value, and duration.
+ *
+ * Immutable. The sprite, tier and effect named in the CSV are resolved once
+ * when the data is created, so spawning and picking up items compares no
+ * strings.
  */
-public class ItemData {
+public final class ItemData {
     /** Unique identifier for the item (e.g. "COIN", "HEAL", "SCORE"). */
-    private String type;
+    private final String type;
 
     /** sprite type (e.g. "ItemScore", "ItemHeal"). */
-    private String spriteType;
+    private final String spriteType;
 
     /** rarity tier (e.g. "COMMON", "UNCOMMON", "RARE"). */
-    private String dropTier;
+    private final String dropTier;
 
     /** numerical value of the item effect (e.g. heal amount, score amount). */
-    private int effectValue;
+    private final int effectValue;
 
     /** duration that the effect remains active. */
-    private int effectDuration;
+    private final int effectDuration;
 
     /** cost in coins required to activate this item on pickup (0 = free). */
-    private int cost;
+    private final int cost;
+
+    /** Sprite drawn for the item, ItemScore if the name is unknown. */
+    private final SpriteType sprite;
+
+    /** Tier the item drops in, NONE if the name is unknown. */
+    private final DropTier tier;
+
+    /** Effect given on pickup, null if the type has none. */
+    private final ItemEffect.Handler effect;
 
     /**
      * Constructs an ItemData object.
@@ -49,6 +70,13 @@ public class ItemData {
         this.effectDuration = effectDuration;
         // 0 = free
         this.cost = Math.max(0, cost);
+
+        Logger logger = Core.getLogger("items");
+        this.sprite = resolveSprite(spriteType, logger);
+        this.tier = resolveTier(dropTier, logger);
+        this.effect = ItemEffect.handlerFor(type);
+        if (this.effect == null)
+            logger.warning("[ItemData]: No ItemEffect for type " + type);
     }
     /**
      * default constructor (no cost) — sets cost to 0.
@@ -93,4 +121,56 @@ public class ItemData {
 
     // Getter for item cost
     public int getCost() { return cost; }
+
+    /**
+     * Getter for the resolved sprite of the item.
+     *
+     * @return sprite type.
+     */
+    public SpriteType getSprite() { return sprite; }
+
+    /**
+     * Getter for the resolved drop tier.
+     *
+     * @return drop tier.
+     */
+    public DropTier getTier() { return tier; }
+
+    /**
+     * Applies the effect of the item to a player.
+     *
+     * @param gameState
+     *            current game state instance.
+     * @param playerId
+     *            ID of the player to apply the effect to.
+     * @return False if the item has no effect or the player couldn't afford it.
+     */
+    public boolean applyEffect(final GameState gameState, final int playerId) {
+        return effect != null && effect.apply(gameState, playerId, this);
+    }
+
+    /**
+     * Checks if the item type has an effect.
+     *
+     * @return True if picking the item up can do something.
+     */
+    public boolean hasEffect() { return effect != null; }
+
+    private static SpriteType resolveSprite(final String name, final Logger logger) {
+        try {
+            return SpriteType.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warning("[ItemData]: Unknown sprite type in ItemDB: " + name + ", using default.");
+            return SpriteType.ItemScore;
+        }
+    }
+
+    private static DropTier resolveTier(final String name, final Logger logger) {
+        try {
+            return DropTier.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warning("[ItemData]: Unknown drop tier in ItemDB: " + name + ", item won't drop.");
+            return DropTier.NONE;
+        }
+    }
 }
@@ -15,6 +15,25 @@ public class ItemEffect {
         BULLETSPEEDUP
     }
 
+    /**
+     * Effect of an item type, applied on pickup.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Applies the effect to a player.
+         *
+         * @param gameState
+         *            current game state instance.
+         * @param playerId
+         *            ID of the player to apply the effect to.
+         * @param data
+         *            data of the item picked up.
+         * @return False if the player couldn't afford the item.
+         */
+        boolean apply(GameState gameState, int playerId, ItemData data);
+    }
+
     /*
      * When a player picks up a duration item,
      * attempt to spend the corresponding amount of coins. If the
@@ -24,6 +43,46 @@ public class ItemEffect {
     private static final int COST_SCOREBOOST = 0;
     private static final int COST_BULLETSPEEDUP = 75;
 
+    /**
+     * Returns the effect of an item type, looked up once when the item data
+     * is loaded.
+     *
+     * @param type
+     *            type of the item.
+     * @return Effect of the type, null if it has none.
+     */
+    public static Handler handlerFor(final String type) {
+        if (type == null) return null;
+        switch (type) {
+            case "COIN":
+                return (gameState, playerId, data) -> {
+                    applyCoinItem(gameState, playerId, data.getEffectValue());
+                    return true;
+                };
+            case "HEAL":
+                return (gameState, playerId, data) -> {
+                    applyHealItem(gameState, playerId, data.getEffectValue());
+                    return true;
+                };
+            case "SCORE":
+                return (gameState, playerId, data) -> {
+                    applyScoreItem(gameState, playerId, data.getEffectValue());
+                    return true;
+                };
+            case "TRIPLESHOT":
+                return (gameState, playerId, data) -> applyTripleShot(gameState, playerId,
+                        data.getEffectValue(), data.getEffectDuration(), data.getCost());
+            case "SCOREBOOST":
+                return (gameState, playerId, data) -> applyScoreBoost(gameState, playerId,
+                        data.getEffectValue(), data.getEffectDuration(), data.getCost());
+            case "BULLETSPEEDUP":
+                return (gameState, playerId, data) -> applyBulletSpeedUp(gameState, playerId,
+                        data.getEffectValue(), data.getEffectDuration(), data.getCost());
+            default:
+                return null;
+        }
+    }
+
     /**=========================SINGLE USE=================================**/
 
     /**
@@ -1,9 +1,13 @@
 package engine.gameplay.item;
 
+import java.util.List;
 import java.util.Random;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import engine.Core;
+import engine.RandomService;
+import engine.utils.AliasTable;
 import entity.EnemyShip;
 import entity.Item;
 import entity.ItemPool;
@@ -18,7 +22,7 @@ public final class ItemManager {
 
     /** Debug logger init */
     private Logger logger;
-    private ItemManager() { logger = Core.getLogger(); }
+    private ItemManager() { logger = Core.getLogger("items"); }
 
     public static ItemManager getInstance() {
         if (instance == null)
@@ -27,12 +31,12 @@ public final class ItemManager {
     }
 
     /** Random Roll for item */
-    private final Random itemRoll = new Random();
+    private final Random itemRoll = RandomService.gameplay();
     /** Counter for pity system, increases when no item is dropped. */
     private int pityCounter = 0;
 
     /** Item database loaded from CSV. */
-    private final ItemDB itemDB = new ItemDB();
+    private final ItemDB itemDB = ItemDB.getInstance();
 
     /** -------------------------- ITEM DATA -------------------------- **/
 
@@ -50,15 +54,29 @@ public final class ItemManager {
 
     /** -------------------------- INIT -------------------------- **/
 
-    /** Total weight of all item tiers except NONE. */
-    private static final double ITEM_WEIGHT;
+    /** NONE weight taken off per drop missed in a row. */
+    private static final double PITY_STEP = 0.05;
+    /** Most of the NONE weight the pity takes off. */
+    private static final double MAX_PITY_BOOST = 0.5;
+    /** Number of distinct pity levels, from no boost to the full one. */
+    private static final int PITY_LEVELS = (int) Math.round(MAX_PITY_BOOST / PITY_STEP) + 1;
+
+    /** Tier tables by pity level, sampled in constant time. */
+    private static final AliasTable[] TIER_TABLES = new AliasTable[PITY_LEVELS];
+    /** Tiers by table index. */
+    private static final DropTier[] TIERS = DropTier.values();
 
     static {
-        double sum = 0.0;
-        for (DropTier t : DropTier.values()) {
-            if (t != DropTier.NONE) sum += t.tierWeight;
+        for (int level = 0; level < PITY_LEVELS; level++) {
+            double pityBoost = Math.min(level * PITY_STEP, MAX_PITY_BOOST);
+            double[] weights = new double[TIERS.length];
+            for (DropTier tier : TIERS) {
+                weights[tier.ordinal()] = tier == DropTier.NONE
+                        ? tier.tierWeight * (1.0 - pityBoost)
+                        : tier.tierWeight;
+            }
+            TIER_TABLES[level] = new AliasTable(weights);
         }
-        ITEM_WEIGHT = sum;
     }
 
     /** -------------------------- MAIN -------------------------- **/
@@ -73,47 +91,23 @@ public final class ItemManager {
     public Item obtainDrop(final EnemyShip enemy) {
         if (enemy == null) return null;
 
-        // Pity Boost
-        double pityBoost = Math.min(pityCounter * 0.05, 0.5);
-        double boostedNoneWeight = DropTier.NONE.tierWeight * (1.0 - pityBoost);
-
-        // Roll Item
-        double dropRoll = itemRoll.nextDouble() * (ITEM_WEIGHT + boostedNoneWeight);
-        this.logger.info(String.format("[ItemManager]: DropRoll %.1f", dropRoll));
-
-        DropTier chosenTier = DropTier.NONE;
-        double acc = 0.0;
-
-        for (DropTier tier : DropTier.values()) {
-            double weight = tier.tierWeight;
-
-            if (tier == DropTier.NONE) {
-                weight = boostedNoneWeight;
-            }
-
-            acc += weight;
-
-            if (dropRoll < acc) {
-                chosenTier = tier;
-                break;
-            }
-        }
+        // Roll Item, NONE gets less likely with every miss in a row
+        AliasTable tierTable = TIER_TABLES[Math.min(pityCounter, PITY_LEVELS - 1)];
+        DropTier chosenTier = TIERS[tierTable.sample(itemRoll)];
+        if (this.logger.isLoggable(Level.FINE))
+            this.logger.log(Level.FINE, "[ItemManager]: Rolled tier {0}", chosenTier);
 
         // Calculate Pity
         if (chosenTier == DropTier.NONE) {
             pityCounter++;
-            logger.info(String.format("[ItemManager]: Tier=NONE (pity=%d)", pityCounter));
+            logger.log(Level.FINE, "[ItemManager]: Tier=NONE (pity={0})", pityCounter);
             return null;
         }
 
         pityCounter = 0;
 
-        // Load item list from CSV by DropTier
-        java.util.List<ItemData> candidates = new java.util.ArrayList<>();
-        for (ItemData data : itemDB.getAllItems()) {
-            if (data.getDropTier().equalsIgnoreCase(chosenTier.name()))
-                candidates.add(data);
-        }
+        // Items of the chosen DropTier, grouped once when the CSV was loaded
+        List<ItemData> candidates = itemDB.getItems(chosenTier);
 
         if (candidates.isEmpty()) {
             logger.warning("[ItemManager]: No items defined for tier " + chosenTier);
@@ -135,7 +129,9 @@ public final class ItemManager {
             return null;
         }
 
-        this.logger.info("[ItemManager]: created item " + drop.getType() + " at (" + centerX + ", " + centerY + ")");
+        if (this.logger.isLoggable(Level.FINE))
+            this.logger.log(Level.FINE, "[ItemManager]: created item {0} at ({1}, {2})",
+                    new Object[] {drop.getType(), centerX, centerY});
 
         return drop;
     }
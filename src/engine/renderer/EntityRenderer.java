@@ -1,6 +1,7 @@
 package engine.renderer;
 
 import engine.AssetManager;
+import engine.SpriteAtlas;
 import entity.Bullet;
 import entity.Entity;
 import entity.Ship;
@@ -9,6 +10,9 @@ import java.awt.*;
 
 public class EntityRenderer {
 
+    /** Color the atlas holds sprites in. */
+    private static final int WHITE_RGB = Color.WHITE.getRGB();
+
     private CommonRenderer commonRenderer;
 
     public EntityRenderer(CommonRenderer commonRenderer) {
@@ -26,53 +30,57 @@ public class EntityRenderer {
      *                  Coordinates for the upper side of the image.
      */
     public void drawEntity(Graphics g, final Entity entity, final int positionX, final int positionY) {
-        // [수정] AssetManager 인스턴스를 직접 가져와 spriteMap을 대체합니다.
-        AssetManager assetManager = AssetManager.getInstance();
-        boolean[][] image = assetManager.getSprite(entity.getSpriteType());
+        drawSprite(g, entity.getSpriteType(), resolveColor(entity), positionX, positionY,
+                entity.getWidth(), entity.getHeight());
+    }
+
+    /**
+     * Draws a sprite scaled to the given size.
+     *
+     * @param spriteType
+     *                  Sprite to be drawn.
+     * @param color
+     *                  Drawing color.
+     * @param positionX
+     *                  Coordinates for the left side of the image.
+     * @param positionY
+     *                  Coordinates for the upper side of the image.
+     * @param entityWidth
+     *                  Width to draw the sprite at.
+     * @param entityHeight
+     *                  Height to draw the sprite at.
+     */
+    public void drawSprite(Graphics g, final AssetManager.SpriteType spriteType, final Color color,
+                           final int positionX, final int positionY,
+                           final int entityWidth, final int entityHeight) {
+        SpriteAtlas atlas = AssetManager.getInstance().getSpriteAtlas();
 
         // [추가] 스프라이트를 찾지 못했을 때 오류가 나지 않도록 방어 코드 추가
-        if (image == null) {
+        if (atlas == null || !atlas.contains(spriteType)) {
             g.setColor(Color.PINK); // 누락된 스프라이트를 쉽게 식별하도록 분홍색으로 표시
-            g.fillRect(positionX, positionY, entity.getWidth(), entity.getHeight());
-            System.err.println("EntityRenderer: Can't find sprite about " + entity.getSpriteType());
+            g.fillRect(positionX, positionY, entityWidth, entityHeight);
+            System.err.println("EntityRenderer: Can't find sprite about " + spriteType);
             return;
         }
 
-        // 2P mode: start with the entity's own color
-        final Color color = getColor(entity);
-
-        // --- Scaling logic ---
-        // Original sprite dimensions
-        int spriteWidth = image.length;
-        int spriteHeight = image[0].length;
-
-        // Entity dimensions (modified via Bullet constructor or other entities)
-        int entityWidth = entity.getWidth();
-        int entityHeight = entity.getHeight();
-
-        // Calculate scaling ratios compared to original sprite
-        float widthRatio = (float) entityWidth / (spriteWidth * 2);
-        float heightRatio = (float) entityHeight / (spriteHeight * 2);
-        // --- End of scaling logic ---
-
-        // Set drawing color again
-        g.setColor(color);
-        // Draw the sprite with scaling applied
-        for (int i = 0; i < spriteWidth; i++) {
-            for (int j = 0; j < spriteHeight; j++) {
-                if (image[i][j]) {
-                    // Apply calculated scaling ratio to pixel positions and size
-                    g.fillRect(positionX + (int)(i * 2 * widthRatio),
-                            positionY + (int)(j * 2 * heightRatio),
-                            (int)Math.ceil(widthRatio * 2), // Adjust the width of the pixel
-                            (int)Math.ceil(heightRatio * 2) // Adjust the height of the pixel
-                    );
-                }
-            }
-        }
+        // White sprites are copied straight from the atlas, other colors are
+        // tinted once per sprite, color and size.
+        if (color.getRGB() == WHITE_RGB)
+            atlas.draw(g, spriteType, positionX, positionY, entityWidth, entityHeight);
+        else
+            g.drawImage(SpriteCache.getInstance().get(atlas, spriteType, color, entityWidth, entityHeight),
+                    positionX, positionY, null);
     }
 
-    private static Color getColor(Entity entity) {
+    /**
+     * Resolves the color an entity is drawn with, 2P mode colors players and
+     * their bullets apart.
+     *
+     * @param entity
+     *                  Entity to be drawn.
+     * @return Drawing color.
+     */
+    public static Color resolveColor(Entity entity) {
         Color color = entity.getColor();
 
         // Color-code by player when applicable
@@ -1,17 +1,16 @@
 package engine.renderer;
 
 import animations.BasicGameSpace;
-import animations.Explosion;
+import animations.ParticleSystem;
 import engine.AssetManager;
 import engine.Core;
 import engine.gameplay.achievement.Achievement;
-import entity.Entity;
 import screen.Screen;
 
 import java.awt.*;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class GameScreenRenderer {
@@ -22,17 +21,140 @@ public class GameScreenRenderer {
     /** Font properties. */
     private static FontMetrics fontMetrics;
 
-    private final List<Explosion> explosions = new java.util.ArrayList<>();
+    /** Height of the interface separation line. */
+    private static final int SEPARATION_LINE_HEIGHT = 68;
+    /** Length of a tick at the base tick rate, cosmetic animations step at this pace. */
+    private static final long BASE_TICK_NANOS = TimeUnit.SECONDS.toNanos(1) / Screen.BASE_TICK_RATE;
+    /** Number of explosion requests that can wait for the render thread. */
+    private static final int EXPLOSION_QUEUE_SIZE = 64;
+    /** Most explosion particles alive at once, about sixty explosions. */
+    private static final int MAX_PARTICLES = 2400;
+    /** Font of the frame profiler overlay. */
+    private static final Font PROFILE_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 10);
+    /** Background of the frame profiler overlay. */
+    private static final Color PROFILE_BACKGROUND = new Color(0, 0, 0, 180);
+
+    private final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES);
     BasicGameSpace basicGameSpace = new BasicGameSpace(100);
 
+    /** Explosion requests from the simulation thread, single producer and consumer. */
+    private final int[] queuedX = new int[EXPLOSION_QUEUE_SIZE];
+    private final int[] queuedY = new int[EXPLOSION_QUEUE_SIZE];
+    private final boolean[] queuedEnemy = new boolean[EXPLOSION_QUEUE_SIZE];
+    private final boolean[] queuedFinal = new boolean[EXPLOSION_QUEUE_SIZE];
+    /** Next request to read, only moved by the render thread. */
+    private volatile int queueHead;
+    /** Next request to write, only moved by the simulation thread. */
+    private volatile int queueTail;
+
+    /** Last simulation tick the cosmetic animations caught up with. */
+    private long animatedTick = -1;
+    /** Animation time not yet spent on a whole step, in nanoseconds. */
+    private long animationNanos;
+
     public GameScreenRenderer(CommonRenderer commonRenderer) {
-        LOGGER = Core.getLogger();
+        LOGGER = Core.getLogger("render");
         this.commonRenderer = commonRenderer;
         this.entityRenderer = new EntityRenderer(commonRenderer);
     }
 
-    public void setLastLife(boolean status) {
-        basicGameSpace.setLastLife(status);
+    /**
+     * Draws a whole game screen frame from the latest world snapshot,
+     * interpolating moving sprites between the last two ticks.
+     *
+     * @param screen
+     *                  Screen to draw on.
+     * @param snapshot
+     *                  Latest published snapshot.
+     */
+    public void drawWorld(Graphics g, final Screen screen, final WorldSnapshot snapshot) {
+        advanceAnimations(snapshot);
+
+        double alpha = (double) (System.nanoTime() - snapshot.publishNanos) / snapshot.tickNanos;
+        alpha = Math.max(0, Math.min(1, alpha));
+
+        drawExplosions(g, screen);
+        drawGameSpace(g);
+
+        for (int i = 0; i < snapshot.spriteCount; i++) {
+            int x = (int) Math.round(snapshot.previousX[i] + (snapshot.positionX[i] - snapshot.previousX[i]) * alpha);
+            int y = (int) Math.round(snapshot.previousY[i] + (snapshot.positionY[i] - snapshot.previousY[i]) * alpha);
+            entityRenderer.drawSprite(g, snapshot.spriteTypes[i], snapshot.colors[i], x, y,
+                    snapshot.widths[i], snapshot.heights[i]);
+        }
+
+        // Aggregate UI (team score & team lives)
+        drawScore(g, screen, snapshot.score);
+        drawLives(g, screen, snapshot.lives, snapshot.coop);
+        drawCoins(g, screen, snapshot.coins);
+        drawLevel(g, screen, snapshot.level);
+        commonRenderer.drawHorizontalLine(g, screen, SEPARATION_LINE_HEIGHT - 1);
+        drawShipCount(g, screen, snapshot.shipCount);
+
+        if (snapshot.countdown >= 0) {
+            drawCountDown(g, screen, snapshot.level, snapshot.countdown, snapshot.bonusLife);
+            commonRenderer.drawHorizontalLine(g, screen, screen.getHeight() / 2 - screen.getHeight() / 12);
+            commonRenderer.drawHorizontalLine(g, screen, screen.getHeight() / 2 + screen.getHeight() / 12);
+        }
+        if (snapshot.highScoreNotice)
+            Core.getDrawManager().getHighScoreScreenRenderer().drawNewHighScoreNotice(screen);
+
+        if (snapshot.toast != null)
+            drawAchievementToast(g, screen, snapshot.toast);
+        if (snapshot.paused)
+            commonRenderer.drawPauseOverlay(g, screen);
+        if (snapshot.profile != null)
+            drawProfile(g, snapshot.profile);
+    }
+
+    /**
+     * Draws the frame profiler overlay below the HUD.
+     *
+     * @param lines
+     *                  Overlay lines.
+     */
+    private void drawProfile(Graphics g, final String[] lines) {
+        if (lines.length == 0)
+            return;
+        g.setFont(PROFILE_FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        int width = 0;
+        for (String line : lines)
+            width = Math.max(width, g.getFontMetrics().stringWidth(line));
+
+        g.setColor(PROFILE_BACKGROUND);
+        g.fillRect(4, SEPARATION_LINE_HEIGHT + 4, width + 8, lineHeight * lines.length + 6);
+        g.setColor(Color.GREEN);
+        for (int i = 0; i < lines.length; i++)
+            g.drawString(lines[i], 8, SEPARATION_LINE_HEIGHT + 4 + lineHeight * (i + 1));
+    }
+
+    /**
+     * Catches the background and explosion animations up with the simulation.
+     * They used to advance twice per tick at the base rate while playing and
+     * once while paused, keep that pace whatever the tick and frame rates.
+     *
+     * @param snapshot
+     *                  Latest published snapshot.
+     */
+    private void advanceAnimations(final WorldSnapshot snapshot) {
+        drainExplosionQueue();
+        basicGameSpace.setLastLife(snapshot.lastLife);
+
+        if (this.animatedTick < 0 || snapshot.tick < this.animatedTick) {
+            // New level, the tick counter started over.
+            this.animatedTick = snapshot.tick;
+            this.animationNanos = 0;
+            return;
+        }
+
+        this.animationNanos += (snapshot.tick - this.animatedTick) * snapshot.tickNanos * (snapshot.paused ? 1 : 2);
+        this.animatedTick = snapshot.tick;
+        while (this.animationNanos >= BASE_TICK_NANOS) {
+            this.animationNanos -= BASE_TICK_NANOS;
+            basicGameSpace.update();
+            updateExplosions();
+        }
     }
 
     /**
@@ -80,7 +202,18 @@ public class GameScreenRenderer {
             return;
         }
 
-        Achievement achievement = toasts.getLast();
+        drawAchievementToast(g, screen, toasts.getLast());
+    }
+
+    /**
+     * Draws a single achievement toast.
+     *
+     * @param screen
+     * Screen to draw on.
+     * @param achievement
+     * Achievement to announce.
+     */
+    public void drawAchievementToast(Graphics g, final Screen screen, final Achievement achievement) {
         Graphics2D g2d = (Graphics2D) g.create();
 
         try {
@@ -166,28 +299,28 @@ public class GameScreenRenderer {
         g.setFont(commonRenderer.getFontRegular());
         g.setColor(Color.WHITE);
 
-        Entity heart = new Entity(0, 0, 11*2, 10*2, Color.RED) {
-            { this.spriteType = AssetManager.SpriteType.Heart; }
-        };
-
         if (isCoop) {
             g.drawString(Integer.toString(lives), 20, 25);
             for (int i = 0; i < lives; i++) {
                 if (i < 3) {
-                    entityRenderer.drawEntity(g, heart, 40 + 35 * i, 9);
+                    drawHeart(g, 40 + 35 * i, 9);
                 } else {
-                    entityRenderer.drawEntity(g, heart, 40 + 35 * (i - 3), 9 + 25);
+                    drawHeart(g, 40 + 35 * (i - 3), 9 + 25);
                 }
             }
         }
         else {
             g.drawString(Integer.toString(lives), 20, 40);
             for (int i = 0; i<lives; i++) {
-                entityRenderer.drawEntity(g, heart, 40 + 35 * i, 23);
+                drawHeart(g, 40 + 35 * i, 23);
             }
         }
     }
 
+    private void drawHeart(Graphics g, final int x, final int y) {
+        entityRenderer.drawSprite(g, AssetManager.SpriteType.Heart, Color.RED, x, y, 11*2, 10*2);
+    }
+
     /**
      * Draws current coin count on screen.
      *
@@ -219,96 +352,74 @@ public class GameScreenRenderer {
 
     public void drawShipCount (Graphics g, final Screen screen, final int shipCount) {
         g.setColor(Color.GREEN);
-        Entity enemyIcon = new Entity(0, 0, 12*2, 8*2, Color.GREEN) {
-            { this.spriteType = AssetManager.SpriteType.EnemyShipB2; }
-        };
         int iconX = screen.getWidth() - 252;
         int iconY = 37;
-        entityRenderer.drawEntity(g, enemyIcon, iconX, iconY);
+        entityRenderer.drawSprite(g, AssetManager.SpriteType.EnemyShipB2, Color.GREEN, iconX, iconY, 12*2, 8*2);
         String shipString = ": " + shipCount;
         g.drawString(shipString, iconX + 30, 52);
     }
 
+    /**
+     * Requests an explosion, safe to call from the simulation thread. The
+     * render thread creates it on its next frame.
+     *
+     * @param x
+     *                  Position in the x-axis.
+     * @param y
+     *                  Position in the y-axis.
+     * @param enemy
+     *                  If an enemy exploded.
+     * @param finalExplosion
+     *                  If it is the big, final explosion.
+     */
     public void triggerExplosion(int x, int y, boolean enemy, boolean finalExplosion) {
-        LOGGER.info("Enemy: "+enemy);
-        LOGGER.info("final: "+finalExplosion);
-        explosions.add(new Explosion(x, y, enemy, finalExplosion));
-    }
-
-    public void drawExplosions(Graphics g, Screen screen) {
-
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        g2d.setColor(Color.WHITE);
-
-
-        Iterator<Explosion> iterator = explosions.iterator();
-
-        while(iterator.hasNext()){
-            Explosion e = iterator.next();
-            e.update();
-
-            if (!e.isActive()) {
-                iterator.remove();
-                continue;
-            }
-
-            for(Explosion.Particle p : e.getParticles()){
-                if(!p.active){
-                    continue;
-                }
-
-                int baseSize;
-
-                Random random = new Random();
-                if (e.getSize() == 4)
-                    baseSize = random.nextInt(5) + 2;
-                else
-                    baseSize = random.nextInt(6)+18;
-
-                int flickerAlpha = Math.max(0, Math.min(255, p.color.getAlpha() - (int)(Math.random() * 50)));
-
+        if (LOGGER.isLoggable(Level.FINE))
+            LOGGER.log(Level.FINE, "Explosion at ({0},{1}), enemy: {2}, final: {3}",
+                    new Object[] {x, y, enemy, finalExplosion});
 
-                float[] dist = {0.0f, 0.3f, 0.7f, 1.0f};
-                Color[] colors;
-                if(e.enemy()){
-                    colors = new Color[]{
-                            new Color(255, 255, 250, flickerAlpha),
-                            new Color(255, 250, 180, flickerAlpha),
-                            new Color(255, 200, 220, flickerAlpha / 2),
-                            new Color(0, 0, 0, 0)
-                    };
-                }
-                else{
-                    colors = new Color[]{
-                            new Color(255, 255, 180, flickerAlpha),
-                            new Color(255, 200, 0, flickerAlpha),
-                            new Color(255, 80, 0, flickerAlpha / 2),
-                            new Color(0, 0, 0, 0)
-                    };
-                }
+        int tail = queueTail;
+        if (tail - queueHead == EXPLOSION_QUEUE_SIZE) {
+            LOGGER.warning("Explosion queue full, dropping explosion.");
+            return;
+        }
+        int slot = tail % EXPLOSION_QUEUE_SIZE;
+        queuedX[slot] = x;
+        queuedY[slot] = y;
+        queuedEnemy[slot] = enemy;
+        queuedFinal[slot] = finalExplosion;
+        queueTail = tail + 1;
+    }
 
-                RadialGradientPaint paint = new RadialGradientPaint(
-                        new Point((int) p.x, (int) p.y),
-                        baseSize,
-                        dist,
-                        colors
-                );
+    /**
+     * Turns the pending explosion requests into explosions.
+     */
+    private void drainExplosionQueue() {
+        int head = queueHead;
+        int tail = queueTail;
+        while (head != tail) {
+            int slot = head % EXPLOSION_QUEUE_SIZE;
+            particles.spawnExplosion(queuedX[slot], queuedY[slot], queuedEnemy[slot], queuedFinal[slot]);
+            head++;
+        }
+        queueHead = head;
+    }
 
-                g2d.setPaint(paint);
+    /**
+     * Advances the explosion animations by one step and drops finished ones.
+     */
+    private void updateExplosions() {
+        particles.update();
+    }
 
-                int offsetX = (int) (Math.random() * 4 - 2);
-                int offsetY = (int) (Math.random() * 4 - 2);
+    public void drawExplosions(Graphics g, Screen screen) {
+        particles.draw(g);
+    }
 
-                g2d.fillOval(
-                        (int) (p.x - baseSize / 2 + offsetX),
-                        (int) (p.y - baseSize / 2 + offsetY),
-                        baseSize,
-                        baseSize
-                );
-            }
-        }
+    /**
+     * Draws the stars background animation during the game
+     */
+    private void drawGameSpace(Graphics g){
+        StarfieldRenderer.getInstance().drawGameSpace(g, basicGameSpace);
     }
 
 }
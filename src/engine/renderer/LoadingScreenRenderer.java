@@ -0,0 +1,46 @@
+package engine.renderer;
+
+import screen.Screen;
+
+import java.awt.*;
+
+/**
+ * Draws the loading screen shown while assets load.
+ */
+public class LoadingScreenRenderer {
+
+    /** Width of the progress bar. */
+    private static final int BAR_WIDTH = 240;
+    /** Height of the progress bar. */
+    private static final int BAR_HEIGHT = 12;
+
+    private CommonRenderer commonRenderer;
+
+    public LoadingScreenRenderer(CommonRenderer commonRenderer) {
+        this.commonRenderer = commonRenderer;
+    }
+
+    /**
+     * Draws the title and a bar filled to the loading progress.
+     *
+     * @param screen
+     *               Screen to draw on.
+     * @param progress
+     *               Fraction of the assets loaded, 0 to 1.
+     */
+    public void drawLoading(Graphics g, final Screen screen, final float progress) {
+        g.setColor(Color.GREEN);
+        commonRenderer.drawCenteredBigString(g, screen, "Invaders", screen.getHeight() / 3);
+
+        int x = (screen.getWidth() - BAR_WIDTH) / 2;
+        int y = screen.getHeight() / 2;
+        g.setColor(Color.GRAY);
+        g.drawRect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        g.setColor(Color.GREEN);
+        g.fillRect(x + 2, y + 2, Math.round((BAR_WIDTH - 3) * Math.max(0f, Math.min(1f, progress))), BAR_HEIGHT - 3);
+
+        g.setColor(Color.WHITE);
+        commonRenderer.drawCenteredRegularString(g, screen, "Loading " + Math.round(progress * 100) + "%",
+                y + BAR_HEIGHT + 30);
+    }
+}
@@ -0,0 +1,80 @@
+package engine.renderer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import engine.Core;
+
+/**
+ * Runs drawing on its own thread at a fixed frame rate, so a slow frame never
+ * delays the simulation.
+ */
+public final class RenderThread extends Thread {
+
+    /** Application logger. */
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** Draws one frame. */
+    private final Runnable frame;
+    /** Target length of a frame, in nanoseconds. */
+    private final long frameNanos;
+    /** If the thread keeps drawing. */
+    private volatile boolean running;
+
+    /**
+     * Constructor, establishes the frame to draw and its rate.
+     *
+     * @param name
+     *            Thread name.
+     * @param frame
+     *            Draws one frame.
+     * @param fps
+     *            Frames per second to draw at.
+     */
+    public RenderThread(final String name, final Runnable frame, final int fps) {
+        super(name);
+        this.frame = frame;
+        this.frameNanos = TimeUnit.SECONDS.toNanos(1) / fps;
+        this.running = true;
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (this.running) {
+            try {
+                this.frame.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Frame failed to draw.", e);
+            }
+
+            nextFrame += this.frameNanos;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                // Running late, do not try to catch up on missed frames.
+                nextFrame = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Stops drawing and waits for the frame in progress to finish.
+     */
+    public void shutdown() {
+        this.running = false;
+        interrupt();
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package engine.renderer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands world snapshots from the simulation thread to the render thread
+ * without locks. The writer fills a back snapshot and publishes it, the reader
+ * always picks up the latest published one. A spare slot sits between them, so
+ * neither side ever waits for the other.
+ *
+ * @param <T>
+ *            Snapshot type.
+ */
+public final class SnapshotExchange<T> {
+
+    /** Flag set on the shared slot when it holds an unread snapshot. */
+    private static final int FRESH = 4;
+    /** Mask extracting the slot index from the shared state. */
+    private static final int INDEX_MASK = 3;
+
+    /** Snapshot slots. */
+    private final Object[] slots = new Object[3];
+    /** Index of the shared slot, plus the fresh flag. */
+    private final AtomicInteger shared = new AtomicInteger(2);
+    /** Slot being written, owned by the simulation thread. */
+    private int writeIndex = 0;
+    /** Slot being read, owned by the render thread. */
+    private int readIndex = 1;
+
+    /**
+     * Constructor, creates the snapshot slots.
+     *
+     * @param factory
+     *            Creates an empty snapshot.
+     */
+    public SnapshotExchange(final Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++)
+            slots[i] = factory.get();
+    }
+
+    /**
+     * Returns the snapshot the simulation thread may write. Only call from the
+     * writer thread.
+     *
+     * @return Back snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[writeIndex];
+    }
+
+    /**
+     * Publishes the back snapshot. Only call from the writer thread.
+     */
+    public void publish() {
+        int previous = shared.getAndSet(writeIndex | FRESH);
+        writeIndex = previous & INDEX_MASK;
+    }
+
+    /**
+     * Returns the latest published snapshot. Only call from the reader thread;
+     * the snapshot stays valid until the next call.
+     *
+     * @return Front snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((shared.get() & FRESH) != 0) {
+            int previous = shared.getAndSet(readIndex);
+            readIndex = previous & INDEX_MASK;
+        }
+        return (T) slots[readIndex];
+    }
+}
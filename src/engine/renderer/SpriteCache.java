@@ -0,0 +1,196 @@
+package engine.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import engine.AssetManager.SpriteType;
+import engine.SpriteAtlas;
+
+/**
+ * Keeps sprites tinted at the colors and sizes they are drawn with, so
+ * drawing one is a single image copy. White sprites come straight from the
+ * {@link SpriteAtlas}; this holds the other colors, a bounded number of
+ * images, dropping the least recently drawn one when full.
+ */
+public final class SpriteCache {
+
+    /** Maximum number of tinted sprites kept. */
+    private static final int CAPACITY = 256;
+
+    /** Singleton instance of the class. */
+    private static SpriteCache instance;
+
+    /** Tinted sprites, in least recently drawn order. */
+    private final LinkedHashMap<Key, BufferedImage> images;
+    /** Reused to look images up without allocating. */
+    private final Key probe = new Key();
+
+    /** Lookups answered from the cache. */
+    private long hits;
+    /** Lookups that had to tint a sprite. */
+    private long misses;
+    /** Images dropped to stay within capacity. */
+    private long evictions;
+
+    /**
+     * Private constructor.
+     */
+    private SpriteCache() {
+        this.images = new LinkedHashMap<Key, BufferedImage>(CAPACITY * 2, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, BufferedImage> eldest) {
+                if (size() <= CAPACITY)
+                    return false;
+                eldest.getValue().flush();
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns shared instance of SpriteCache.
+     *
+     * @return Shared instance of SpriteCache.
+     */
+    public static synchronized SpriteCache getInstance() {
+        if (instance == null)
+            instance = new SpriteCache();
+        return instance;
+    }
+
+    /**
+     * Returns the sprite tinted at the given color and size, tinting it on
+     * first use.
+     *
+     * @param atlas
+     *            Atlas holding the sprite.
+     * @param type
+     *            Sprite type.
+     * @param color
+     *            Drawing color.
+     * @param width
+     *            Width to draw the sprite at.
+     * @param height
+     *            Height to draw the sprite at.
+     * @return Tinted sprite.
+     */
+    public synchronized BufferedImage get(final SpriteAtlas atlas, final SpriteType type,
+                                          final Color color, final int width, final int height) {
+        probe.set(type, color.getRGB(), width, height);
+        BufferedImage image = images.get(probe);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        misses++;
+        image = tint(atlas, type, color, width, height);
+        Key key = new Key();
+        key.set(type, color.getRGB(), width, height);
+        images.put(key, image);
+        return image;
+    }
+
+    /**
+     * Copies a white sprite out of the atlas and paints its pixels over with
+     * a color, keeping their coverage.
+     *
+     * @param atlas
+     *            Atlas holding the sprite.
+     * @param type
+     *            Sprite type.
+     * @param color
+     *            Drawing color.
+     * @param width
+     *            Width to draw the sprite at.
+     * @param height
+     *            Height to draw the sprite at.
+     * @return New image with the tinted sprite on a transparent background.
+     */
+    private BufferedImage tint(final SpriteAtlas atlas, final SpriteType type, final Color color,
+                               final int width, final int height) {
+        BufferedImage image = SpriteAtlas.createImage(Math.max(1, width), Math.max(1, height));
+        Graphics2D g = image.createGraphics();
+        atlas.draw(g, type, 0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcIn);
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Getter for the number of lookups answered from the cache.
+     *
+     * @return Cache hits.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Getter for the number of lookups that tinted a sprite.
+     *
+     * @return Cache misses.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Getter for the number of images dropped to stay within capacity.
+     *
+     * @return Cache evictions.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Getter for the number of images currently cached.
+     *
+     * @return Cached image count.
+     */
+    public synchronized int size() {
+        return this.images.size();
+    }
+
+    /**
+     * Identifies one tinted sprite: type, color and size.
+     */
+    private static final class Key {
+        private SpriteType type;
+        private int rgb;
+        private int width;
+        private int height;
+        private int hash;
+
+        private void set(final SpriteType type, final int rgb, final int width, final int height) {
+            this.type = type;
+            this.rgb = rgb;
+            this.width = width;
+            this.height = height;
+            this.hash = ((type.ordinal() * 31 + rgb) * 31 + width) * 31 + height;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key key = (Key) other;
+            return type == key.type && rgb == key.rgb && width == key.width && height == key.height;
+        }
+    }
+}
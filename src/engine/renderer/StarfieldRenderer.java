@@ -0,0 +1,132 @@
+package engine.renderer;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import animations.BasicGameSpace;
+import animations.MenuSpace;
+import engine.SpriteAtlas;
+
+/**
+ * Draws the star backgrounds of the game and the menus. Each glow variant is
+ * rendered once into a small image, so a star costs a single image copy
+ * instead of a new gradient paint.
+ */
+public final class StarfieldRenderer {
+
+    /** Space around the star origin in a glow image, fits the widest glow. */
+    private static final int GLOW_PADDING = 4;
+    /** Side of a glow image. */
+    private static final int GLOW_SIZE = GLOW_PADDING * 2 + 4;
+    /** Gradient stops of every glow. */
+    private static final float[] GLOW_STOPS = {0.0f, 1.0f};
+    /** Game star glow, inner and outer color. */
+    private static final Color[] GAME_PALETTE = {
+            new Color(255, 255, 200, 50), new Color(255, 255, 200, 50)};
+    /** Game star glow on the last life, inner and outer color. */
+    private static final Color[] LAST_LIFE_PALETTE = {
+            new Color(255, 0, 0, 100), new Color(255, 0, 0, 50)};
+    /** Outer color of the menu star glow. */
+    private static final Color MENU_FADE = new Color(255, 255, 200, 0);
+
+    /** Singleton instance of the class. */
+    private static StarfieldRenderer instance;
+
+    /** Game glows, small and big, then the same on the last life. */
+    private final BufferedImage[] gameGlows = new BufferedImage[4];
+    /** Menu glows by color. */
+    private final Map<Color, BufferedImage> menuGlows = new HashMap<Color, BufferedImage>();
+
+    /**
+     * Private constructor, bakes the game glows.
+     */
+    private StarfieldRenderer() {
+        for (int size = 1; size <= 2; size++) {
+            gameGlows[size - 1] = bake(size, GAME_PALETTE);
+            gameGlows[size + 1] = bake(size, LAST_LIFE_PALETTE);
+        }
+    }
+
+    /**
+     * Returns shared instance of StarfieldRenderer.
+     *
+     * @return Shared instance of StarfieldRenderer.
+     */
+    public static synchronized StarfieldRenderer getInstance() {
+        if (instance == null)
+            instance = new StarfieldRenderer();
+        return instance;
+    }
+
+    /**
+     * Draws the stars background of the game.
+     *
+     * @param g
+     *            Graphics to draw on.
+     * @param space
+     *            Game stars.
+     */
+    public void drawGameSpace(final Graphics g, final BasicGameSpace space) {
+        int[] starX = space.getStarX();
+        int[] starY = space.getStarY();
+        int[] starSpeed = space.getStarSpeed();
+        int palette = space.isLastLife() ? 2 : 0;
+        for (int i = 0; i < space.getNumStars(); i++) {
+            // Slow stars are the bigger ones.
+            BufferedImage glow = gameGlows[palette + (starSpeed[i] < 2 ? 1 : 0)];
+            g.drawImage(glow, starX[i] - GLOW_PADDING, starY[i] - GLOW_PADDING, null);
+        }
+    }
+
+    /**
+     * Draws the stars background of the main menu.
+     *
+     * @param g
+     *            Graphics to draw on.
+     * @param space
+     *            Menu stars.
+     */
+    public void drawMenuSpace(final Graphics g, final MenuSpace space) {
+        BufferedImage glow = menuGlows.get(space.getColor());
+        if (glow == null) {
+            glow = bake(1, new Color[] {space.getColor(), MENU_FADE});
+            menuGlows.put(space.getColor(), glow);
+        }
+
+        int[] starX = space.getStarX();
+        int[] starY = space.getStarY();
+        for (int i = 0; i < space.getNumStars(); i++)
+            g.drawImage(glow, starX[i] - GLOW_PADDING, starY[i] - GLOW_PADDING, null);
+    }
+
+    /**
+     * Renders one star glow: an antialiased radial gradient, with the star
+     * core filled by the same gradient.
+     *
+     * @param size
+     *            Star core size.
+     * @param palette
+     *            Inner and outer glow color.
+     * @return Glow image, with the star origin at the padding offset.
+     */
+    private static BufferedImage bake(final int size, final Color[] palette) {
+        int radius = size * 2;
+        BufferedImage image = SpriteAtlas.createImage(GLOW_SIZE, GLOW_SIZE);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setPaint(new RadialGradientPaint(
+                new Point(GLOW_PADDING + size / 2, GLOW_PADDING + size / 2),
+                radius, GLOW_STOPS, palette));
+        g2d.fillOval(GLOW_PADDING - radius / 2, GLOW_PADDING - radius / 2, radius, radius);
+        g2d.fillOval(GLOW_PADDING, GLOW_PADDING, size, size);
+        g2d.dispose();
+        return image;
+    }
+}
@@ -42,36 +42,7 @@ public class TitleScreenRenderer {
      */
     public void updateMenuSpace(Graphics g){
         menuSpace.updateStars();
-
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        g.setColor(Color.WHITE);
-        int[][] positions = menuSpace.getStarLocations();
-
-        for(int i = 0; i < menuSpace.getNumStars(); i++){
-
-            int size = 1;
-            int radius = size * 2;
-
-            float[] dist = {0.0f, 1.0f};
-            Color[] colors = {
-                    menuSpace.getColor(),
-                    new Color(255, 255, 200, 0)
-            };
-
-            RadialGradientPaint paint = new RadialGradientPaint(
-                    new Point(positions[i][0], positions[i][1]),
-                    radius,
-                    dist,
-                    colors
-            );
-            g2d.setPaint(paint);
-            g2d.fillOval(positions[i][0] - radius / 2, positions[i][1] - radius / 2, radius, radius);
-
-
-            g.fillOval(positions[i][0], positions[i][1], size, size);
-        }
+        StarfieldRenderer.getInstance().drawMenuSpace(g, menuSpace);
     }
 
     /**
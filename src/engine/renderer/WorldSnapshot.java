@@ -0,0 +1,238 @@
+package engine.renderer;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.AssetManager.SpriteType;
+import engine.gameplay.achievement.Achievement;
+import entity.Entity;
+
+/**
+ * Compact copy of everything the game screen draws for one simulation tick.
+ * The simulation thread fills it, then hands it to the render thread through
+ * a {@link SnapshotExchange}; once published it is only read.
+ */
+public final class WorldSnapshot {
+
+    /** Initial number of sprite slots, grows when a tick needs more. */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /** Tick the snapshot was taken at, negative until first written. */
+    long tick = -1;
+    /** Time the snapshot was published, in System.nanoTime units. */
+    long publishNanos;
+    /** Length of one simulation tick, in nanoseconds. */
+    long tickNanos;
+
+    /** Number of sprites in the snapshot. */
+    int spriteCount;
+    /** Sprite type of each sprite. */
+    SpriteType[] spriteTypes = new SpriteType[INITIAL_CAPACITY];
+    /** Drawing color of each sprite. */
+    Color[] colors = new Color[INITIAL_CAPACITY];
+    /** Position of each sprite in the x-axis at the end of the tick. */
+    int[] positionX = new int[INITIAL_CAPACITY];
+    /** Position of each sprite in the y-axis at the end of the tick. */
+    int[] positionY = new int[INITIAL_CAPACITY];
+    /** Position of each sprite in the x-axis at the start of the tick. */
+    int[] previousX = new int[INITIAL_CAPACITY];
+    /** Position of each sprite in the y-axis at the start of the tick. */
+    int[] previousY = new int[INITIAL_CAPACITY];
+    /** Width of each sprite. */
+    int[] widths = new int[INITIAL_CAPACITY];
+    /** Height of each sprite. */
+    int[] heights = new int[INITIAL_CAPACITY];
+
+    /** Team score. */
+    int score;
+    /** Team lives. */
+    int lives;
+    /** If the game is in co-op mode. */
+    boolean coop;
+    /** Coin count. */
+    int coins;
+    /** Current level. */
+    int level;
+    /** Number of enemy ships left. */
+    int shipCount;
+    /** If the team is on its last life. */
+    boolean lastLife;
+    /** If the game is paused. */
+    boolean paused;
+    /** Countdown number before the level starts, negative once started. */
+    int countdown;
+    /** If a bonus life was awarded this level. */
+    boolean bonusLife;
+    /** If the new high score notice is showing. */
+    boolean highScoreNotice;
+    /** Achievement toast on screen, or null. */
+    Achievement toast;
+    /** Frame profiler overlay lines, or null when hidden. */
+    String[] profile;
+
+    /**
+     * Starts writing the snapshot for a new tick, discarding old contents.
+     *
+     * @param tick
+     *            Simulation tick being captured.
+     * @param tickNanos
+     *            Length of one simulation tick, in nanoseconds.
+     */
+    public void begin(final long tick, final long tickNanos) {
+        this.tick = tick;
+        this.tickNanos = tickNanos;
+        this.spriteCount = 0;
+        this.toast = null;
+        this.profile = null;
+    }
+
+    /**
+     * Adds an entity with its color resolved the way EntityRenderer draws it.
+     *
+     * @param entity
+     *            Entity to capture.
+     */
+    public void addEntity(final Entity entity) {
+        addSprite(entity.getSpriteType(), EntityRenderer.resolveColor(entity),
+                entity.getRenderPositionX(0), entity.getRenderPositionY(0),
+                entity.getPositionX(), entity.getPositionY(),
+                entity.getWidth(), entity.getHeight());
+    }
+
+    /**
+     * Adds a sprite to the snapshot.
+     *
+     * @param type
+     *            Sprite type.
+     * @param color
+     *            Drawing color.
+     * @param fromX
+     *            Position in the x-axis at the start of the tick.
+     * @param fromY
+     *            Position in the y-axis at the start of the tick.
+     * @param toX
+     *            Position in the x-axis at the end of the tick.
+     * @param toY
+     *            Position in the y-axis at the end of the tick.
+     * @param width
+     *            Width of the sprite.
+     * @param height
+     *            Height of the sprite.
+     */
+    public void addSprite(final SpriteType type, final Color color,
+                          final int fromX, final int fromY, final int toX, final int toY,
+                          final int width, final int height) {
+        if (spriteCount == spriteTypes.length)
+            grow();
+        int i = spriteCount++;
+        spriteTypes[i] = type;
+        colors[i] = color;
+        previousX[i] = fromX;
+        previousY[i] = fromY;
+        positionX[i] = toX;
+        positionY[i] = toY;
+        widths[i] = width;
+        heights[i] = height;
+    }
+
+    /**
+     * Sets the values shown on the heads-up display.
+     *
+     * @param score
+     *            Team score.
+     * @param lives
+     *            Team lives.
+     * @param coop
+     *            If the game is in co-op mode.
+     * @param coins
+     *            Coin count.
+     * @param level
+     *            Current level.
+     * @param shipCount
+     *            Number of enemy ships left.
+     */
+    public void setHud(final int score, final int lives, final boolean coop,
+                       final int coins, final int level, final int shipCount) {
+        this.score = score;
+        this.lives = lives;
+        this.coop = coop;
+        this.coins = coins;
+        this.level = level;
+        this.shipCount = shipCount;
+        this.lastLife = lives == 1;
+    }
+
+    /**
+     * Sets the overlays drawn on top of the game.
+     *
+     * @param paused
+     *            If the game is paused.
+     * @param countdown
+     *            Countdown number, negative once the level started.
+     * @param bonusLife
+     *            If a bonus life was awarded this level.
+     * @param highScoreNotice
+     *            If the new high score notice is showing.
+     * @param toast
+     *            Achievement toast on screen, or null.
+     */
+    public void setOverlays(final boolean paused, final int countdown, final boolean bonusLife,
+                            final boolean highScoreNotice, final Achievement toast) {
+        this.paused = paused;
+        this.countdown = countdown;
+        this.bonusLife = bonusLife;
+        this.highScoreNotice = highScoreNotice;
+        this.toast = toast;
+    }
+
+    /**
+     * Sets the frame profiler overlay.
+     *
+     * @param lines
+     *            Overlay lines, not changed once set, or null to hide it.
+     */
+    public void setProfile(final String[] lines) {
+        this.profile = lines;
+    }
+
+    /**
+     * Marks the time the snapshot is handed to the render thread, the render
+     * thread interpolates from there.
+     */
+    public void markPublished() {
+        this.publishNanos = System.nanoTime();
+    }
+
+    /**
+     * Getter for the tick the snapshot was taken at.
+     *
+     * @return Simulation tick, negative if nothing was captured yet.
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Getter for the number of sprites captured.
+     *
+     * @return Sprite count.
+     */
+    public int getSpriteCount() {
+        return this.spriteCount;
+    }
+
+    /**
+     * Doubles the sprite capacity.
+     */
+    private void grow() {
+        int capacity = spriteTypes.length * 2;
+        spriteTypes = Arrays.copyOf(spriteTypes, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        positionX = Arrays.copyOf(positionX, capacity);
+        positionY = Arrays.copyOf(positionY, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+}
@@ -0,0 +1,95 @@
+package engine.utils;
+
+import java.util.Random;
+
+/**
+ * Samples an index from a fixed discrete distribution in constant time with
+ * Vose's alias method. Building the table is linear in the number of
+ * weights, sampling draws one random number and allocates nothing.
+ */
+public final class AliasTable {
+
+    /** Chance of keeping each column's own index. */
+    private final double[] probability;
+    /** Index given instead when the column's own is not kept. */
+    private final int[] alias;
+
+    /**
+     * Constructor, builds the table.
+     *
+     * @param weights
+     *            Relative weight of each index, negative weights count as 0.
+     *            At least one weight must be positive.
+     */
+    public AliasTable(final double[] weights) {
+        int n = weights.length;
+        double total = 0.0;
+        for (double weight : weights)
+            total += Math.max(0.0, weight);
+        if (n == 0 || !(total > 0.0))
+            throw new IllegalArgumentException("Alias table needs a positive weight");
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0.0, weights[i]) * n / total;
+            if (scaled[i] < 1.0)
+                small[smallCount++] = i;
+            else
+                large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            this.probability[less] = scaled[less];
+            this.alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0)
+                small[smallCount++] = more;
+            else
+                large[largeCount++] = more;
+        }
+        // Whatever is left is 1 up to rounding error.
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            this.probability[i] = 1.0;
+            this.alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            this.probability[i] = 1.0;
+            this.alias[i] = i;
+        }
+    }
+
+    /**
+     * Draws an index, with a chance proportional to its weight.
+     *
+     * @param random
+     *            Source of the random number.
+     * @return Index drawn.
+     */
+    public int sample(final Random random) {
+        double roll = random.nextDouble() * this.probability.length;
+        int column = (int) roll;
+        if (column >= this.probability.length)
+            column = this.probability.length - 1;
+        return roll - column < this.probability[column] ? column : this.alias[column];
+    }
+
+    /**
+     * Getter for the number of indices.
+     *
+     * @return Number of weights the table was built from.
+     */
+    public int size() {
+        return this.probability.length;
+    }
+}
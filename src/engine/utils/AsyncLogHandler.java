@@ -0,0 +1,377 @@
+package engine.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Hands log records to other handlers on a background thread. Logging
+ * threads only put the record in a bounded ring buffer, so they never wait on
+ * formatting or disk; when the buffer is full the record is dropped and
+ * counted instead.
+ *
+ * Each message pattern of each logger is also limited to a number of
+ * records per second; the rest are counted and summed up in one line before
+ * the next record of that pattern let through. Messages logged with
+ * parameters keep the same pattern, so they are limited together and only
+ * formatted on the background thread. Patterns not seen for a second are
+ * forgotten when the tracked ones reach their limit.
+ */
+public final class AsyncLogHandler extends Handler {
+
+    /** Pause of the writer thread when the buffer is empty. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    /** Longest wait of flush() and close() for the buffer to drain. */
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /** Length of a rate limiting window. */
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Most message patterns tracked for rate limiting. New patterns past it
+     * are not limited until expired ones are swept out.
+     */
+    private static final int MAX_TRACKED_MESSAGES = 512;
+
+    /** Handlers the records are written to. */
+    private final Handler[] targets;
+
+    /** Records waiting to be written, indexed by sequence & mask. */
+    private final LogRecord[] slots;
+    /** Sequence each slot is ready for, see offer() and poll(). */
+    private final AtomicLongArray sequences;
+    /** Slot count minus one, the slot count is a power of two. */
+    private final int mask;
+    /** Next sequence to write to. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Next sequence to read from, only advanced by the writer thread. */
+    private volatile long head;
+
+    /** Records dropped because the buffer was full, not reported yet. */
+    private final AtomicLong dropped = new AtomicLong();
+    /** Most records of one message pattern per second. */
+    private final int rateLimit;
+    /**
+     * Rate limiting state by logger name, then message pattern, so looking
+     * one up builds no key. Records without a logger name are under "".
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, RateWindow>> windows =
+            new ConcurrentHashMap<String, ConcurrentHashMap<String, RateWindow>>();
+    /** Windows tracked, over every logger. */
+    private final AtomicInteger trackedWindows = new AtomicInteger();
+    /** Earliest time of the next sweep of expired windows. */
+    private final AtomicLong nextSweep = new AtomicLong(Long.MIN_VALUE);
+
+    /** Writes the records. */
+    private final Thread writer;
+    /** If the writer thread keeps going. */
+    private volatile boolean running = true;
+
+    /**
+     * Constructor, starts the writer thread.
+     *
+     * @param capacity
+     *            Most records waiting at once, rounded up to a power of two.
+     * @param rateLimit
+     *            Most records of one message pattern per second, 0 for no
+     *            limit.
+     * @param targets
+     *            Handlers the records are written to, each with its own level
+     *            and formatter.
+     */
+    public AsyncLogHandler(final int capacity, final int rateLimit, final Handler... targets) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new LogRecord[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            this.sequences.set(i, i);
+        this.mask = size - 1;
+        this.rateLimit = rateLimit;
+        this.targets = targets.clone();
+
+        this.writer = new Thread(this::drain, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record to be written, never waits.
+     *
+     * @param logRecord
+     *            Record to write.
+     */
+    @Override
+    public void publish(final LogRecord logRecord) {
+        if (!this.running || !isLoggable(logRecord))
+            return;
+
+        int suppressed = 0;
+        if (this.rateLimit > 0) {
+            suppressed = admit(logRecord.getLoggerName(), logRecord.getMessage());
+            if (suppressed < 0)
+                return;
+        }
+        if (suppressed > 0) {
+            LogRecord summary = new LogRecord(logRecord.getLevel(),
+                    "Suppressed {0} more \"{1}\" messages");
+            summary.setParameters(new Object[] {suppressed, logRecord.getMessage()});
+            summary.setLoggerName(logRecord.getLoggerName());
+            enqueue(summary);
+        }
+        enqueue(logRecord);
+    }
+
+    /**
+     * Waits for the records queued so far to be written, then flushes the
+     * target handlers.
+     */
+    @Override
+    public void flush() {
+        awaitDrained(this.tail.get());
+        for (Handler target : this.targets)
+            target.flush();
+    }
+
+    /**
+     * Writes the records still queued, stops the writer thread and closes the
+     * target handlers.
+     */
+    @Override
+    public void close() {
+        if (!this.running)
+            return;
+        awaitDrained(this.tail.get());
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join(TimeUnit.NANOSECONDS.toMillis(DRAIN_TIMEOUT_NANOS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Handler target : this.targets)
+            target.close();
+    }
+
+    /**
+     * Getter for the records dropped and not reported yet.
+     *
+     * @return Dropped record count.
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Puts a record in the buffer, or counts it as dropped when full.
+     */
+    private void enqueue(final LogRecord logRecord) {
+        if (!offer(logRecord))
+            this.dropped.incrementAndGet();
+    }
+
+    /**
+     * Claims the next slot and fills it. A slot is free when its sequence
+     * equals the position being claimed; the reader sets it one lap ahead
+     * once it took the record out.
+     *
+     * @return False if the buffer is full.
+     */
+    private boolean offer(final LogRecord logRecord) {
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) position & this.mask;
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.slots[index] = logRecord;
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the next record out of the buffer, writer thread only.
+     *
+     * @return Next record, null if none is ready.
+     */
+    private LogRecord poll() {
+        long position = this.head;
+        int index = (int) position & this.mask;
+        if (this.sequences.get(index) != position + 1)
+            return null;
+        LogRecord logRecord = this.slots[index];
+        this.slots[index] = null;
+        this.sequences.set(index, position + this.slots.length);
+        this.head = position + 1;
+        return logRecord;
+    }
+
+    /**
+     * Body of the writer thread.
+     */
+    private void drain() {
+        while (true) {
+            LogRecord logRecord = poll();
+            if (logRecord != null) {
+                write(logRecord);
+                continue;
+            }
+            reportDropped();
+            if (!this.running)
+                return;
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Hands a record to every target handler.
+     */
+    private void write(final LogRecord logRecord) {
+        for (Handler target : this.targets) {
+            try {
+                target.publish(logRecord);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Writes a warning with the number of records dropped since the last one.
+     */
+    private void reportDropped() {
+        long count = this.dropped.getAndSet(0);
+        if (count == 0)
+            return;
+        LogRecord warning = new LogRecord(Level.WARNING, "Log buffer full, dropped {0} records");
+        warning.setParameters(new Object[] {count});
+        write(warning);
+    }
+
+    /**
+     * Waits until the writer thread has read up to a sequence.
+     */
+    private void awaitDrained(final long sequence) {
+        if (Thread.currentThread() == this.writer)
+            return;
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (this.head < sequence && this.writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(this.writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Counts a record against the limit of its message pattern.
+     *
+     * @param loggerName
+     *            Name of the logger, may be null.
+     * @param message
+     *            Message pattern.
+     * @return Records suppressed in the previous window to report, or -1 if
+     *         this one is suppressed.
+     */
+    private int admit(final String loggerName, final String message) {
+        if (message == null)
+            return 0;
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, RateWindow> byMessage =
+                this.windows.get(loggerName == null ? "" : loggerName);
+        RateWindow window = byMessage != null ? byMessage.get(message) : null;
+        if (window == null) {
+            if (this.trackedWindows.get() >= MAX_TRACKED_MESSAGES && !sweep(now))
+                return 0;
+            if (byMessage == null)
+                byMessage = this.windows.computeIfAbsent(loggerName == null ? "" : loggerName,
+                        name -> new ConcurrentHashMap<String, RateWindow>());
+            RateWindow created = new RateWindow();
+            window = byMessage.putIfAbsent(message, created);
+            if (window == null) {
+                window = created;
+                this.trackedWindows.incrementAndGet();
+            }
+        }
+        return window.admit(now, this.rateLimit);
+    }
+
+    /**
+     * Forgets the windows that ended, at most once per window length so a
+     * flood of distinct messages doesn't scan the map on every record.
+     *
+     * @param now
+     *            Current time.
+     * @return True if there is room for a new pattern.
+     */
+    private boolean sweep(final long now) {
+        long next = this.nextSweep.get();
+        if (next != Long.MIN_VALUE && now - next < 0)
+            return false;
+        if (!this.nextSweep.compareAndSet(next, now + RATE_WINDOW_NANOS))
+            return false;
+        for (ConcurrentHashMap<String, RateWindow> byMessage : this.windows.values()) {
+            byMessage.values().removeIf(window -> {
+                if (!window.isExpired(now))
+                    return false;
+                this.trackedWindows.decrementAndGet();
+                return true;
+            });
+        }
+        return this.trackedWindows.get() < MAX_TRACKED_MESSAGES;
+    }
+
+    /**
+     * Records of one message pattern in the current second.
+     */
+    private static final class RateWindow {
+        /** Start of the window. */
+        private long start = Long.MIN_VALUE;
+        /** Records let through in the window. */
+        private int count;
+        /** Records suppressed in the window. */
+        private int suppressed;
+
+        /**
+         * Counts a record.
+         *
+         * @return Records suppressed in the previous window, or -1 if this
+         *         one is suppressed.
+         */
+        private synchronized int admit(final long now, final int limit) {
+            if (this.start == Long.MIN_VALUE || now - this.start >= RATE_WINDOW_NANOS) {
+                int previous = this.suppressed;
+                this.start = now;
+                this.count = 1;
+                this.suppressed = 0;
+                return previous;
+            }
+            if (this.count < limit) {
+                this.count++;
+                return 0;
+            }
+            this.suppressed++;
+            return -1;
+        }
+
+        /**
+         * Checks if the window ended. A count of suppressed records still
+         * held is not reported once the window is forgotten.
+         *
+         * @return True if no record was counted in the last window length.
+         */
+        private synchronized boolean isExpired(final long now) {
+            return this.start == Long.MIN_VALUE || now - this.start >= RATE_WINDOW_NANOS;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package engine.utils;
 
+import engine.RandomService;
+
 /**
  * Imposes a cooldown period between two actions.
  *
@@ -53,7 +55,7 @@ public class Cooldown {
 	 */
 	public final boolean checkFinished() {
 		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+				|| this.time + this.duration < GameClock.millis())
 			return true;
 		return false;
 	}
@@ -62,10 +64,10 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = GameClock.millis();
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
-					+ (int) (Math.random()
+					+ (int) (RandomService.gameplay().nextDouble()
 					* (this.milliseconds + this.variance));
 	}
 
@@ -82,7 +84,7 @@ public class Cooldown {
 
     public int getDuration() {
         if (this.time == 0) return 0; // cooldown hasn't started
-        long elapsed = System.currentTimeMillis() - this.time;
+        long elapsed = GameClock.millis() - this.time;
         return Math.max(0, this.duration - (int) elapsed);
     }
 
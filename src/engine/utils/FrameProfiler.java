@@ -0,0 +1,430 @@
+package engine.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import engine.Core;
+import engine.diagnostics.FrameEvent;
+import engine.diagnostics.Recorder;
+
+/**
+ * Times the phases of each game tick and keeps the last frames of timings,
+ * so stutter can be looked at in game or afterwards.
+ *
+ * The overlay, toggled with F3, shows the rolling median, 95th and 99th
+ * percentile of every phase, with entity counts, pool occupancy and garbage
+ * collections. While the profiler is on, a frame over its budget dumps the
+ * frames kept so far to a CSV file in the profiles directory.
+ *
+ * Timings are recorded by the simulation thread; the render thread only
+ * reports how long its last frame took to draw. When a flight recording has
+ * frame events enabled, each tick is also committed as a {@link FrameEvent}.
+ */
+public final class FrameProfiler {
+
+    /** Parts of a tick timed separately. */
+    public enum Phase {
+        /** Screen input and pause handling. */
+        INPUT("input"),
+        /** Player ships and the special ship. */
+        MOVEMENT("movement"),
+        /** Enemy formation movement and shooting. */
+        FORMATION("formation"),
+        /** Bullet collisions. */
+        COLLISIONS("collisions"),
+        /** Bullet movement and removal. */
+        BULLETS("bullets"),
+        /** Item movement and pickups. */
+        ITEMS("items"),
+        /** Active item effects. */
+        EFFECTS("effects"),
+        /** Drawing, timed on the render thread. */
+        DRAW("draw");
+
+        /** Name shown in the overlay and dumps. */
+        private final String label;
+
+        Phase(final String label) {
+            this.label = label;
+        }
+    }
+
+    /** Number of frames kept. */
+    private static final int HISTORY = 240;
+    /** Ticks between two refreshes of the overlay. */
+    private static final int REFRESH_INTERVAL = 30;
+    /** Directory frame dumps are written to. */
+    private static final String DUMP_DIRECTORY = "profiles";
+    /** Phases of the simulation tick. */
+    private static final Phase[] PHASES = Phase.values();
+
+    /** Singleton instance of the class. */
+    private static FrameProfiler instance;
+
+    /** Application logger. */
+    private final Logger logger;
+    /** Garbage collectors, for collection counts. */
+    private final List<GarbageCollectorMXBean> collectors;
+
+    /** If timings are recorded without the overlay. */
+    private final boolean alwaysOn;
+    /** If the overlay is shown. */
+    private volatile boolean overlayVisible;
+
+    /** Time allowed for one tick, in nanoseconds. */
+    private long tickBudgetNanos = Long.MAX_VALUE;
+    /** Time allowed for drawing one frame, in nanoseconds. */
+    private long drawBudgetNanos = Long.MAX_VALUE;
+
+    /** If the frame being recorded is timed. */
+    private boolean recording;
+    /** If the frame being recorded goes to the overlay and dumps. */
+    private boolean profiling;
+    /** Flight recorder event of the frame being recorded, or null. */
+    private FrameEvent frameEvent;
+    /** Tick of the frame being recorded. */
+    private long frameTick;
+    /** Start of the frame being recorded. */
+    private long frameStart;
+    /** Start of each phase in the frame being recorded. */
+    private final long[] phaseStarts = new long[PHASES.length];
+    /** Time of each phase in the frame being recorded. */
+    private final long[] phaseNanos = new long[PHASES.length];
+
+    /** Number of frames recorded, the last HISTORY are kept. */
+    private long frames;
+    /** Tick of each kept frame. */
+    private final long[] ticks = new long[HISTORY];
+    /** Whole tick time of each kept frame. */
+    private final long[] totals = new long[HISTORY];
+    /** Time of each phase of each kept frame. */
+    private final long[][] samples = new long[PHASES.length][HISTORY];
+    /** Frame count at the last dump, no dump is made before HISTORY more frames. */
+    private long lastDumpFrame = -HISTORY;
+
+    /** Time the render thread took for its last frame. */
+    private volatile long lastDrawNanos;
+
+    /** Enemy ships alive. */
+    private int enemyCount;
+    /** Bullets on screen. */
+    private int bulletCount;
+    /** Bullet slots available. */
+    private int bulletCapacity;
+    /** Items on screen. */
+    private int itemCount;
+
+    /** Overlay text, replaced every refresh, never changed afterwards. */
+    private volatile String[] overlayLines = new String[0];
+    /** Scratch array for percentiles. */
+    private final long[] sorted = new long[HISTORY];
+
+    /**
+     * Private constructor, turned on for good by -Dinvaders.profile=true.
+     */
+    private FrameProfiler() {
+        this.logger = Core.getLogger();
+        this.collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        this.alwaysOn = Boolean.getBoolean("invaders.profile");
+    }
+
+    /**
+     * Returns shared instance of FrameProfiler.
+     *
+     * @return Shared instance of FrameProfiler.
+     */
+    public static synchronized FrameProfiler getInstance() {
+        if (instance == null)
+            instance = new FrameProfiler();
+        return instance;
+    }
+
+    /**
+     * Shows or hides the overlay. Hiding it stops recording, unless the
+     * profiler was turned on from the command line.
+     */
+    public void toggleOverlay() {
+        this.overlayVisible = !this.overlayVisible;
+        this.logger.info("Frame profiler overlay " + (this.overlayVisible ? "shown" : "hidden"));
+    }
+
+    /**
+     * Checks if the overlay is shown.
+     *
+     * @return True if the overlay is shown.
+     */
+    public boolean isOverlayVisible() {
+        return this.overlayVisible;
+    }
+
+    /**
+     * Checks if timings are recorded.
+     *
+     * @return True while the overlay is shown or the profiler was turned on.
+     */
+    public boolean isActive() {
+        return this.alwaysOn || this.overlayVisible;
+    }
+
+    /**
+     * Sets the budgets frames are checked against.
+     *
+     * @param tickNanos
+     *            Time allowed for one tick, in nanoseconds.
+     * @param drawNanos
+     *            Time allowed for drawing one frame, in nanoseconds.
+     */
+    public void setBudgets(final long tickNanos, final long drawNanos) {
+        this.tickBudgetNanos = tickNanos;
+        this.drawBudgetNanos = drawNanos;
+    }
+
+    /**
+     * Starts recording a frame.
+     *
+     * @param tick
+     *            Simulation tick being run.
+     */
+    public void beginFrame(final long tick) {
+        this.profiling = isActive();
+        if (Recorder.isRecording()) {
+            FrameEvent event = new FrameEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                this.frameEvent = event;
+            }
+        }
+        this.recording = this.profiling || this.frameEvent != null;
+        if (!this.recording)
+            return;
+        this.frameTick = tick;
+        Arrays.fill(this.phaseNanos, 0);
+        this.frameStart = System.nanoTime();
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase
+     *            Phase starting.
+     */
+    public void begin(final Phase phase) {
+        if (this.recording)
+            this.phaseStarts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase, a phase timed twice in a frame adds up.
+     *
+     * @param phase
+     *            Phase ending.
+     */
+    public void end(final Phase phase) {
+        if (this.recording)
+            this.phaseNanos[phase.ordinal()] += System.nanoTime() - this.phaseStarts[phase.ordinal()];
+    }
+
+    /**
+     * Records what the frame ended with, to be shown in the overlay.
+     *
+     * @param enemies
+     *            Enemy ships alive.
+     * @param bullets
+     *            Bullets on screen.
+     * @param bulletSlots
+     *            Bullet slots available.
+     * @param items
+     *            Items on screen.
+     */
+    public void setCounts(final int enemies, final int bullets, final int bulletSlots, final int items) {
+        this.enemyCount = enemies;
+        this.bulletCount = bullets;
+        this.bulletCapacity = bulletSlots;
+        this.itemCount = items;
+    }
+
+    /**
+     * Stops recording a frame. Dumps the frames kept if this one went over
+     * budget, and refreshes the overlay every few frames.
+     */
+    public void endFrame() {
+        if (!this.recording)
+            return;
+        this.recording = false;
+        long total = System.nanoTime() - this.frameStart;
+        long draw = this.lastDrawNanos;
+        this.phaseNanos[Phase.DRAW.ordinal()] = draw;
+        if (this.frameEvent != null) {
+            commitFrameEvent();
+            this.frameEvent = null;
+        }
+        if (!this.profiling)
+            return;
+
+        int slot = (int) (this.frames++ % HISTORY);
+        this.ticks[slot] = this.frameTick;
+        this.totals[slot] = total;
+        for (int p = 0; p < PHASES.length; p++)
+            this.samples[p][slot] = this.phaseNanos[p];
+
+        if ((total > this.tickBudgetNanos || draw > this.drawBudgetNanos)
+                && this.frames - this.lastDumpFrame >= HISTORY) {
+            this.lastDumpFrame = this.frames;
+            dump(total, draw);
+        }
+
+        if (this.overlayVisible && this.frames % REFRESH_INTERVAL == 0)
+            this.overlayLines = buildOverlay();
+    }
+
+    /**
+     * Records how long drawing a frame took, called on the render thread.
+     *
+     * @param nanos
+     *            Drawing time, in nanoseconds.
+     */
+    public void recordDraw(final long nanos) {
+        this.lastDrawNanos = nanos;
+    }
+
+    /**
+     * Getter for the overlay text.
+     *
+     * @return Lines to show, empty until the first refresh.
+     */
+    public String[] getOverlayLines() {
+        return this.overlayLines;
+    }
+
+    /**
+     * Fills in and commits the flight recorder event of the frame.
+     */
+    private void commitFrameEvent() {
+        FrameEvent event = this.frameEvent;
+        event.tick = this.frameTick;
+        event.input = this.phaseNanos[Phase.INPUT.ordinal()];
+        event.movement = this.phaseNanos[Phase.MOVEMENT.ordinal()];
+        event.formation = this.phaseNanos[Phase.FORMATION.ordinal()];
+        event.collisions = this.phaseNanos[Phase.COLLISIONS.ordinal()];
+        event.bullets = this.phaseNanos[Phase.BULLETS.ordinal()];
+        event.items = this.phaseNanos[Phase.ITEMS.ordinal()];
+        event.effects = this.phaseNanos[Phase.EFFECTS.ordinal()];
+        event.draw = this.phaseNanos[Phase.DRAW.ordinal()];
+        event.enemyCount = this.enemyCount;
+        event.bulletCount = this.bulletCount;
+        event.itemCount = this.itemCount;
+        event.commit();
+    }
+
+    /**
+     * Builds the overlay text from the frames kept.
+     *
+     * @return Overlay lines.
+     */
+    private String[] buildOverlay() {
+        List<String> lines = new ArrayList<String>();
+        lines.add(String.format("%-10s %6s %6s %6s", "ms", "p50", "p95", "p99"));
+        for (int p = 0; p < PHASES.length; p++)
+            lines.add(percentileLine(PHASES[p].label, this.samples[p]));
+        lines.add(percentileLine("tick", this.totals));
+
+        lines.add("enemies " + this.enemyCount + "  bullets " + this.bulletCount + "/"
+                + this.bulletCapacity + "  items " + this.itemCount);
+        for (ObjectPool<?> pool : ObjectPool.getPools())
+            lines.add("pool " + pool.getName() + "  out " + pool.getOutstanding()
+                    + "  free " + pool.getFree() + "/" + pool.getCapacity());
+        for (GarbageCollectorMXBean collector : this.collectors)
+            lines.add("gc " + collector.getName() + "  " + collector.getCollectionCount()
+                    + " (" + collector.getCollectionTime() + " ms)");
+        return lines.toArray(new String[0]);
+    }
+
+    /**
+     * Formats the percentiles of one series of timings.
+     */
+    private String percentileLine(final String label, final long[] series) {
+        int count = (int) Math.min(this.frames, HISTORY);
+        System.arraycopy(series, 0, this.sorted, 0, count);
+        Arrays.sort(this.sorted, 0, count);
+        return String.format("%-10s %6.2f %6.2f %6.2f", label,
+                percentile(count, 0.50), percentile(count, 0.95), percentile(count, 0.99));
+    }
+
+    /**
+     * Gets a percentile of the sorted scratch array, in milliseconds.
+     */
+    private double percentile(final int count, final double fraction) {
+        if (count == 0)
+            return 0;
+        return this.sorted[(int) Math.round((count - 1) * fraction)] / 1_000_000.0;
+    }
+
+    /**
+     * Copies the frames kept, oldest first, and writes them on a background
+     * thread so the slow frame is not made slower.
+     *
+     * @param total
+     *            Time of the frame over budget.
+     * @param draw
+     *            Drawing time of the frame over budget.
+     */
+    private void dump(final long total, final long draw) {
+        int count = (int) Math.min(this.frames, HISTORY);
+        int first = (int) ((this.frames - count) % HISTORY);
+        long[][] rows = new long[count][];
+        for (int i = 0; i < count; i++) {
+            int slot = (first + i) % HISTORY;
+            long[] row = new long[PHASES.length + 2];
+            row[0] = this.ticks[slot];
+            row[1] = this.totals[slot];
+            for (int p = 0; p < PHASES.length; p++)
+                row[p + 2] = this.samples[p][slot];
+            rows[i] = row;
+        }
+
+        Path path = Paths.get(DUMP_DIRECTORY, "frames-" + System.currentTimeMillis()
+                + "-" + this.frameTick + ".csv");
+        this.logger.warning(String.format("Frame %d over budget (tick %.2f ms, draw %.2f ms), "
+                + "dumping %d frames to %s", this.frameTick, total / 1_000_000.0,
+                draw / 1_000_000.0, count, path));
+
+        Thread writer = new Thread(() -> write(path, rows), "profiler-dump");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes dumped frames as CSV, one row per frame, times in nanoseconds.
+     */
+    private void write(final Path path, final long[][] rows) {
+        try {
+            Files.createDirectories(path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                writer.write("tick,total");
+                for (Phase phase : PHASES)
+                    writer.write("," + phase.label);
+                writer.newLine();
+                for (long[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        if (i > 0)
+                            writer.write(',');
+                        writer.write(Long.toString(row[i]));
+                    }
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            this.logger.warning("Could not write frame dump " + path + ": " + e.getMessage());
+        }
+    }
+}
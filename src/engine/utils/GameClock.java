@@ -0,0 +1,71 @@
+package engine.utils;
+
+/**
+ * Source of the time gameplay timers are measured against. Normally the
+ * system clock; headless runs switch it to a simulated clock that only
+ * advances with the simulation ticks, so timers behave the same however fast
+ * the ticks are run.
+ */
+public final class GameClock {
+
+    /** Time the simulated clock starts at, cooldowns treat 0 as unset. */
+    private static final long SIMULATED_START_NANOS = 1_000_000_000L;
+
+    /** If the simulated clock is in use. */
+    private static volatile boolean simulated;
+    /** Current simulated time. */
+    private static volatile long simulatedNanos;
+
+    /**
+     * Constructor, not called.
+     */
+    private GameClock() {
+
+    }
+
+    /**
+     * Gets the current time.
+     *
+     * @return Time in milliseconds.
+     */
+    public static long millis() {
+        if (simulated)
+            return simulatedNanos / 1_000_000L;
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Switches to the simulated clock, starting from a fixed time.
+     */
+    public static void useSimulated() {
+        simulatedNanos = SIMULATED_START_NANOS;
+        simulated = true;
+    }
+
+    /**
+     * Switches back to the system clock.
+     */
+    public static void useSystem() {
+        simulated = false;
+    }
+
+    /**
+     * Checks if the simulated clock is in use.
+     *
+     * @return True if time only advances with advance().
+     */
+    public static boolean isSimulated() {
+        return simulated;
+    }
+
+    /**
+     * Moves the simulated clock forward, does nothing on the system clock.
+     *
+     * @param nanos
+     *            Time elapsed, usually one tick.
+     */
+    public static void advance(final long nanos) {
+        if (simulated)
+            simulatedNanos += nanos;
+    }
+}
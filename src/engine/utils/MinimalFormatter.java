@@ -26,7 +26,7 @@ public class MinimalFormatter extends Formatter {
 		StringBuilder output = new StringBuilder().append("[")
 				.append(logRecord.getLevel()).append('|')
 				.append(FORMAT.format(new Date(logRecord.getMillis())))
-				.append("]: ").append(logRecord.getMessage()).append(' ')
+				.append("]: ").append(formatMessage(logRecord)).append(' ')
 				.append(LINE_SEPARATOR);
 
 		return output.toString();
@@ -0,0 +1,295 @@
+package engine.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import engine.diagnostics.PoolMissEvent;
+import engine.diagnostics.Recorder;
+
+/**
+ * Bounded pool of reusable objects. Free objects are kept on an array stack;
+ * acquiring takes the top one or creates a new one when the stack is empty,
+ * releasing runs the reset hook and pushes the object back, or drops it when
+ * the stack is full.
+ *
+ * A pool can also give each thread a small cache of its own, so threads
+ * acquiring and releasing often do not contend on the shared stack.
+ *
+ * Every pool registers itself on creation and counts hits, misses, drops and
+ * the most objects out at once, so pooling can be checked engine-wide.
+ *
+ * @param <T>
+ *            Type of the pooled objects.
+ */
+public final class ObjectPool<T> {
+
+    /** Every pool created, in creation order. */
+    private static final List<ObjectPool<?>> POOLS = new CopyOnWriteArrayList<ObjectPool<?>>();
+
+    /** Name shown in statistics. */
+    private final String name;
+    /** Creates new objects. */
+    private final Supplier<T> factory;
+    /** Clears an object being released, may be null. */
+    private final Consumer<T> resetHook;
+
+    /** Free objects, the first freeCount slots are used. */
+    private final Object[] free;
+    /** Number of free objects on the shared stack. */
+    private int freeCount;
+    /** Per-thread stacks of free objects, null if disabled. */
+    private final ThreadLocal<LocalCache> localCaches;
+
+    /** Acquisitions answered with a free object. */
+    private final LongAdder hits = new LongAdder();
+    /** Acquisitions that created a new object. */
+    private final LongAdder misses = new LongAdder();
+    /** Released objects dropped because the pool was full. */
+    private final LongAdder drops = new LongAdder();
+    /** Objects currently acquired and not released. */
+    private final AtomicInteger outstanding = new AtomicInteger();
+    /** Most objects out at once. */
+    private final AtomicInteger highWater = new AtomicInteger();
+
+    /**
+     * Constructor, creates a pool without thread-local caches.
+     *
+     * @param name
+     *            Name shown in statistics.
+     * @param capacity
+     *            Most free objects kept.
+     * @param factory
+     *            Creates new objects.
+     * @param resetHook
+     *            Clears an object being released, may be null.
+     */
+    public ObjectPool(final String name, final int capacity, final Supplier<T> factory,
+                      final Consumer<T> resetHook) {
+        this(name, capacity, 0, factory, resetHook);
+    }
+
+    /**
+     * Constructor, creates a pool.
+     *
+     * @param name
+     *            Name shown in statistics.
+     * @param capacity
+     *            Most free objects kept on the shared stack.
+     * @param localCacheSize
+     *            Most free objects kept by each thread, 0 to disable
+     *            thread-local caches.
+     * @param factory
+     *            Creates new objects.
+     * @param resetHook
+     *            Clears an object being released, may be null.
+     */
+    public ObjectPool(final String name, final int capacity, final int localCacheSize,
+                      final Supplier<T> factory, final Consumer<T> resetHook) {
+        this.name = name;
+        this.factory = factory;
+        this.resetHook = resetHook;
+        this.free = new Object[Math.max(1, capacity)];
+        this.localCaches = localCacheSize > 0
+                ? ThreadLocal.withInitial(() -> new LocalCache(localCacheSize))
+                : null;
+        POOLS.add(this);
+    }
+
+    /**
+     * Fills the shared stack up to a number of free objects.
+     *
+     * @param count
+     *            Number of free objects wanted.
+     */
+    public void prewarm(final int count) {
+        int target = Math.min(count, this.free.length);
+        while (true) {
+            synchronized (this) {
+                if (this.freeCount >= target)
+                    return;
+            }
+            T object = this.factory.get();
+            synchronized (this) {
+                if (this.freeCount < this.free.length)
+                    this.free[this.freeCount++] = object;
+            }
+        }
+    }
+
+    /**
+     * Takes a free object, or creates one when there is none.
+     *
+     * @return Object, to be given back with release().
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        T object = null;
+        if (this.localCaches != null)
+            object = this.localCaches.get().pop();
+        if (object == null) {
+            synchronized (this) {
+                if (this.freeCount > 0) {
+                    object = (T) this.free[--this.freeCount];
+                    this.free[this.freeCount] = null;
+                }
+            }
+        }
+
+        boolean missed = object == null;
+        if (missed) {
+            this.misses.increment();
+            object = this.factory.get();
+        } else {
+            this.hits.increment();
+        }
+        int out = this.outstanding.incrementAndGet();
+        this.highWater.accumulateAndGet(out, Math::max);
+
+        if (missed && Recorder.isRecording()) {
+            PoolMissEvent event = new PoolMissEvent();
+            if (event.shouldCommit()) {
+                event.pool = this.name;
+                event.outstanding = out;
+                event.capacity = this.free.length;
+                event.commit();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Resets an object and gives it back to the pool.
+     *
+     * @param object
+     *            Object acquired from this pool.
+     */
+    public void release(final T object) {
+        if (object == null)
+            return;
+        if (this.resetHook != null)
+            this.resetHook.accept(object);
+        this.outstanding.decrementAndGet();
+
+        if (this.localCaches != null && this.localCaches.get().push(object))
+            return;
+        synchronized (this) {
+            if (this.freeCount < this.free.length) {
+                this.free[this.freeCount++] = object;
+                return;
+            }
+        }
+        this.drops.increment();
+    }
+
+    /**
+     * Gives a number of objects back to the pool.
+     *
+     * @param objects
+     *            Objects acquired from this pool.
+     */
+    public void releaseAll(final Collection<? extends T> objects) {
+        for (T object : objects)
+            release(object);
+    }
+
+    /**
+     * Resets the statistics, keeping the free objects.
+     */
+    public void resetStats() {
+        this.hits.reset();
+        this.misses.reset();
+        this.drops.reset();
+        this.highWater.set(this.outstanding.get());
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getDrops() {
+        return this.drops.sum();
+    }
+
+    public int getOutstanding() {
+        return this.outstanding.get();
+    }
+
+    public int getHighWater() {
+        return this.highWater.get();
+    }
+
+    /**
+     * Getter for the number of free objects on the shared stack.
+     *
+     * @return Free object count, thread-local caches not included.
+     */
+    public synchronized int getFree() {
+        return this.freeCount;
+    }
+
+    public int getCapacity() {
+        return this.free.length;
+    }
+
+    /**
+     * Describes the statistics, for logging.
+     *
+     * @return Pool statistics.
+     */
+    public String stats() {
+        return this.name + ": hits=" + getHits() + " misses=" + getMisses() + " drops=" + getDrops()
+                + " out=" + getOutstanding() + " highWater=" + getHighWater()
+                + " free=" + getFree() + "/" + getCapacity();
+    }
+
+    /**
+     * Getter for every pool created.
+     *
+     * @return Read-only list of pools.
+     */
+    public static List<ObjectPool<?>> getPools() {
+        return Collections.unmodifiableList(POOLS);
+    }
+
+    /**
+     * Free objects kept by one thread.
+     */
+    private final class LocalCache {
+        private final Object[] objects;
+        private int count;
+
+        private LocalCache(final int size) {
+            this.objects = new Object[size];
+        }
+
+        @SuppressWarnings("unchecked")
+        private T pop() {
+            if (this.count == 0)
+                return null;
+            T object = (T) this.objects[--this.count];
+            this.objects[this.count] = null;
+            return object;
+        }
+
+        private boolean push(final T object) {
+            if (this.count == this.objects.length)
+                return false;
+            this.objects[this.count++] = object;
+            return true;
+        }
+    }
+}
@@ -65,7 +65,18 @@ public class Bullet extends Entity {
      * Updates the bullet's position.
      */
     public final void update() {
-        this.positionY += this.speed;
+        update(this.speed);
+    }
+
+    /**
+     * Moves the bullet the given distance along its direction.
+     *
+     * @param distance
+     *                 Distance to move, usually the speed scaled to the tick
+     *                 rate - positive is down.
+     */
+    public final void update(final int distance) {
+        this.positionY += distance;
     }
 
     /**
@@ -0,0 +1,284 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.AssetManager.SpriteType;
+import engine.renderer.WorldSnapshot;
+import entity.Entity.Team;
+
+/**
+ * Every bullet on screen, stored as parallel arrays indexed by slot. Live
+ * bullets fill the first slots, so updating them walks contiguous memory.
+ * Bullets are marked for removal while the tick runs and dropped together
+ * afterwards, each freed slot taking the last bullet.
+ */
+public final class BulletBuffer {
+
+    /** Initial number of bullets, grows when needed. */
+    private static final int INITIAL_CAPACITY = 64;
+    /** Teams by ordinal. */
+    private static final Team[] TEAMS = Team.values();
+
+    /** Number of live bullets, they fill the first slots of the arrays. */
+    private int count;
+    /** Position in the x-axis of the upper left corner of each bullet. */
+    private int[] positionX = new int[INITIAL_CAPACITY];
+    /** Position in the y-axis of the upper left corner of each bullet. */
+    private int[] positionY = new int[INITIAL_CAPACITY];
+    /** Position in the x-axis at the start of the current tick. */
+    private int[] previousX = new int[INITIAL_CAPACITY];
+    /** Position in the y-axis at the start of the current tick. */
+    private int[] previousY = new int[INITIAL_CAPACITY];
+    private int[] widths = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+    /** Speed of each bullet, positive is down. */
+    private int[] speeds = new int[INITIAL_CAPACITY];
+    /** Player who fired each bullet: 0 = enemy, 1 = P1, 2 = P2. */
+    private byte[] owners = new byte[INITIAL_CAPACITY];
+    /** Team ordinal of each bullet. */
+    private byte[] teams = new byte[INITIAL_CAPACITY];
+    /** If each bullet is to be dropped at the next removeMarked(). */
+    private boolean[] marked = new boolean[INITIAL_CAPACITY];
+    /** Number of bullets marked for removal. */
+    private int markedCount;
+
+    /**
+     * Makes room for a number of bullets, so adding up to that many does not
+     * allocate.
+     *
+     * @param slots
+     *            Number of bullets to make room for.
+     */
+    public void reserve(final int slots) {
+        while (this.positionX.length < slots)
+            grow();
+    }
+
+    /**
+     * Getter for the number of bullets the arrays have room for.
+     *
+     * @return Allocated slots.
+     */
+    public int capacity() {
+        return this.positionX.length;
+    }
+
+    /**
+     * Adds a bullet.
+     *
+     * @param x
+     *            Position in the x-axis of the left side of the bullet.
+     * @param y
+     *            Position in the y-axis of the upper side of the bullet.
+     * @param speed
+     *            Speed of the bullet, positive is down.
+     * @param width
+     *            Width of the bullet.
+     * @param height
+     *            Height of the bullet.
+     * @param team
+     *            Team of the bullet.
+     * @param owner
+     *            Player who fired it, 0 for enemies.
+     * @return Slot of the new bullet.
+     */
+    public int add(final int x, final int y, final int speed, final int width, final int height,
+                   final Team team, final int owner) {
+        if (this.count == this.positionX.length)
+            grow();
+        int i = this.count++;
+        this.positionX[i] = x;
+        this.positionY[i] = y;
+        this.previousX[i] = x;
+        this.previousY[i] = y;
+        this.widths[i] = width;
+        this.heights[i] = height;
+        this.speeds[i] = speed;
+        this.owners[i] = (byte) owner;
+        this.teams[i] = (byte) (team == null ? Team.NEUTRAL : team).ordinal();
+        this.marked[i] = false;
+        return i;
+    }
+
+    /**
+     * Moves a bullet vertically.
+     *
+     * @param i
+     *            Bullet slot.
+     * @param distance
+     *            Distance to move, positive is down.
+     */
+    public void move(final int i, final int distance) {
+        this.positionY[i] += distance;
+    }
+
+    /**
+     * Remembers the position of every bullet as the start of the next tick.
+     */
+    public void capturePositions() {
+        System.arraycopy(this.positionX, 0, this.previousX, 0, this.count);
+        System.arraycopy(this.positionY, 0, this.previousY, 0, this.count);
+    }
+
+    /**
+     * Marks a bullet to be dropped at the next removeMarked(). Slots keep
+     * their bullets until then, so the tick can keep iterating by index.
+     *
+     * @param i
+     *            Bullet slot.
+     * @return False if it was already marked.
+     */
+    public boolean mark(final int i) {
+        if (this.marked[i])
+            return false;
+        this.marked[i] = true;
+        this.markedCount++;
+        return true;
+    }
+
+    /**
+     * Checks if a bullet is marked for removal.
+     *
+     * @param i
+     *            Bullet slot.
+     * @return True if it will be dropped.
+     */
+    public boolean isMarked(final int i) {
+        return this.marked[i];
+    }
+
+    /**
+     * Drops every marked bullet, moving the last bullets into the freed
+     * slots.
+     *
+     * @return Number of bullets dropped.
+     */
+    public int removeMarked() {
+        int removed = this.markedCount;
+        int i = 0;
+        while (this.markedCount > 0 && i < this.count) {
+            if (this.marked[i]) {
+                this.markedCount--;
+                copy(--this.count, i);
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drops every bullet.
+     */
+    public void clear() {
+        Arrays.fill(this.marked, 0, this.count, false);
+        this.count = 0;
+        this.markedCount = 0;
+    }
+
+    /**
+     * Adds every bullet to a snapshot.
+     *
+     * @param snapshot
+     *            Snapshot of the tick being drawn.
+     */
+    public void capture(final WorldSnapshot snapshot) {
+        for (int i = 0; i < this.count; i++)
+            snapshot.addSprite(this.speeds[i] < 0 ? SpriteType.Bullet : SpriteType.EnemyBullet,
+                    Color.WHITE, this.previousX[i], this.previousY[i],
+                    this.positionX[i], this.positionY[i], this.widths[i], this.heights[i]);
+    }
+
+    /**
+     * Copies a bullet into an entity, so code working on entities, like
+     * collision queries, can look at it.
+     *
+     * @param i
+     *            Bullet slot.
+     * @param view
+     *            Bullet entity to overwrite.
+     * @return The given view.
+     */
+    public Bullet load(final int i, final Bullet view) {
+        view.setPositionX(this.positionX[i]);
+        view.setPositionY(this.positionY[i]);
+        view.setSize(this.widths[i], this.heights[i]);
+        view.setSpeed(this.speeds[i]);
+        view.setTeam(TEAMS[this.teams[i]]);
+        view.setOwnerPlayerId(this.owners[i]);
+        view.setSprite();
+        return view;
+    }
+
+    /**
+     * Getter for the number of live bullets.
+     *
+     * @return Bullet count, marked ones included.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    public int getPositionX(final int i) {
+        return this.positionX[i];
+    }
+
+    public int getPositionY(final int i) {
+        return this.positionY[i];
+    }
+
+    public int getWidth(final int i) {
+        return this.widths[i];
+    }
+
+    public int getHeight(final int i) {
+        return this.heights[i];
+    }
+
+    public int getSpeed(final int i) {
+        return this.speeds[i];
+    }
+
+    public int getOwner(final int i) {
+        return this.owners[i];
+    }
+
+    public Team getTeam(final int i) {
+        return TEAMS[this.teams[i]];
+    }
+
+    /**
+     * Moves a bullet to another slot.
+     */
+    private void copy(final int from, final int to) {
+        this.positionX[to] = this.positionX[from];
+        this.positionY[to] = this.positionY[from];
+        this.previousX[to] = this.previousX[from];
+        this.previousY[to] = this.previousY[from];
+        this.widths[to] = this.widths[from];
+        this.heights[to] = this.heights[from];
+        this.speeds[to] = this.speeds[from];
+        this.owners[to] = this.owners[from];
+        this.teams[to] = this.teams[from];
+        this.marked[to] = this.marked[from];
+        this.marked[from] = false;
+    }
+
+    /**
+     * Doubles the room for bullets.
+     */
+    private void grow() {
+        int capacity = this.positionX.length * 2;
+        this.positionX = Arrays.copyOf(this.positionX, capacity);
+        this.positionY = Arrays.copyOf(this.positionY, capacity);
+        this.previousX = Arrays.copyOf(this.previousX, capacity);
+        this.previousY = Arrays.copyOf(this.previousY, capacity);
+        this.widths = Arrays.copyOf(this.widths, capacity);
+        this.heights = Arrays.copyOf(this.heights, capacity);
+        this.speeds = Arrays.copyOf(this.speeds, capacity);
+        this.owners = Arrays.copyOf(this.owners, capacity);
+        this.teams = Arrays.copyOf(this.teams, capacity);
+        this.marked = Arrays.copyOf(this.marked, capacity);
+    }
+}
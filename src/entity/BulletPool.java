@@ -1,19 +1,44 @@
 package entity;
 
-import java.util.HashSet;
-import java.util.Set;
+import engine.GameSettings;
+import engine.GameState;
+import engine.diagnostics.PoolMissEvent;
+import engine.diagnostics.Recorder;
 import entity.Entity.Team;
 
 /**
- * Implements a pool of recyclable bullets.
+ * Hands out bullet slots of a {@link BulletBuffer}. The buffer's arrays work
+ * as a stack of slots: firing takes the slot above the live bullets and
+ * dropping a bullet gives one back, so steady play does not allocate.
+ *
+ * The pool is bounded. Slots are reserved up front for the bullets a level is
+ * expected to need; going past them grows the buffer and counts a miss, and
+ * shots past the capacity are dropped and counted as evictions.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
  */
 public final class BulletPool {
 
-    /** Set of already created bullets. */
-    private static Set<Bullet> pool = new HashSet<Bullet>();
+    /** Default maximum number of bullets on screen. */
+    public static final int DEFAULT_CAPACITY = 512;
+    /** Time an enemy bullet takes to cross the screen, in milliseconds. */
+    private static final int ENEMY_BULLET_FLIGHT = 3000;
+    /** Bullets a player can have on screen, per bullet of a shot. */
+    private static final int PLAYER_BULLETS_IN_FLIGHT = 8;
+    /** Most bullets fired by one shot. */
+    private static final int MAX_BULLETS_PER_SHOT = 3;
+
+    /** Maximum number of bullets on screen. */
+    private static int capacity = DEFAULT_CAPACITY;
+    /** Shots that got a reserved slot this level. */
+    private static long hits;
+    /** Shots that had to grow the buffer this level. */
+    private static long misses;
+    /** Shots dropped because the pool was full this level. */
+    private static long evictions;
+    /** Most bullets on screen at once this level. */
+    private static int highWater;
 
     /**
      * Constructor, not called.
@@ -23,11 +48,65 @@ public final class BulletPool {
     }
 
     /**
-     * Returns a bullet from the pool if one is available, a new one if there
-     * isn't.
+     * Sets the maximum number of bullets on screen.
+     *
+     * @param newCapacity
+     *            New capacity, at least 1.
+     */
+    public static void setCapacity(final int newCapacity) {
+        capacity = Math.max(1, newCapacity);
+    }
+
+    /**
+     * Getter for the maximum number of bullets on screen.
+     *
+     * @return Pool capacity.
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Starts a level: empties the buffer, reserves the slots the level is
+     * expected to need and resets the counters.
+     *
+     * @param bullets
+     *            Bullets on screen.
+     * @param gameSettings
+     *            Settings of the level.
+     */
+    public static void reset(final BulletBuffer bullets, final GameSettings gameSettings) {
+        bullets.clear();
+        bullets.reserve(Math.min(capacity, expectedBullets(gameSettings)));
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        highWater = 0;
+    }
+
+    /**
+     * Estimates the most bullets a level has on screen: two per enemy shot
+     * in flight, plus every player firing triple shots.
+     *
+     * @param gameSettings
+     *            Settings of the level.
+     * @return Number of slots to reserve.
+     */
+    public static int expectedBullets(final GameSettings gameSettings) {
+        // Enemy shots come at least 70% of the shooting frequency apart.
+        int shortestInterval = Math.max(1, gameSettings.getShootingFrequency() * 7 / 10);
+        int enemyBullets = 2 * (ENEMY_BULLET_FLIGHT / shortestInterval + 1);
+        int playerBullets = GameState.NUM_PLAYERS * MAX_BULLETS_PER_SHOT * PLAYER_BULLETS_IN_FLIGHT;
+        return enemyBullets + playerBullets;
+    }
+
+    /**
+     * Adds a bullet to the buffer, centered on the requested position.
      *
+     * @param bullets
+     *            Bullets on screen.
      * @param positionX
-     *            Requested position of the bullet in the X axis.
+     *            Requested position of the bullet center in the X axis.
      * @param positionY
      *            Requested position of the bullet in the Y axis.
      * @param speed
@@ -39,36 +118,80 @@ public final class BulletPool {
      *            Requested size of the bullet height.
      * @param team
      *            Requested team type.
-     * @return Requested bullet.
+     * @param owner
+     *            Player who fired the bullet, 0 for enemies.
+     * @return Slot of the bullet in the buffer, -1 if the pool is full.
      */
-    public static Bullet getBullet(final int positionX,
-                                   final int positionY, final int speed, final int width, final int height, final Team team) {
-        Bullet bullet;
-        if (!pool.isEmpty()) {
-            bullet = pool.iterator().next();
-            pool.remove(bullet);
-            bullet.setPositionX(positionX - width / 2);
-            bullet.setPositionY(positionY);
-            bullet.setSpeed(speed);
-            bullet.setSize(width, height);  // bullet size
-            bullet.setTeam(team);	// team setting
+    public static int fire(final BulletBuffer bullets, final int positionX,
+                           final int positionY, final int speed, final int width, final int height,
+                           final Team team, final int owner) {
+        int live = bullets.size();
+        if (live >= capacity) {
+            evictions++;
+            return -1;
+        }
+        if (live < bullets.capacity()) {
+            hits++;
         } else {
-            bullet = new Bullet(positionX, positionY, width, height, speed);
-            bullet.setPositionX(positionX - width / 2);
-            bullet.setSize(width, height); // bullet size
-            bullet.setTeam(team); // team setting
+            misses++;
+            if (Recorder.isRecording()) {
+                PoolMissEvent event = new PoolMissEvent();
+                if (event.shouldCommit()) {
+                    event.pool = "bullets";
+                    event.outstanding = live + 1;
+                    event.capacity = capacity;
+                    event.commit();
+                }
+            }
         }
-        bullet.setSprite();
-        return bullet;
+        if (live + 1 > highWater)
+            highWater = live + 1;
+        return bullets.add(positionX - width / 2, positionY, speed, width, height, team, owner);
+    }
+
+    /**
+     * Getter for the shots that got a reserved slot this level.
+     *
+     * @return Pool hits.
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for the shots that had to grow the buffer this level.
+     *
+     * @return Pool misses.
+     */
+    public static long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for the shots dropped because the pool was full this level.
+     *
+     * @return Pool evictions.
+     */
+    public static long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Getter for the most bullets on screen at once this level.
+     *
+     * @return High-water mark.
+     */
+    public static int getHighWater() {
+        return highWater;
     }
 
     /**
-     * Adds one or more bullets to the list of available ones.
+     * Describes the counters, for logging.
      *
-     * @param bullet
-     *            Bullets to recycle.
+     * @return Counters of this level.
      */
-    public static void recycle(final Set<Bullet> bullet) {
-        pool.addAll(bullet);
+    public static String stats() {
+        return "hits=" + hits + " misses=" + misses + " evictions=" + evictions
+                + " highWater=" + highWater + "/" + capacity;
     }
-}
\ No newline at end of file
+}
@@ -43,6 +43,8 @@ public class EnemyShip extends Entity {
     /** Current health of the enemy ship */
     private int health;
     private int initialHealth;
+    /** Grid slot of the ship in its formation, -1 if it has none. */
+    int formationSlot = -1;
 
     /**
      * Constructor, establishes the ship's properties.
@@ -59,6 +61,7 @@ public class EnemyShip extends Entity {
         super(positionX, positionY, 12 * 2, 8 * 2, Color.WHITE);
 
         this.spriteType = spriteType;
+        this.team = Team.ENEMY;
         this.animationCooldown = Core.getCooldown(500);
         this.bossAnimationCooldown = Core.getCooldown(500);
         this.isDestroyed = false;
@@ -117,6 +120,7 @@ public class EnemyShip extends Entity {
         super(-32, 80, 16 * 2, 7 * 2, Color.RED);
 
         this.spriteType = SpriteType.EnemyShipSpecial;
+        this.team = Team.ENEMY;
         this.isDestroyed = false;
         this.pointValue = BONUS_TYPE_POINTS;
         this.coinValue = BONUS_TYPE_COINS;
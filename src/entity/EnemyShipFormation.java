@@ -1,19 +1,21 @@
 package entity;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import engine.*;
+import engine.renderer.WorldSnapshot;
 import engine.utils.Cooldown;
 import screen.Screen;
 import engine.AssetManager.SpriteType;
 
 /**
- * Groups enemy ships into a formation that moves together.
+ * Groups enemy ships into a formation that moves together. Ships sit in a
+ * dense (column, row) grid; per-column bitmasks track which are still in the
+ * formation and which are alive, and every position derives from the
+ * formation origin.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
@@ -47,15 +49,38 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     /** Minimum speed allowed. */
     private static final int MINIMUM_SPEED = 10;
 
-    /** DrawManager instance. */
-    private DrawManager drawManager;
-    /** Application logger. */
+    /** Formation logger, quiet by default. */
     private Logger logger;
     /** Screen to draw ships on. */
     private Screen screen;
 
-    /** List of enemy ships forming the formation. */
-    private List<List<EnemyShip>> enemyShips;
+    /** Ships by grid slot, column * nShipsHigh + row. */
+    private EnemyShip[] enemyShips;
+    /** Per column, rows whose ship is still in the formation, alive or exploding. */
+    private long[] presentRows;
+    /** Per column, rows whose ship is alive. */
+    private long[] aliveRows;
+    /** Number of ships still in the formation, per column. */
+    private int[] columnCounts;
+    /** Number of ships still in the formation, per row. */
+    private int[] rowCounts;
+    /** Left most column with ships. */
+    private int minColumn;
+    /** Right most column with ships. */
+    private int maxColumn;
+    /** Top most row with ships. */
+    private int minRow;
+    /** Bottom most row with ships. */
+    private int maxRow;
+    /** Columns with a ship able to shoot. */
+    private int[] shooterColumns;
+    /** Position of each column in shooterColumns, -1 if it cannot shoot. */
+    private int[] shooterIndices;
+    /** Number of columns able to shoot. */
+    private int shooterCount;
+    /** Reused by every iteration over the formation. */
+    private final ShipIterator shipIterator = new ShipIterator();
+
     /** Minimum time between shots. */
     private Cooldown shootingCooldown;
     /** Number of ships in the formation - horizontally. */
@@ -80,6 +105,10 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     private int width;
     /** Total height of the formation. */
     private int height;
+    /** Position in the x-axis of the grid origin, where slot (0, 0) is. */
+    private int originX;
+    /** Position in the y-axis of the grid origin, where slot (0, 0) is. */
+    private int originY;
     /** Position in the x-axis of the upper left corner of the formation. */
     private int positionX;
     /** Position in the y-axis of the upper left corner of the formation. */
@@ -88,8 +117,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     private int shipWidth;
     /** Height of one ship. */
     private int shipHeight;
-    /** List of ships that are able to shoot. */
-    private List<EnemyShip> shooters;
     /** Number of not destroyed ships. */
     private int shipCount;
 
@@ -110,61 +137,75 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
      *            Current game settings.
      */
     public EnemyShipFormation(final GameSettings gameSettings) {
-        this.drawManager = Core.getDrawManager();
-        this.logger = Core.getLogger();
-        this.enemyShips = new ArrayList<List<EnemyShip>>();
+        this.logger = Core.getLogger("formation");
         this.currentDirection = Direction.RIGHT;
         this.movementInterval = 0;
         this.nShipsWide = gameSettings.getFormationWidth();
         this.nShipsHigh = gameSettings.getFormationHeight();
+        if (this.nShipsHigh > Long.SIZE) {
+            this.logger.warning("Formation height " + this.nShipsHigh + " capped to " + Long.SIZE);
+            this.nShipsHigh = Long.SIZE;
+        }
         this.shootingInterval = gameSettings.getShootingFrequency();
         this.shootingVariance = (int) (gameSettings.getShootingFrequency()
                 * SHOOTING_VARIANCE);
         this.baseSpeed = gameSettings.getBaseSpeed();
         this.movementSpeed = this.baseSpeed;
-        this.positionX = INIT_POS_X;
-        this.positionY = INIT_POS_Y;
-        this.shooters = new ArrayList<EnemyShip>();
+        this.originX = INIT_POS_X;
+        this.originY = INIT_POS_Y;
         SpriteType spriteType;
 
         this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
-                + " ship formation in (" + positionX + "," + positionY + ")");
-
-        // Each sub-list is a column on the formation.
-        for (int i = 0; i < this.nShipsWide; i++)
-            this.enemyShips.add(new ArrayList<EnemyShip>());
-
-        for (List<EnemyShip> column : this.enemyShips) {
-            for (int i = 0; i < this.nShipsHigh; i++) {
-                if (i / (float) this.nShipsHigh < PROPORTION_C)
+                + " ship formation in (" + originX + "," + originY + ")");
+
+        this.enemyShips = new EnemyShip[this.nShipsWide * this.nShipsHigh];
+        this.presentRows = new long[this.nShipsWide];
+        this.aliveRows = new long[this.nShipsWide];
+        this.columnCounts = new int[this.nShipsWide];
+        this.rowCounts = new int[this.nShipsHigh];
+        this.shooterColumns = new int[this.nShipsWide];
+        this.shooterIndices = new int[this.nShipsWide];
+
+        long fullColumn = this.nShipsHigh == Long.SIZE ? -1L : (1L << this.nShipsHigh) - 1;
+        for (int column = 0; column < this.nShipsWide; column++) {
+            for (int row = 0; row < this.nShipsHigh; row++) {
+                if (row / (float) this.nShipsHigh < PROPORTION_C)
                     spriteType = SpriteType.EnemyShipC1;
-                else if (i / (float) this.nShipsHigh < PROPORTION_B
+                else if (row / (float) this.nShipsHigh < PROPORTION_B
                         + PROPORTION_C)
                     spriteType = SpriteType.EnemyShipB1;
                 else
                     spriteType = SpriteType.EnemyShipA1;
 
-                column.add(new EnemyShip((SEPARATION_DISTANCE
-                        * this.enemyShips.indexOf(column))
-                        + positionX, (SEPARATION_DISTANCE * i)
-                        + positionY, spriteType));
+                EnemyShip ship = new EnemyShip(originX + SEPARATION_DISTANCE * column,
+                        originY + SEPARATION_DISTANCE * row, spriteType);
+                ship.formationSlot = slot(column, row);
+                this.enemyShips[ship.formationSlot] = ship;
                 this.shipCount++;
             }
-        }
+            this.presentRows[column] = fullColumn;
+            this.aliveRows[column] = fullColumn;
+            this.columnCounts[column] = this.nShipsHigh;
 
-        this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-        this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
+            // Every column starts with its bottom ship as shooter.
+            this.shooterColumns[column] = column;
+            this.shooterIndices[column] = column;
+        }
+        for (int row = 0; row < this.nShipsHigh; row++)
+            this.rowCounts[row] = this.nShipsWide;
+        this.shooterCount = this.nShipsWide;
 
-        this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
-                + this.shipWidth;
-        this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
-                + this.shipHeight;
+        this.shipWidth = this.enemyShips[0].getWidth();
+        this.shipHeight = this.enemyShips[0].getHeight();
 
-        for (List<EnemyShip> column : this.enemyShips)
-            this.shooters.add(column.get(column.size() - 1));
+        this.minColumn = 0;
+        this.maxColumn = this.nShipsWide - 1;
+        this.minRow = 0;
+        this.maxRow = this.nShipsHigh - 1;
+        updateBounds();
 
         for (GameSettings.ChangeData changeData : gameSettings.getChangeDataList()){
-            EnemyShip ship = this.enemyShips.get(changeData.x).get(changeData.y);
+            EnemyShip ship = this.enemyShips[slot(changeData.x, changeData.y)];
 
             if(changeData.hp == 0){
                 destroy(ship);
@@ -174,19 +215,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
             }
         }
 
-        List<EnemyShip> destroyed;
-        for (List<EnemyShip> column : this.enemyShips) {
-            destroyed = new ArrayList<EnemyShip>();
-            for (EnemyShip ship : column) {
-                if (ship != null && ship.isDestroyed()) {
-                    destroyed.add(ship);
-                    this.logger.info("Removed enemy "
-                            + column.indexOf(ship) + " from column "
-                            + this.enemyShips.indexOf(column));
-                }
-            }
-            column.removeAll(destroyed);
-        }
+        removeDestroyed();
     }
 
     /**
@@ -200,13 +229,24 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     }
 
     /**
-     * Draws every individual component of the formation.
+     * Adds every individual component of the formation to a snapshot.
+     *
+     * @param snapshot
+     *            Snapshot of the tick being drawn.
+     */
+    public final void capture(final WorldSnapshot snapshot) {
+        for (int column = this.minColumn; column <= this.maxColumn; column++)
+            for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1)
+                snapshot.addEntity(this.enemyShips[slot(column, Long.numberOfTrailingZeros(rows))]);
+    }
+
+    /**
+     * Remembers the position of every ship as the start of the next tick.
      */
-    public final void draw() {
-        for (List<EnemyShip> column : this.enemyShips)
-            for (EnemyShip enemyShip : column)
-                drawManager.getEntityRenderer().drawEntity(drawManager.getBackBufferGraphics(), enemyShip, enemyShip.getPositionX(),
-                        enemyShip.getPositionY());
+    public final void capturePositions() {
+        for (int column = this.minColumn; column <= this.maxColumn; column++)
+            for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1)
+                this.enemyShips[slot(column, Long.numberOfTrailingZeros(rows))].capturePosition();
     }
 
     /**
@@ -219,8 +259,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
             this.shootingCooldown.reset();
         }
 
-        cleanUp();
-
         int movementX = 0;
         int movementY = 0;
         double remainingProportion = (double) this.shipCount
@@ -229,8 +267,9 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
                 * this.baseSpeed);
         this.movementSpeed += MINIMUM_SPEED;
 
+        // Movement speed is counted in base rate ticks.
         movementInterval++;
-        if (movementInterval >= this.movementSpeed) {
+        if (movementInterval >= this.movementSpeed * screen.getTickRate() / Screen.BASE_TICK_RATE) {
             movementInterval = 0;
 
             boolean isAtBottom = positionY
@@ -244,30 +283,30 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
                 if (isAtHorizontalAltitude)
                     if (previousDirection == Direction.RIGHT) {
                         currentDirection = Direction.LEFT;
-                        this.logger.info("Formation now moving left 1");
+                        this.logger.fine("Formation now moving left 1");
                     } else {
                         currentDirection = Direction.RIGHT;
-                        this.logger.info("Formation now moving right 2");
+                        this.logger.fine("Formation now moving right 2");
                     }
             } else if (currentDirection == Direction.LEFT) {
                 if (isAtLeftSide)
                     if (!isAtBottom) {
                         previousDirection = currentDirection;
                         currentDirection = Direction.DOWN;
-                        this.logger.info("Formation now moving down 3");
+                        this.logger.fine("Formation now moving down 3");
                     } else {
                         currentDirection = Direction.RIGHT;
-                        this.logger.info("Formation now moving right 4");
+                        this.logger.fine("Formation now moving right 4");
                     }
             } else {
                 if (isAtRightSide)
                     if (!isAtBottom) {
                         previousDirection = currentDirection;
                         currentDirection = Direction.DOWN;
-                        this.logger.info("Formation now moving down 5");
+                        this.logger.fine("Formation now moving down 5");
                     } else {
                         currentDirection = Direction.LEFT;
-                        this.logger.info("Formation now moving left 6");
+                        this.logger.fine("Formation now moving left 6");
                     }
             }
 
@@ -278,73 +317,78 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
             else
                 movementY = Y_SPEED;
 
-            positionX += movementX;
-            positionY += movementY;
+            originX += movementX;
+            originY += movementY;
 
             // Cleans explosions.
-            List<EnemyShip> destroyed;
-            for (List<EnemyShip> column : this.enemyShips) {
-                destroyed = new ArrayList<EnemyShip>();
-                for (EnemyShip ship : column) {
-                    if (ship != null && ship.isDestroyed()) {
-                        destroyed.add(ship);
-                        this.logger.info("Removed enemy "
-                                + column.indexOf(ship) + " from column "
-                                + this.enemyShips.indexOf(column));
-                    }
-                }
-                column.removeAll(destroyed);
-            }
-
-            for (List<EnemyShip> column : this.enemyShips)
-                for (EnemyShip enemyShip : column) {
-                    enemyShip.move(movementX, movementY);
+            removeDestroyed();
+
+            // Ships follow the origin, one move each.
+            for (int column = this.minColumn; column <= this.maxColumn; column++) {
+                int shipX = this.originX + column * SEPARATION_DISTANCE;
+                for (long rows = this.presentRows[column]; rows != 0; rows &= rows - 1) {
+                    int row = Long.numberOfTrailingZeros(rows);
+                    EnemyShip enemyShip = this.enemyShips[slot(column, row)];
+                    enemyShip.move(shipX - enemyShip.getPositionX(),
+                            this.originY + row * SEPARATION_DISTANCE - enemyShip.getPositionY());
                     enemyShip.update();
                 }
+            }
+            updateBounds();
         }
     }
 
     /**
-     * Cleans empty columns, adjusts the width and height of the formation.
+     * Takes destroyed ships out of the formation once their explosion has
+     * shown, shrinking the formation bounds when a border column or row
+     * empties.
      */
-    private void cleanUp() {
-        Set<Integer> emptyColumns = new HashSet<Integer>();
-        int maxColumn = 0;
-        int minPositionY = Integer.MAX_VALUE;
-        for (List<EnemyShip> column : this.enemyShips) {
-            if (!column.isEmpty()) {
-                // Height of this column
-                int columnSize = column.get(column.size() - 1).positionY
-                        - this.positionY + this.shipHeight;
-                maxColumn = Math.max(maxColumn, columnSize);
-                minPositionY = Math.min(minPositionY, column.get(0)
-                        .getPositionY());
-            } else {
-                // Empty column, we remove it.
-                emptyColumns.add(this.enemyShips.indexOf(column));
+    private void removeDestroyed() {
+        boolean removed = false;
+        for (int column = this.minColumn; column <= this.maxColumn; column++) {
+            long gone = this.presentRows[column] & ~this.aliveRows[column];
+            if (gone == 0)
+                continue;
+            this.presentRows[column] &= this.aliveRows[column];
+            for (; gone != 0; gone &= gone - 1) {
+                int row = Long.numberOfTrailingZeros(gone);
+                this.columnCounts[column]--;
+                this.rowCounts[row]--;
+                if (this.logger.isLoggable(Level.FINE))
+                    this.logger.log(Level.FINE, "Removed enemy {0} from column {1}",
+                            new Object[] {row, column});
             }
+            removed = true;
         }
-        for (int index : emptyColumns) {
-            this.enemyShips.remove(index);
-            logger.info("Removed column " + index);
-        }
+        if (!removed)
+            return;
 
-        int leftMostPoint = 0;
-        int rightMostPoint = 0;
-
-        for (List<EnemyShip> column : this.enemyShips) {
-            if (!column.isEmpty()) {
-                if (leftMostPoint == 0)
-                    leftMostPoint = column.get(0).getPositionX();
-                rightMostPoint = column.get(0).getPositionX();
-            }
+        while (this.minColumn < this.maxColumn && this.columnCounts[this.minColumn] == 0) {
+            this.logger.log(Level.FINE, "Removed column {0}", this.minColumn);
+            this.minColumn++;
         }
+        while (this.maxColumn > this.minColumn && this.columnCounts[this.maxColumn] == 0) {
+            this.logger.log(Level.FINE, "Removed column {0}", this.maxColumn);
+            this.maxColumn--;
+        }
+        while (this.minRow < this.maxRow && this.rowCounts[this.minRow] == 0)
+            this.minRow++;
+        while (this.maxRow > this.minRow && this.rowCounts[this.maxRow] == 0)
+            this.maxRow--;
+        updateBounds();
+    }
 
-        this.width = rightMostPoint - leftMostPoint + this.shipWidth;
-        this.height = maxColumn;
-
-        this.positionX = leftMostPoint;
-        this.positionY = minPositionY;
+    /**
+     * Derives the corner and size of the formation from the origin and the
+     * columns and rows that still have ships.
+     */
+    private void updateBounds() {
+        this.positionX = this.originX + this.minColumn * SEPARATION_DISTANCE;
+        this.positionY = this.originY + this.minRow * SEPARATION_DISTANCE;
+        this.width = (this.maxColumn - this.minColumn) * SEPARATION_DISTANCE
+                + this.shipWidth;
+        this.height = (this.maxRow - this.minRow) * SEPARATION_DISTANCE
+                + this.shipHeight;
     }
 
     /**
@@ -353,17 +397,17 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
      * C-type fires double bullets, B-type fires faster bullets.
      *
      * @param bullets
-     *            Bullets set to add the bullet being shot.
+     *            Bullets on screen, to add the bullet being shot.
      */
-    public final void shoot(final Set<Bullet> bullets) {
-        if (this.shooters.isEmpty()) return;
-
-        int index = (int) (Math.random() * this.shooters.size());
-        EnemyShip shooter = this.shooters.get(index);
+    public final void shoot(final BulletBuffer bullets) {
+        if (this.shooterCount == 0) return;
 
         if (this.shootingCooldown.checkFinished()) {
             this.shootingCooldown.reset();
 
+            int index = RandomService.gameplay().nextInt(this.shooterCount);
+            EnemyShip shooter = getShooter(this.shooterColumns[index]);
+
             int bulletWidth = 3 * 2;
             int bulletHeight = 5 * 2;
             int spawnY = shooter.getPositionY() + shooter.getHeight();
@@ -379,21 +423,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
                     || shooter.getSpriteType() == SpriteType.EnemyShipC2) {
                 int offset = 6;
 
-                Bullet b1 = BulletPool.getBullet(
+                BulletPool.fire(bullets,
                         shooter.getPositionX() + shooter.getWidth() / 2 - offset,
-                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY);
-                bullets.add(b1);
+                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY, 0);
 
-                Bullet b2 = BulletPool.getBullet(
+                BulletPool.fire(bullets,
                         shooter.getPositionX() + shooter.getWidth() / 2 + offset,
-                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY);
-                bullets.add(b2);
+                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY, 0);
 
             } else {
-                Bullet b = BulletPool.getBullet(
+                BulletPool.fire(bullets,
                         shooter.getPositionX() + shooter.getWidth() / 2,
-                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY);
-                bullets.add(b);
+                        spawnY, bulletSpeed, bulletWidth, bulletHeight, Entity.Team.ENEMY, 0);
             }
         }
     }
@@ -405,73 +446,55 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
      *            Ship to be destroyed.
      */
     public final void destroy(final EnemyShip destroyedShip) {
-        for (List<EnemyShip> column : this.enemyShips)
-            for (int i = 0; i < column.size(); i++)
-                if (column.get(i).equals(destroyedShip)) {
-                    column.get(i).destroy();
-                    this.logger.info("Destroyed ship in ("
-                            + this.enemyShips.indexOf(column) + "," + i + ")");
-                }
-
-        // Updates the list of ships that can shoot the player.
-        if (this.shooters.contains(destroyedShip)) {
-            int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-            int destroyedShipColumnIndex = -1;
-
-            for (List<EnemyShip> column : this.enemyShips)
-                if (column.contains(destroyedShip)) {
-                    destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-                    break;
-                }
+        int column = destroyedShip.formationSlot / this.nShipsHigh;
+        int row = destroyedShip.formationSlot % this.nShipsHigh;
+        long bit = 1L << row;
 
-            EnemyShip nextShooter = getNextShooter(this.enemyShips
-                    .get(destroyedShipColumnIndex));
+        destroyedShip.destroy();
+        if ((this.aliveRows[column] & bit) == 0)
+            return;
+        this.aliveRows[column] &= ~bit;
+        if (this.logger.isLoggable(Level.FINE))
+            this.logger.log(Level.FINE, "Destroyed ship in ({0},{1})", new Object[] {column, row});
 
-            if (nextShooter != null)
-                this.shooters.set(destroyedShipIndex, nextShooter);
-            else {
-                this.shooters.remove(destroyedShipIndex);
-                this.logger.info("Shooters list reduced to "
-                        + this.shooters.size() + " members.");
-            }
+        // Updates the list of ships that can shoot the player.
+        if (this.aliveRows[column] == 0) {
+            int index = this.shooterIndices[column];
+            int last = this.shooterColumns[--this.shooterCount];
+            this.shooterColumns[index] = last;
+            this.shooterIndices[last] = index;
+            this.shooterIndices[column] = -1;
+            this.logger.log(Level.FINE, "Shooters list reduced to {0} members.", this.shooterCount);
         }
 
         this.shipCount--;
     }
 
     /**
-     * Gets the ship on a given column that will be in charge of shooting.
+     * Gets the ship on a given column that is in charge of shooting, the
+     * bottom most one alive.
      *
      * @param column
      *            Column to search.
-     * @return New shooter ship.
+     * @return Shooter ship, null if the column has none alive.
      */
-    public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-        Iterator<EnemyShip> iterator = column.iterator();
-        EnemyShip nextShooter = null;
-        while (iterator.hasNext()) {
-            EnemyShip checkShip = iterator.next();
-            if (checkShip != null && !checkShip.isDestroyed())
-                nextShooter = checkShip;
-        }
-
-        return nextShooter;
+    public final EnemyShip getShooter(final int column) {
+        long alive = this.aliveRows[column];
+        if (alive == 0)
+            return null;
+        return this.enemyShips[slot(column, Long.SIZE - 1 - Long.numberOfLeadingZeros(alive))];
     }
 
     /**
-     * Returns an iterator over the ships in the formation.
+     * Returns an iterator over the ships in the formation. The iterator is
+     * reused, so only one iteration may be in progress at a time.
      *
      * @return Iterator over the enemy ships.
      */
     @Override
     public final Iterator<EnemyShip> iterator() {
-        Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
-
-        for (List<EnemyShip> column : this.enemyShips)
-            for (EnemyShip enemyShip : column)
-                enemyShipsList.add(enemyShip);
-
-        return enemyShipsList.iterator();
+        this.shipIterator.reset();
+        return this.shipIterator;
     }
 
 
@@ -490,6 +513,52 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     public int getShipCount() {
         return this.shipCount;
     }
-}
 
+    /**
+     * Gets the grid slot of a ship.
+     *
+     * @param column
+     *            Ship column.
+     * @param row
+     *            Ship row.
+     * @return Index in the ship grid.
+     */
+    private int slot(final int column, final int row) {
+        return column * this.nShipsHigh + row;
+    }
 
+    /**
+     * Walks the ships still in the formation column by column, following the
+     * presence bitmasks.
+     */
+    private final class ShipIterator implements Iterator<EnemyShip> {
+        /** Column being walked. */
+        private int column;
+        /** Rows of the column not returned yet. */
+        private long rows;
+
+        /**
+         * Starts over from the first column.
+         */
+        private void reset() {
+            this.column = minColumn;
+            this.rows = this.column <= maxColumn ? presentRows[this.column] : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.rows == 0 && this.column < maxColumn)
+                this.rows = presentRows[++this.column];
+            return this.rows != 0;
+        }
+
+        @Override
+        public EnemyShip next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            int row = Long.numberOfTrailingZeros(this.rows);
+            this.rows &= this.rows - 1;
+            return enemyShips[slot(this.column, row)];
+        }
+    }
+}
@@ -17,6 +17,10 @@ public class Entity {
     protected int positionX;
     /** Position in the y-axis of the upper left corner of the entity. */
     protected int positionY;
+    /** Position in the x-axis at the start of the current tick. */
+    private int previousPositionX;
+    /** Position in the y-axis at the start of the current tick. */
+    private int previousPositionY;
     /** Width of the entity. */
     protected int width;
     /** Height of the entity. */
@@ -52,6 +56,8 @@ public class Entity {
                   final int height, final Color color) {
         this.positionX = positionX;
         this.positionY = positionY;
+        this.previousPositionX = positionX;
+        this.previousPositionY = positionY;
         this.width = width;
         this.height = height;
         this.color = color;
@@ -89,23 +95,60 @@ public class Entity {
     }
 
     /**
-     * Setter for the X axis position of the entity.
+     * Setter for the X axis position of the entity. Teleports the entity, so
+     * it is not interpolated from its previous position.
      *
      * @param positionX
      *                  New position of the entity in the X axis.
      */
     public final void setPositionX(final int positionX) {
         this.positionX = positionX;
+        this.previousPositionX = positionX;
     }
 
     /**
-     * Setter for the Y axis position of the entity.
+     * Setter for the Y axis position of the entity. Teleports the entity, so
+     * it is not interpolated from its previous position.
      *
      * @param positionY
      *                  New position of the entity in the Y axis.
      */
     public final void setPositionY(final int positionY) {
         this.positionY = positionY;
+        this.previousPositionY = positionY;
+    }
+
+    /**
+     * Remembers the current position as the start of the next tick, to
+     * interpolate between the last two simulation states when drawing.
+     */
+    public final void capturePosition() {
+        this.previousPositionX = this.positionX;
+        this.previousPositionY = this.positionY;
+    }
+
+    /**
+     * Getter for the X axis position to draw the entity at.
+     *
+     * @param alpha
+     *                  Fraction of a tick elapsed since the last update.
+     * @return Position interpolated between the last two ticks.
+     */
+    public final int getRenderPositionX(final double alpha) {
+        return (int) Math.round(this.previousPositionX
+                + (this.positionX - this.previousPositionX) * alpha);
+    }
+
+    /**
+     * Getter for the Y axis position to draw the entity at.
+     *
+     * @param alpha
+     *                  Fraction of a tick elapsed since the last update.
+     * @return Position interpolated between the last two ticks.
+     */
+    public final int getRenderPositionY(final double alpha) {
+        return (int) Math.round(this.previousPositionY
+                + (this.positionY - this.previousPositionY) * alpha);
     }
 
     /**
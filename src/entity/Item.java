@@ -7,9 +7,7 @@ import engine.Core;
 import engine.AssetManager.SpriteType;
 
 import engine.GameState;
-import engine.gameplay.item.ItemDB;
 import engine.gameplay.item.ItemData;
-import engine.gameplay.item.ItemEffect;
 
 /**
  * Implements Item that moves vertically down.
@@ -19,8 +17,8 @@ public class Item extends Entity {
     /** Logger instance for logging purposes. */
     private Logger logger;
 
-    /** Type of Item. */
-    private String type;
+    /** Data of the Item, shared with every item of its type. */
+    private ItemData data;
 
     /** Item Movement Speed. */
     private int itemSpeed;
@@ -28,8 +26,8 @@ public class Item extends Entity {
     /**
      * Constructor, establishes the Item's properties.
      *
-     * @param itemType
-     *            Type of Item being spawned
+     * @param data
+     *            Data of the Item being spawned, from ItemDB.
      * @param positionX
      *            Initial position of the Item in the X axis.
      * @param positionY
@@ -39,13 +37,13 @@ public class Item extends Entity {
      *            direction - positive is down.
      */
 
-    public Item(String itemType, final int positionX, final int positionY, final int speed) {
+    public Item(final ItemData data, final int positionX, final int positionY, final int speed) {
 
         super(positionX, positionY, 3 * 2, 5 * 2, Color.WHITE);
 
         logger = Core.getLogger();
 
-        this.type = itemType;
+        this.data = data;
         this.itemSpeed = speed;
 
         setSprite();
@@ -55,26 +53,24 @@ public class Item extends Entity {
      * Setter for the sprite of the Item using data from ItemDB.
      */
     public final void setSprite() {
-        ItemDB itemDB = new ItemDB();
-        ItemData data = itemDB.getItemData(this.type);
-
-        if (data != null) {
-            try {
-                this.spriteType = SpriteType.valueOf(data.getSpriteType());
-            } catch (IllegalArgumentException e) {
-                this.spriteType = SpriteType.ItemScore; // fallback
-                this.logger.warning("[Item]: Unknown sprite type in ItemDB: " + data.getSpriteType() + ", using default.");
-            }
-        } else {
-            this.spriteType = SpriteType.ItemScore;
-        }
+        this.spriteType = this.data != null ? this.data.getSprite() : SpriteType.ItemScore;
     }
 
     /**
      * Updates the Item's position.
      */
     public final void update() {
-        this.positionY += this.itemSpeed;
+        update(this.itemSpeed);
+    }
+
+    /**
+     * Moves the Item the given distance down.
+     *
+     * @param distance
+     *            Distance to move, usually the speed scaled to the tick rate.
+     */
+    public final void update(final int distance) {
+        this.positionY += distance;
     }
 
     /**
@@ -86,52 +82,21 @@ public class Item extends Entity {
      *            ID of the player to apply the effect to.
      */
     public boolean applyEffect(final GameState gameState, final int playerId) {
-        ItemDB itemDB = new ItemDB();
-        ItemData data = itemDB.getItemData(this.type);
-
-        if (data == null) return false;
-
-        int value = data.getEffectValue();
-        int duration = data.getEffectDuration();
-        int cost = data.getCost();
+        if (this.data == null || !this.data.hasEffect()) {
+            this.logger.warning("[Item]: No ItemEffect for type " + getType());
+            return false;
+        }
 
-        boolean applied = false;
         /* item data always true to apply because free
            duration item will apply if enough coins */
-        switch (this.type) {
-            case "COIN":
-                ItemEffect.applyCoinItem(gameState, playerId, value);
-                applied = true;
-                break;
-            case "HEAL":
-                ItemEffect.applyHealItem(gameState, playerId, value);
-                applied = true;
-                break;
-            case "SCORE":
-                ItemEffect.applyScoreItem(gameState, playerId, value);
-                applied = true;
-                break;
-            case "TRIPLESHOT":
-                applied = ItemEffect.applyTripleShot(gameState, playerId, value, duration,cost);
-                break;
-            case "SCOREBOOST":
-                applied = ItemEffect.applyScoreBoost(gameState, playerId, value, duration,cost);
-                break;
-            case "BULLETSPEEDUP":
-                applied = ItemEffect.applyBulletSpeedUp(gameState, playerId, value, duration, cost);
-                break;
-            default:
-                this.logger.warning("[Item]: No ItemEffect for type " + this.type);
-                applied = false;
-                break;
-        }
+        boolean applied = this.data.applyEffect(gameState, playerId);
         if (!applied) {
             // Player couldn't afford the item (or other failure).
-            logger.info("[Item]: Player " + playerId + " couldn't afford " + this.type + " (cost=" + cost + ")");
+            logger.info("[Item]: Player " + playerId + " couldn't afford " + getType() + " (cost=" + this.data.getCost() + ")");
         }
 
         return applied;
-    };
+    }
 
     /**
      * Setter of the speed of the Item.
@@ -154,13 +119,13 @@ public class Item extends Entity {
 
     /**
      * Reset the Item.
-     * Set the item type and sprite to newType, and the speed to 0.
+     * Set the item data and sprite to newData, and the speed to 0.
      *
-     * @param newType
-     *            new type of the Item.
+     * @param newData
+     *            new data of the Item.
      */
-    public final void reset(String newType) {
-        this.type = newType;
+    public final void reset(final ItemData newData) {
+        this.data = newData;
         this.itemSpeed = 0;
         setSprite(); // change to your enum if different
     }
@@ -171,6 +136,15 @@ public class Item extends Entity {
      * @return type of the Item.
      */
     public final String getType() {
-        return this.type;
+        return this.data != null ? this.data.getType() : null;
+    }
+
+    /**
+     * Getter for the data of the Item.
+     *
+     * @return data of the Item, null for a pooled item never spawned.
+     */
+    public final ItemData getData() {
+        return this.data;
     }
 }
\ No newline at end of file
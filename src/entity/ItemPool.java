@@ -1,7 +1,7 @@
 package entity;
 
 import engine.gameplay.item.ItemData;
-import java.util.HashSet;
+import engine.utils.ObjectPool;
 import java.util.Set;
 
 /**
@@ -9,8 +9,12 @@ import java.util.Set;
  */
 public final class ItemPool {
 
-    /** Set of items. */
-    private static Set<Item> pool = new HashSet<Item>();
+    /** Most free items kept. */
+    private static final int CAPACITY = 64;
+
+    /** Free items. */
+    private static final ObjectPool<Item> pool = new ObjectPool<Item>("items", CAPACITY,
+            () -> new Item(null, 0, 0, 0), item -> item.setItemSpeed(0));
 
     /**
      * Constructor, not called.
@@ -22,7 +26,6 @@ public final class ItemPool {
     /**
      * Returns an item from the pool if one is available, a new one if there
      * isn't.
-     * Caller should call item.init(...) to set position/type/sprite after obtaining.
      *
      * @param data
      *          data of item created
@@ -36,21 +39,11 @@ public final class ItemPool {
      * @return Requested item.
      */
     public static Item getItem(ItemData data, int positionX, int positionY, int speed) {
-        String type = data.getType();
-        // create new item
-        Item item;
-        if (!pool.isEmpty()) {
-            item = pool.iterator().next();
-            pool.remove(item);
-
-            item.reset(type);
-            item.setPositionX(positionX - item.getWidth() / 2);
-            item.setPositionY(positionY);
-            item.setItemSpeed(speed);
-        } else {
-            item = new Item(type, positionX - 3, positionY, speed);
-        }
-
+        Item item = pool.acquire();
+        item.reset(data);
+        item.setPositionX(positionX - item.getWidth() / 2);
+        item.setPositionY(positionY);
+        item.setItemSpeed(speed);
         return item;
     }
 
@@ -62,6 +55,15 @@ public final class ItemPool {
      */
     public static void recycle(final Set<Item> items) {
         if (items == null) return;
-        pool.addAll(items);
+        pool.releaseAll(items);
+    }
+
+    /**
+     * Getter for the pool behind the items, for its statistics.
+     *
+     * @return Item pool.
+     */
+    public static ObjectPool<Item> getPool() {
+        return pool;
     }
-}
\ No newline at end of file
+}
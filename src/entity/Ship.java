@@ -1,7 +1,8 @@
 package entity;
 
 import java.awt.Color;
-import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import engine.utils.Cooldown;
 import engine.Core;
@@ -17,6 +18,9 @@ import static engine.gameplay.item.ItemEffect.*;
  */
 public class Ship extends Entity {
 
+    /** Logger of shots and shot effects, quiet by default. */
+    private static final Logger LOGGER = Core.getLogger("ship");
+
     /** Bullet Variables **/
     //default bullet variables
     private static final int BASE_BULLET_SPEED = -6;
@@ -130,13 +134,31 @@ public class Ship extends Entity {
     /**
      * Moves the ship speed uni ts right, or until the right screen border is reached.
      */
-    public final void moveRight() { this.positionX += this.moveSpeed; }
+    public final void moveRight() { moveRight(this.moveSpeed); }
+
+    /**
+     * Moves the ship the given distance right.
+     *
+     * @param distance
+     *                 Distance to move, usually the speed scaled to the tick rate.
+     */
+    public final void moveRight(final int distance) { this.positionX += distance; }
 
     /**
      * Moves the ship speed units left, or until the left screen border is reached.
      */
     public final void moveLeft() {
-        this.positionX -= this.moveSpeed;
+        moveLeft(this.moveSpeed);
+    }
+
+    /**
+     * Moves the ship the given distance left.
+     *
+     * @param distance
+     *                 Distance to move, usually the speed scaled to the tick rate.
+     */
+    public final void moveLeft(final int distance) {
+        this.positionX -= distance;
     }
 
     /**
@@ -147,12 +169,12 @@ public class Ship extends Entity {
      * @return
      *                True if shooting was successful, false if on cooldown
      */
-    public final boolean shoot(final Set<Bullet> bullets) {
+    public final boolean shoot(final BulletBuffer bullets) {
 
         if (!this.shootingCooldown.checkFinished()) { return false; }
 
         this.shootingCooldown.reset();
-        Core.getLogger().info("[Ship] Shooting :" + this.type);
+        LOGGER.log(Level.FINE, "[Ship] Shooting: {0}", this.type);
 
         int bulletX = positionX + this.width / 2;
         int bulletY = this.positionY - this.bulletHeight;
@@ -219,7 +241,7 @@ public class Ship extends Entity {
     /**
      * Fires bullets based on ship type.
      */
-    private void shootBasedOnType(final Set<Bullet> bullets, final int centerX, final int bulletY) {
+    private void shootBasedOnType(final BulletBuffer bullets, final int centerX, final int bulletY) {
         switch (this.type) {
             case DOUBLE_SHOT:
                 addBullet(bullets, centerX - DOUBLE_SHOT_OFFSET, bulletY);
@@ -237,14 +259,12 @@ public class Ship extends Entity {
     /**
      * Creates and adds a bullet to the game.
      */
-    private void addBullet(final Set<Bullet> bullets, final int x, final int y) {
+    private void addBullet(final BulletBuffer bullets, final int x, final int y) {
         int speedMultiplier = getBulletSpeedMultiplier();
         int currentBulletSpeed = this.bulletSpeed * speedMultiplier;
 
-        Bullet bullet = BulletPool.getBullet(x, y, currentBulletSpeed,
-                this.bulletWidth, this.bulletHeight, this.getTeam());
-        bullet.setOwnerPlayerId(this.getPlayerId());
-        bullets.add(bullet);
+        BulletPool.fire(bullets, x, y, currentBulletSpeed,
+                this.bulletWidth, this.bulletHeight, this.getTeam(), this.getPlayerId());
     }
 
     /** ========================= Item Effect check ========================= **/
@@ -264,7 +284,7 @@ public class Ship extends Entity {
 
         Integer effectValue = gameState.getEffectValue(playerIndex, ItemEffectType.BULLETSPEEDUP);
         if (effectValue != null) {
-            Core.getLogger().info("[Ship] Item effect: Faster Bullets");
+            LOGGER.fine("[Ship] Item effect: Faster Bullets");
             return effectValue;
         }
         return 1;
@@ -277,8 +297,8 @@ public class Ship extends Entity {
     /**
      * TRIPLESHOT effect
      */
-    private void shootTripleShot(final Set<Bullet> bullets, final int centerX, final int bulletY) {
-        Core.getLogger().info("[Ship] Item effect: TRIPLESHOT");
+    private void shootTripleShot(final BulletBuffer bullets, final int centerX, final int bulletY) {
+        LOGGER.fine("[Ship] Item effect: TRIPLESHOT");
         Integer TRIPLE_SHOT_OFFSET = gameState.getEffectValue(playerIndex, ItemEffectType.TRIPLESHOT);
 
         addBullet(bullets, centerX, bulletY);
@@ -1,21 +1,34 @@
 package screen;
 
-import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import animations.BasicGameSpace;
-import animations.MenuSpace;
+import engine.renderer.RenderThread;
+import engine.renderer.SnapshotExchange;
+import engine.renderer.WorldSnapshot;
 import engine.utils.Cooldown;
+import engine.utils.FrameProfiler;
+import engine.utils.FrameProfiler.Phase;
+import engine.utils.GameClock;
+import engine.utils.ObjectPool;
 import engine.Core;
 import engine.GameSettings;
 import engine.GameState;
 import engine.SoundManager;
+import engine.diagnostics.CollisionPassEvent;
+import engine.diagnostics.Recorder;
+import engine.gameplay.CollisionManager;
+import engine.gameplay.achievement.Achievement;
 import engine.gameplay.achievement.AchievementManager;
 import engine.gameplay.item.ItemManager;
 import entity.Bullet;
+import entity.BulletBuffer;
 import entity.BulletPool;
 import entity.EnemyShip;
 import entity.EnemyShipFormation;
@@ -51,6 +64,8 @@ public class GameScreen extends Screen {
     private static final int SEPARATION_LINE_HEIGHT = 68;
       private static final int HIGH_SCORE_NOTICE_DURATION = 2000;
     private static boolean sessionHighScoreNotified = false;
+    /** Logger of hits and drops, quiet by default. */
+    private static final Logger COMBAT_LOGGER = Core.getLogger("combat");
 
     /** For Check Achievement
      * 2015-10-02 add new */
@@ -70,9 +85,9 @@ public class GameScreen extends Screen {
     private Cooldown enemyShipSpecialExplosionCooldown;
     /** Time from finishing the level to screen change. */
     private Cooldown screenFinishedCooldown;
-    /** Set of all bullets fired by on screen ships. */
-    private Set<Bullet> bullets;
-    /** Set of all items spawned. */
+    /** All bullets fired by on screen ships. */
+    private final BulletBuffer bullets = new BulletBuffer();
+    /** Set of all items spawned, in spawn order so runs repeat exactly. */
     private Set<Item> items;
     private long gameStartTime;
     /** Checks if the level is finished. */
@@ -86,6 +101,10 @@ public class GameScreen extends Screen {
     private boolean isPaused;
     private Cooldown pauseCooldown;
     private Cooldown returnMenuCooldown;
+    /** Minimum time between two toggles of the profiler overlay. */
+    private Cooldown profilerCooldown;
+    /** Times the phases of each tick, shared by every level. */
+    private final FrameProfiler profiler = FrameProfiler.getInstance();
 
     private int score;
     private int lives;
@@ -104,7 +123,23 @@ public class GameScreen extends Screen {
     private Ship.ShipType shipTypeP1;
     private Ship.ShipType shipTypeP2;
 
-    BasicGameSpace basicGameSpace = new BasicGameSpace(100);
+    /** Finds bullets hitting ships and ships picking up items. */
+    private CollisionManager collisionManager;
+    /** Entity view of the bullet being tested for collisions. */
+    private final Bullet queriedBullet = new Bullet(0, 0, 0, 0, 0);
+    /** Slot of the bullet being tested for collisions. */
+    private int queriedSlot;
+    /** Items picked up this tick. */
+    private final Set<Item> collectedItems = new HashSet<Item>();
+    /** Items gone off-screen this tick. */
+    private final Set<Item> expiredItems = new HashSet<Item>();
+    /** Handles a bullet hitting a ship. */
+    private final CollisionManager.CollisionHandler bulletHitHandler = this::onBulletHit;
+    /** Handles a ship picking up an item. */
+    private final CollisionManager.CollisionHandler itemPickupHandler = this::onItemPickup;
+
+    /** Hands the state of each tick over to the render thread. */
+    private final SnapshotExchange<WorldSnapshot> snapshots = new SnapshotExchange<>(WorldSnapshot::new);
 
     /**
      * Constructor, establishes the properties of the screen.
@@ -205,19 +240,23 @@ public class GameScreen extends Screen {
         this.enemyShipSpecialCooldown.reset();
         this.enemyShipSpecialExplosionCooldown = Core.getCooldown(BONUS_SHIP_EXPLOSION);
         this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-        this.bullets = new HashSet<Bullet>();
+        BulletPool.reset(this.bullets, this.gameSettings);
+        this.collisionManager = new CollisionManager(this.width, this.height);
 
         // New Item Code
-        this.items = new HashSet<Item>();
+        this.items = new LinkedHashSet<Item>();
 
 		// Special input delay / countdown.
-		this.gameStartTime = System.currentTimeMillis();
+		this.gameStartTime = GameClock.millis();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 
         this.isPaused = false;
         this.pauseCooldown = Core.getCooldown(300);
         this.returnMenuCooldown = Core.getCooldown(300);
+        this.profilerCooldown = Core.getCooldown(300);
+        this.profiler.setBudgets(TimeUnit.SECONDS.toNanos(1) / getTickRate(),
+                TimeUnit.SECONDS.toNanos(1) / Core.getFrameRate());
     }
 
     /**
@@ -226,7 +265,18 @@ public class GameScreen extends Screen {
      * @return Next screen code.
      */
     public final int run() {
-        super.run();
+        // Headless runs draw nothing.
+        RenderThread renderThread = null;
+        if (!Core.isHeadless()) {
+            renderThread = new RenderThread("game-render", this::renderFrame, Core.getFrameRate());
+            renderThread.start();
+        }
+        try {
+            super.run();
+        } finally {
+            if (renderThread != null)
+                renderThread.shutdown();
+        }
 
         // 2P mode: award bonus score for remaining TEAM lives
         state.addScore(0, LIFE_SCORE * state.getLivesRemaining());
@@ -242,11 +292,14 @@ public class GameScreen extends Screen {
      * Updates the elements on screen and checks for events.
      */
     protected final void update() {
+        this.profiler.beginFrame(this.ticks);
+        this.profiler.begin(Phase.INPUT);
         super.update();
+        capturePositions();
 
         // Countdown beep once during pre-start
         if (!this.inputDelay.checkFinished() && !countdownSoundPlayed) {
-            long elapsed = System.currentTimeMillis() - this.gameStartTime;
+            long elapsed = GameClock.millis() - this.gameStartTime;
             if (elapsed > 1750) {
                 SoundManager.playOnce("count_down_sound");
                 countdownSoundPlayed = true;
@@ -274,8 +327,15 @@ public class GameScreen extends Screen {
             this.isRunning = false;
         }
 
+        if (inputManager.isKeyDown(KeyEvent.VK_F3) && this.profilerCooldown.checkFinished()) {
+            this.profiler.toggleOverlay();
+            this.profilerCooldown.reset();
+        }
+        this.profiler.end(Phase.INPUT);
+
         if (!this.isPaused) {
             if (this.inputDelay.checkFinished() && !this.levelFinished) {
+                this.profiler.begin(Phase.MOVEMENT);
 
                 // Per-player input/move/shoot
                 for (int p = 0; p < GameState.NUM_PLAYERS; p++) {
@@ -301,9 +361,9 @@ public class GameScreen extends Screen {
                     boolean isLeftBorder = ship.getPositionX() - ship.getSpeed() < 1;
 
                     if (moveRight && !isRightBorder)
-                        ship.moveRight();
+                        ship.moveRight(scaleStep(ship.getSpeed()));
                     if (moveLeft && !isLeftBorder)
-                        ship.moveLeft();
+                        ship.moveLeft(scaleStep(ship.getSpeed()));
 
                     fire = (p == 0)
                             ? inputManager.isKeyDown(KeyEvent.VK_SPACE)
@@ -320,7 +380,7 @@ public class GameScreen extends Screen {
                 // Special ship lifecycle
                 if (this.enemyShipSpecial != null) {
                     if (!this.enemyShipSpecial.isDestroyed())
-                        this.enemyShipSpecial.move(2, 0);
+                        this.enemyShipSpecial.move(scaleStep(2), 0);
                     else if (this.enemyShipSpecialExplosionCooldown.checkFinished())
                         this.enemyShipSpecial = null;
                 }
@@ -340,7 +400,9 @@ public class GameScreen extends Screen {
                 for (Ship s : this.ships) {
                     if (s != null) s.update();
                 }
+                this.profiler.end(Phase.MOVEMENT);
 
+                this.profiler.begin(Phase.FORMATION);
                 this.enemyShipFormation.update();
                 int bulletsBefore = this.bullets.size();
                 this.enemyShipFormation.shoot(this.bullets);
@@ -348,34 +410,43 @@ public class GameScreen extends Screen {
                     // At least one enemy bullet added
                     SoundManager.playOnce("shoot_enemies");
                 }
+                this.profiler.end(Phase.FORMATION);
             }
 
 
+            this.profiler.begin(Phase.COLLISIONS);
             manageCollisions();
+            this.profiler.end(Phase.COLLISIONS);
+            this.profiler.begin(Phase.BULLETS);
             cleanBullets();
+            this.profiler.end(Phase.BULLETS);
 
             // Item Entity Code
+            this.profiler.begin(Phase.ITEMS);
             cleanItems();
             manageItemPickups();
+            this.profiler.end(Phase.ITEMS);
 
             // check active item affects
+            this.profiler.begin(Phase.EFFECTS);
             state.updateEffects();
-            drawManager.getGameScreenRenderer().setLastLife(state.getLivesRemaining() == 1);
-		    draw();
+            this.profiler.end(Phase.EFFECTS);
 
             if (!sessionHighScoreNotified && this.state.getScore() > this.topScore) {
                 sessionHighScoreNotified = true;
                 this.highScoreNotified = true;
-                this.highScoreNoticeStartTime = System.currentTimeMillis();
+                this.highScoreNoticeStartTime = GameClock.millis();
             }
 
             // End condition: formation cleared or TEAM lives exhausted.
             if ((this.enemyShipFormation.isEmpty() || !state.teamAlive()) && !this.levelFinished) {
                 // The object managed by the object pool pattern must be recycled at the end of the level.
-                BulletPool.recycle(this.bullets);
-                this.bullets.removeAll(this.bullets);
+                this.bullets.clear();
+                this.LOGGER.info("Bullet pool: " + BulletPool.stats());
                 ItemPool.recycle(items);
                 this.items.removeAll(this.items);
+                for (ObjectPool<?> pool : ObjectPool.getPools())
+                    this.LOGGER.info("Object pool " + pool.stats());
 
                 this.levelFinished = true;
                 this.screenFinishedCooldown.reset();
@@ -401,112 +472,153 @@ public class GameScreen extends Screen {
             if (this.achievementManager != null) this.achievementManager.update();
         }
 
-        draw();
+        publishSnapshot();
+        this.profiler.setCounts(this.enemyShipFormation.getShipCount(), this.bullets.size(),
+                BulletPool.getCapacity(), this.items.size());
+        this.profiler.endFrame();
     }
 
     /**
-     * Draws the elements associated with the screen.
+     * Remembers the positions of all moving entities as the start of the
+     * tick, so drawing can interpolate towards the new ones.
      */
-    private void draw() {
-        drawManager.initDrawing(this);
-
-        drawManager.getGameScreenRenderer().drawExplosions(drawManager.getBackBufferGraphics(), this);
-        updateGameSpace(drawManager.getBackBufferGraphics());
-
+    private void capturePositions() {
         for (Ship s : this.ships)
             if (s != null)
-                drawManager.getEntityRenderer().drawEntity(drawManager.getBackBufferGraphics(), s, s.getPositionX(), s.getPositionY());
-
+                s.capturePosition();
         if (this.enemyShipSpecial != null)
-            drawManager.getEntityRenderer().drawEntity(drawManager.getBackBufferGraphics(), this.enemyShipSpecial,
-                    this.enemyShipSpecial.getPositionX(), this.enemyShipSpecial.getPositionY());
-
-        enemyShipFormation.draw();
+            this.enemyShipSpecial.capturePosition();
+        this.enemyShipFormation.capturePositions();
+        this.bullets.capturePositions();
+        for (Item item : this.items)
+            item.capturePosition();
+    }
 
-        for (Bullet bullet : this.bullets)
-            drawManager.getEntityRenderer().drawEntity(drawManager.getBackBufferGraphics(), bullet, bullet.getPositionX(), bullet.getPositionY());
+    /**
+     * Copies what the screen shows at the end of this tick into a snapshot
+     * and hands it to the render thread.
+     */
+    private void publishSnapshot() {
+        WorldSnapshot snapshot = this.snapshots.back();
+        snapshot.begin(this.ticks, TimeUnit.SECONDS.toNanos(1) / this.fps);
 
-        // draw items
+        for (Ship s : this.ships)
+            if (s != null)
+                snapshot.addEntity(s);
+        if (this.enemyShipSpecial != null)
+            snapshot.addEntity(this.enemyShipSpecial);
+        this.enemyShipFormation.capture(snapshot);
+        this.bullets.capture(snapshot);
         for (Item item : this.items)
-            drawManager.getEntityRenderer().drawEntity(drawManager.getBackBufferGraphics(),item, item.getPositionX(), item.getPositionY());
-
-		// Aggregate UI (team score & team lives)
-		drawManager.getGameScreenRenderer().drawScore(drawManager.getBackBufferGraphics(), this, state.getScore());
-        drawManager.getGameScreenRenderer().drawLives(drawManager.getBackBufferGraphics(), this, state.getLivesRemaining(), state.isCoop());
-		drawManager.getGameScreenRenderer().drawCoins(drawManager.getBackBufferGraphics(), this, state.getCoins());
-        drawManager.getGameScreenRenderer().drawLevel(drawManager.getBackBufferGraphics(), this, this.state.getLevel());
-		drawManager.getCommonRenderer().drawHorizontalLine(drawManager.getBackBufferGraphics(), this, SEPARATION_LINE_HEIGHT - 1);
-        drawManager.getGameScreenRenderer().drawShipCount(drawManager.getBackBufferGraphics(), this, enemyShipFormation.getShipCount());
-
-		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)) / 1000);
-			drawManager.getGameScreenRenderer().drawCountDown(drawManager.getBackBufferGraphics(), this, this.state.getLevel(), countdown, this.bonusLife);
-			drawManager.getCommonRenderer().drawHorizontalLine(drawManager.getBackBufferGraphics(), this, this.height / 2 - this.height / 12);
-			drawManager.getCommonRenderer().drawHorizontalLine(drawManager.getBackBufferGraphics(), this, this.height / 2 + this.height / 12);
-		}
-        if (this.highScoreNotified &&
-                System.currentTimeMillis() - this.highScoreNoticeStartTime < HIGH_SCORE_NOTICE_DURATION) {
-            drawManager.getHighScoreScreenRenderer().drawNewHighScoreNotice(this);
-        }
+            snapshot.addEntity(item);
+
+        snapshot.setHud(state.getScore(), state.getLivesRemaining(), state.isCoop(),
+                state.getCoins(), state.getLevel(), enemyShipFormation.getShipCount());
+
+        int countdown = -1;
+        if (!this.inputDelay.checkFinished())
+            countdown = (int) ((INPUT_DELAY - (GameClock.millis() - this.gameStartTime)) / 1000);
+        boolean highScoreNotice = this.highScoreNotified &&
+                GameClock.millis() - this.highScoreNoticeStartTime < HIGH_SCORE_NOTICE_DURATION;
+        List<Achievement> toasts = this.achievementManager.getActiveToasts();
+        snapshot.setOverlays(this.isPaused, countdown, this.bonusLife, highScoreNotice,
+                toasts.isEmpty() ? null : toasts.getLast());
+        if (this.profiler.isOverlayVisible())
+            snapshot.setProfile(this.profiler.getOverlayLines());
+
+        snapshot.markPublished();
+        this.snapshots.publish();
+    }
 
-		// [ADD] draw achievement popups right before completing the frame
-		drawManager.getGameScreenRenderer().drawAchievementToasts(drawManager.getBackBufferGraphics(), this,
-                (this.achievementManager != null) ? this.achievementManager.getActiveToasts() : Collections.emptyList());
-		if(this.isPaused){
-			drawManager.getCommonRenderer().drawPauseOverlay(drawManager.getBackBufferGraphics(), this);
-		}
+    /**
+     * Queues an explosion on the render thread, headless runs skip it.
+     *
+     * @param x
+     *            Position in the x-axis.
+     * @param y
+     *            Position in the y-axis.
+     * @param enemy
+     *            If an enemy exploded.
+     * @param finalExplosion
+     *            If it is the big, final explosion.
+     */
+    private void triggerExplosion(final int x, final int y, final boolean enemy,
+                                  final boolean finalExplosion) {
+        if (!Core.isHeadless())
+            this.drawManager.getGameScreenRenderer().triggerExplosion(x, y, enemy, finalExplosion);
+    }
 
+    /**
+     * Draws the latest snapshot, called on the render thread.
+     */
+    private void renderFrame() {
+        WorldSnapshot snapshot = this.snapshots.latest();
+        if (snapshot.getTick() < 0)
+            return;
+
+        long start = System.nanoTime();
+        drawManager.initDrawing(this);
+        drawManager.getGameScreenRenderer().drawWorld(drawManager.getBackBufferGraphics(), this, snapshot);
         drawManager.completeDrawing(this);
+        this.profiler.recordDraw(System.nanoTime() - start);
     }
 
     /**
      * Cleans bullets that go off-screen.
      */
     private void cleanBullets() {
-        Set<Bullet> recyclable = new HashSet<Bullet>();
-        for (Bullet bullet : this.bullets) {
-            bullet.update();
-            if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-                    || bullet.getPositionY() > this.height)
-                recyclable.add(bullet);
+        for (int i = 0; i < this.bullets.size(); i++) {
+            this.bullets.move(i, scaleStep(this.bullets.getSpeed(i)));
+            if (this.bullets.getPositionY(i) < SEPARATION_LINE_HEIGHT
+                    || this.bullets.getPositionY(i) > this.height)
+                this.bullets.mark(i);
         }
-        this.bullets.removeAll(recyclable);
-        BulletPool.recycle(recyclable);
+        this.bullets.removeMarked();
     }
 
     /**
      * Cleans items that go off-screen.
      */
     private void cleanItems() {
-        Set<Item> recyclableItems = new HashSet<Item>();
         for (Item item : this.items) {
-            item.update();
+            item.update(scaleStep(item.getItemSpeed()));
             if (item.getPositionY() > this.height)
-                recyclableItems.add(item);
+                this.expiredItems.add(item);
         }
-        this.items.removeAll(recyclableItems);
-        ItemPool.recycle(recyclableItems);
+        this.items.removeAll(this.expiredItems);
+        ItemPool.recycle(this.expiredItems);
+        this.expiredItems.clear();
     }
 
     /**
-     * Manages pickups between player and items.
+     * Manages pickups between player and items. Uses the ships registered by
+     * manageCollisions, they have not moved since.
      */
     private void manageItemPickups() {
-        Set<Item> collected = new HashSet<Item>();
-        for (Item item : this.items) {
+        for (Item item : this.items)
+            this.collisionManager.query(item, CollisionManager.LAYER_PLAYER, this.itemPickupHandler);
+        this.items.removeAll(this.collectedItems);
+        ItemPool.recycle(this.collectedItems);
+        this.collectedItems.clear();
+    }
 
-            for(Ship ship: this.ships) {
-                if(ship == null) continue;
-                if (checkCollision(item, ship) && !collected.contains(item)) {
-                    collected.add(item);
-                    LOGGER.info("Player " + ship.getPlayerId() + " picked up item: " + item.getType());
-                    SoundManager.playOnce("hover");
-                    item.applyEffect(getGameState(), ship.getPlayerId());
-                }
-            }
-        }
-        this.items.removeAll(collected);
-        ItemPool.recycle(collected);
+    /**
+     * Gives an item's effect to the first ship touching it.
+     *
+     * @param source
+     *            Item.
+     * @param target
+     *            Player ship.
+     * @return True, an item is picked up once.
+     */
+    private boolean onItemPickup(final Entity source, final Entity target) {
+        Item item = (Item) source;
+        Ship ship = (Ship) target;
+        this.collectedItems.add(item);
+        LOGGER.info("Player " + ship.getPlayerId() + " picked up item: " + item.getType());
+        SoundManager.playOnce("hover");
+        item.applyEffect(getGameState(), ship.getPlayerId());
+        return true;
     }
 
     /**
@@ -514,115 +626,123 @@ public class GameScreen extends Screen {
      * → add score.
      */
     private void manageCollisions() {
-        Set<Bullet> recyclable = new HashSet<Bullet>();
-        for (Bullet bullet : this.bullets) {
-            if (bullet.getSpeed() > 0) {
-                // Enemy bullet vs both players
-
-                for (int p = 0; p < GameState.NUM_PLAYERS; p++) {
-                    Ship ship = this.ships[p];
-                    if (ship != null && !ship.isDestroyed()
-                            && checkCollision(bullet, ship) && !this.levelFinished) {
-                        recyclable.add(bullet);
-
-
-                        this.drawManager.getGameScreenRenderer().triggerExplosion(ship.getPositionX(), ship.getPositionY(), false, state.getLivesRemaining() == 1);
-                        ship.addHit();
-
-                        ship.destroy(); // explosion/respawn handled by Ship.update()
-                        SoundManager.playOnce("explosion");
-                        this.state.decLife(p); // decrement shared/team lives by 1
-
-                        // Record damage for Survivor achievement check
-                        this.tookDamageThisLevel = true;
-
-                        this.drawManager.getGameScreenRenderer().setLastLife(state.getLivesRemaining() == 1);
-
-						this.LOGGER.info("Hit on player " + (p + 1) + ", team lives now: " + state.getLivesRemaining());
-						break;
-					}
-				}
-			} else {
-				// Player bullet vs enemies
-				// map Bullet owner id (1 or 2) to per-player index (0 or 1)
-				final int ownerId = bullet.getOwnerPlayerId(); // 1 or 2 (0 if unset)
-				final int pIdx = (ownerId == 2) ? 1 : 0; // default to P1 when unset
-
-                boolean finalShip = this.enemyShipFormation.lastShip();
-
-                // Check collision with formation enemies
-                for (EnemyShip enemyShip : this.enemyShipFormation) {
-                    if (!enemyShip.isDestroyed() && checkCollision(bullet, enemyShip)) {
-                        recyclable.add(bullet);
-                        enemyShip.hit();
-
-                        if (enemyShip.isDestroyed()) {
-                            int points = enemyShip.getPointValue();
-                            state.addCoins(pIdx, enemyShip.getCoinValue()); // 2P mode: modified to per-player coins
-
-                            drawManager.getGameScreenRenderer().triggerExplosion(enemyShip.getPositionX(), enemyShip.getPositionY(), true, finalShip);
-                            state.addScore(pIdx, points); // 2P mode: modified to add to P1 score for now
-                            state.incShipsDestroyed(pIdx);
-
-                            // obtain drop from ItemManager (may return null)
-                            Item drop = ItemManager.getInstance().obtainDrop(enemyShip);
-                            if (drop != null) {
-                                this.items.add(drop);
-                                this.LOGGER.info("Spawned " + drop.getType() + " at " + drop.getPositionX() + "," + drop.getPositionY());
-                            }
-
-                            this.enemyShipFormation.destroy(enemyShip);
-                            SoundManager.playOnce("invader_killed");
-                            this.LOGGER.info("Hit on enemy ship.");
-
-                            checkAchievement();
-                        }
-                        break;
-                    }
-                }
-
-                if (this.enemyShipSpecial != null
-                        && !this.enemyShipSpecial.isDestroyed()
-                        && checkCollision(bullet, this.enemyShipSpecial)) {
-                    int points = this.enemyShipSpecial.getPointValue();
-
-                    state.addCoins(pIdx, this.enemyShipSpecial.getCoinValue()); // 2P mode: modified to per-player coins
-
-                    state.addScore(pIdx, points);
-                    state.incShipsDestroyed(pIdx); // 2P mode: modified incrementing ships destroyed
-
-					this.enemyShipSpecial.destroy();
-                    SoundManager.loopStop();
-                    SoundManager.playOnce("explosion");
-                    drawManager.getGameScreenRenderer().triggerExplosion(this.enemyShipSpecial.getPositionX(), this.enemyShipSpecial.getPositionY(), true, true);
-                    this.enemyShipSpecialExplosionCooldown.reset();
-                    recyclable.add(bullet);
-                }
-            }
+        CollisionPassEvent event = null;
+        if (Recorder.isRecording()) {
+            event = new CollisionPassEvent();
+            event.begin();
+        }
+        this.collisionManager.clear();
+        for (Ship ship : this.ships)
+            if (ship != null)
+                this.collisionManager.register(ship);
+        for (EnemyShip enemyShip : this.enemyShipFormation)
+            if (!enemyShip.isDestroyed())
+                this.collisionManager.register(enemyShip);
+        if (this.enemyShipSpecial != null && !this.enemyShipSpecial.isDestroyed())
+            this.collisionManager.register(this.enemyShipSpecial);
+
+        for (int i = 0; i < this.bullets.size(); i++) {
+            this.queriedSlot = i;
+            this.collisionManager.query(this.bullets.load(i, this.queriedBullet),
+                    CollisionManager.hostileLayers(this.bullets.getTeam(i)), this.bulletHitHandler);
+        }
+        int bulletCount = this.bullets.size();
+        int hits = this.bullets.removeMarked();
+
+        if (event != null && event.shouldCommit()) {
+            event.bullets = bulletCount;
+            event.enemies = this.enemyShipFormation.getShipCount();
+            event.hits = hits;
+            event.commit();
         }
-        this.bullets.removeAll(recyclable);
-        BulletPool.recycle(recyclable);
     }
 
     /**
-     * Checks if two entities are colliding.
+     * Narrow phase of a bullet touching a ship of the opposing team.
      *
-     * @param a
-     *            First entity, the bullet.
-     * @param b
-     *            Second entity, the ship.
-     * @return Result of the collision test.
+     * @param source
+     *            Bullet.
+     * @param target
+     *            Player or enemy ship.
+     * @return True if the bullet was spent.
      */
-    private boolean checkCollision(final Entity a, final Entity b) {
-        int centerAX = a.getPositionX() + a.getWidth() / 2;
-        int centerAY = a.getPositionY() + a.getHeight() / 2;
-        int centerBX = b.getPositionX() + b.getWidth() / 2;
-        int centerBY = b.getPositionY() + b.getHeight() / 2;
-        int maxDistanceX = a.getWidth() / 2 + b.getWidth() / 2;
-        int maxDistanceY = a.getHeight() / 2 + b.getHeight() / 2;
-        int distanceX = Math.abs(centerAX - centerBX);
-        int distanceY = Math.abs(centerAY - centerBY);
-        return distanceX < maxDistanceX && distanceY < maxDistanceY;
+    private boolean onBulletHit(final Entity source, final Entity target) {
+        Bullet bullet = (Bullet) source;
+        if (target instanceof Ship) {
+            // Enemy bullet vs both players
+            Ship ship = (Ship) target;
+            if (ship.isDestroyed() || this.levelFinished)
+                return false;
+            int p = (ship == this.ships[0]) ? 0 : 1;
+            this.bullets.mark(this.queriedSlot);
+
+            triggerExplosion(ship.getPositionX(), ship.getPositionY(), false, state.getLivesRemaining() == 1);
+            ship.addHit();
+
+            ship.destroy(); // explosion/respawn handled by Ship.update()
+            SoundManager.playOnce("explosion");
+            this.state.decLife(p); // decrement shared/team lives by 1
+
+            // Record damage for Survivor achievement check
+            this.tookDamageThisLevel = true;
+
+            this.LOGGER.info("Hit on player " + (p + 1) + ", team lives now: " + state.getLivesRemaining());
+            return true;
+        }
+
+        // Player bullet vs enemies
+        // map Bullet owner id (1 or 2) to per-player index (0 or 1)
+        final int ownerId = bullet.getOwnerPlayerId(); // 1 or 2 (0 if unset)
+        final int pIdx = (ownerId == 2) ? 1 : 0; // default to P1 when unset
+        EnemyShip enemyShip = (EnemyShip) target;
+        if (enemyShip.isDestroyed())
+            return false;
+
+        if (enemyShip == this.enemyShipSpecial) {
+            int points = this.enemyShipSpecial.getPointValue();
+
+            state.addCoins(pIdx, this.enemyShipSpecial.getCoinValue()); // 2P mode: modified to per-player coins
+
+            state.addScore(pIdx, points);
+            state.incShipsDestroyed(pIdx); // 2P mode: modified incrementing ships destroyed
+
+            this.enemyShipSpecial.destroy();
+            SoundManager.loopStop();
+            SoundManager.playOnce("explosion");
+            triggerExplosion(this.enemyShipSpecial.getPositionX(), this.enemyShipSpecial.getPositionY(), true, true);
+            this.enemyShipSpecialExplosionCooldown.reset();
+            this.bullets.mark(this.queriedSlot);
+            return true;
+        }
+
+        boolean finalShip = this.enemyShipFormation.lastShip();
+        this.bullets.mark(this.queriedSlot);
+        enemyShip.hit();
+
+        if (enemyShip.isDestroyed()) {
+            int points = enemyShip.getPointValue();
+            state.addCoins(pIdx, enemyShip.getCoinValue()); // 2P mode: modified to per-player coins
+
+            triggerExplosion(enemyShip.getPositionX(), enemyShip.getPositionY(), true, finalShip);
+            state.addScore(pIdx, points); // 2P mode: modified to add to P1 score for now
+            state.incShipsDestroyed(pIdx);
+
+            // obtain drop from ItemManager (may return null)
+            Item drop = ItemManager.getInstance().obtainDrop(enemyShip);
+            if (drop != null) {
+                this.items.add(drop);
+                if (COMBAT_LOGGER.isLoggable(Level.FINE))
+                    COMBAT_LOGGER.log(Level.FINE, "Spawned {0} at {1},{2}",
+                            new Object[] {drop.getType(), drop.getPositionX(), drop.getPositionY()});
+            }
+
+            this.enemyShipFormation.destroy(enemyShip);
+            SoundManager.playOnce("invader_killed");
+            COMBAT_LOGGER.fine("Hit on enemy ship.");
+
+            checkAchievement();
+        }
+        return true;
     }
 
     /**
@@ -671,39 +791,4 @@ public class GameScreen extends Screen {
             achievementManager.unlock("Get 3000 Score");
         }
     }
-
-    /**
-     * Draws the stars background animation during the game
-     */
-    public void updateGameSpace(Graphics g){
-        basicGameSpace.update();
-
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        g.setColor(Color.WHITE);
-        int[][] positions = basicGameSpace.getStarLocations();
-        for(int i = 0; i < basicGameSpace.getNumStars(); i++){
-
-            int size = (positions[i][2] < 2) ? 2 : 1;
-            int radius = size * 2;
-
-            float[] dist = {0.0f, 1.0f};
-            Color[] colors = new Color[2];
-            if(basicGameSpace.isLastLife()){
-                colors[0] = new Color(255, 0, 0, 100);
-                colors[1] = new Color(255, 0, 0, 50);
-            }
-            else{
-                colors[0] = new Color(255, 255, 200, 50);
-                colors[1] = new Color(255, 255, 200, 50);
-            }
-
-            RadialGradientPaint paint = new RadialGradientPaint(new Point(positions[i][0] + size / 2, positions[i][1] + size / 2),
-                    radius, dist, colors);
-            g2d.setPaint(paint);
-            g2d.fillOval(positions[i][0] - radius / 2, positions[i][1] - radius / 2, radius, radius);
-            g.fillOval(positions[i][0], positions[i][1], size, size);
-        }
-    }
 }
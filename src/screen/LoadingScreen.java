@@ -0,0 +1,55 @@
+package screen;
+
+/**
+ * Implements the loading screen, shown until every asset is loaded.
+ */
+public class LoadingScreen extends Screen {
+
+    /**
+     * Constructor, establishes the properties of the screen.
+     *
+     * @param width
+     *            Screen width.
+     * @param height
+     *            Screen height.
+     * @param fps
+     *            Frames per second, frame rate at which the game is run.
+     */
+    public LoadingScreen(final int width, final int height, final int fps) {
+        super(width, height, fps);
+
+        // Goes to the title screen.
+        this.returnCode = 1;
+    }
+
+    /**
+     * Starts the action.
+     *
+     * @return Next screen code.
+     */
+    public final int run() {
+        super.run();
+        return this.returnCode;
+    }
+
+    /**
+     * Draws the progress and ends once everything is loaded.
+     */
+    protected final void update() {
+        super.update();
+
+        draw();
+        if (this.assetManager.isLoaded())
+            this.isRunning = false;
+    }
+
+    /**
+     * Draws the elements associated with the screen.
+     */
+    private void draw() {
+        drawManager.initDrawing(this);
+        drawManager.getLoadingScreenRenderer().drawLoading(drawManager.getBackBufferGraphics(), this,
+                this.assetManager.getLoadProgress());
+        drawManager.completeDrawing(this);
+    }
+}
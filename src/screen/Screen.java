@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 
 import engine.*;
 import engine.utils.Cooldown;
+import engine.utils.GameClock;
 
 /**
  * Implements a generic screen.
@@ -17,6 +18,10 @@ public class Screen {
 
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Tick rate the per-tick gameplay speeds are tuned for. */
+	public static final int BASE_TICK_RATE = 60;
+	/** Longest frame time fed to the accumulator, avoids a catch-up spiral. */
+	private static final long MAX_FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
@@ -35,8 +40,12 @@ public class Screen {
 	protected int width;
 	/** Screen height. */
 	protected int height;
-	/** Frames per second shown on the screen. */
+	/** Simulation ticks per second of the screen. */
 	protected int fps;
+	/** Number of simulation ticks run so far. */
+	protected long ticks;
+	/** Most ticks a headless run lasts. */
+	private long tickLimit = Long.MAX_VALUE;
 	/** Screen insets. */
 	protected Insets insets;
 	/** Time until the screen accepts user input. */
@@ -89,15 +98,36 @@ public class Screen {
 	public int run() {
 		this.isRunning = true;
 
+		final long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		if (Core.isHeadless()) {
+			// Nothing to show or wait for, ticks run back to back.
+			while (this.isRunning && this.ticks < this.tickLimit)
+				tick(tickNanos);
+			return 0;
+		}
+
+		long previous = System.nanoTime();
+		// Start with one tick pending so the first frame has something to show.
+		long accumulator = tickNanos;
+
 		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+			long now = System.nanoTime();
+			accumulator += Math.min(now - previous, MAX_FRAME_NANOS);
+			previous = now;
+
+			// Fixed-step simulation, catches up when a frame overruns.
+			while (accumulator >= tickNanos && this.isRunning) {
+				tick(tickNanos);
+				accumulator -= tickNanos;
+			}
 
-			update();
+			if (this.isRunning)
+				render((double) accumulator / tickNanos);
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
+			long sleep = tickNanos - accumulator - (System.nanoTime() - now);
+			if (sleep > 0) {
 				try {
-					TimeUnit.MILLISECONDS.sleep(time);
+					TimeUnit.NANOSECONDS.sleep(sleep);
 				} catch (InterruptedException e) {
 					return 0;
 				}
@@ -108,12 +138,53 @@ public class Screen {
 	}
 
 	/**
-	 * Updates the elements on screen and checks for events.
+	 * Runs one simulation tick.
+	 *
+	 * @param tickNanos
+	 *            Duration of a tick.
+	 */
+	private void tick(final long tickNanos) {
+		this.inputManager.beginTick(this.ticks);
+		update();
+		this.ticks++;
+		GameClock.advance(tickNanos);
+	}
+
+	/**
+	 * Updates the elements on screen and checks for events. Called once per
+	 * simulation tick.
 	 */
 	protected void update() {
 
     }
 
+	/**
+	 * Draws the screen between simulation ticks. Screens that draw from
+	 * {@link #update()} leave this empty.
+	 *
+	 * @param alpha
+	 *            Fraction of a tick elapsed since the last update, in [0, 1),
+	 *            used to interpolate between the last two simulation states.
+	 */
+	protected void render(final double alpha) {
+
+	}
+
+	/**
+	 * Converts a per-tick distance tuned for {@link #BASE_TICK_RATE} into the
+	 * distance to cover on the current tick, so game speed does not depend on
+	 * the tick rate. The rounding remainder carries over between ticks.
+	 *
+	 * @param distance
+	 *            Distance per tick at the base tick rate.
+	 * @return Distance to cover on the current tick.
+	 */
+	protected final int scaleStep(final int distance) {
+		long scaled = (long) distance * BASE_TICK_RATE;
+		return (int) (Math.floorDiv((this.ticks + 1) * scaled, this.fps)
+				- Math.floorDiv(this.ticks * scaled, this.fps));
+	}
+
 	/**
 	 * Getter for screen width.
 	 *
@@ -131,4 +202,32 @@ public class Screen {
 	public final int getHeight() {
 		return this.height;
 	}
+
+	/**
+	 * Getter for the number of simulation ticks run so far.
+	 *
+	 * @return Tick count.
+	 */
+	public final long getTicks() {
+		return this.ticks;
+	}
+
+	/**
+	 * Limits the ticks a headless run of the screen lasts.
+	 *
+	 * @param tickLimit
+	 *            Most ticks to run.
+	 */
+	public final void setTickLimit(final long tickLimit) {
+		this.tickLimit = tickLimit;
+	}
+
+	/**
+	 * Getter for the simulation tick rate.
+	 *
+	 * @return Simulation ticks per second.
+	 */
+	public final int getTickRate() {
+		return this.fps;
+	}
 }
\ No newline at end of file